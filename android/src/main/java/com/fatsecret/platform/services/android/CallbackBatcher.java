@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.android;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class batches the listener callbacks of responses which complete close together into a single dispatch on the
+ * main thread
+ * <p>
+ * Volley posts every response to the main thread on its own, so a burst of responses costs one message, and often one
+ * layout pass, each. Given as the executor of volley's {@link com.android.volley.ExecutorDelivery}, this class queues the deliveries
+ * instead and posts a single task which runs every delivery queued by the time it executes. Deliveries queued while
+ * that task runs are left for the next one, so a steady stream of responses cannot hold the main thread.
+ * <p>
+ * The request queue is created with the batching delivery, for example:
+ * <pre>
+ * CallbackBatcher batcher = new CallbackBatcher(new Handler(Looper.getMainLooper())::post);
+ * RequestQueue queue = new RequestQueue(new DiskBasedCache(cacheDir), new BasicNetwork(new HurlStack()), 4, new ExecutorDelivery(batcher));
+ * queue.start();
+ * </pre>
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CallbackBatcher implements Executor {
+
+	/** Runs a task on the main thread */
+	private final Executor mainThread;
+
+	/** Deliveries waiting for the next dispatch */
+	private final Queue<Runnable> pending = new ConcurrentLinkedQueue<Runnable>();
+
+	/** Whether a dispatch has been posted and has not started yet */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/** Number of dispatches posted to the main thread */
+	private final AtomicLong dispatches = new AtomicLong();
+
+	/** Number of deliveries run */
+	private final AtomicLong deliveries = new AtomicLong();
+
+	/**
+	 * Constructor to set the executor of the main thread
+	 *
+	 * @param mainThread	runs a task on the main thread, for example the post method of a handler of the main looper
+	 */
+	public CallbackBatcher(Executor mainThread) {
+		this.mainThread = mainThread;
+	}
+
+	/**
+	 * Queues the delivery, posting a dispatch to the main thread unless one is already waiting
+	 *
+	 * @param delivery		the delivery of a response or an error to its listener
+	 */
+	@Override
+	public void execute(Runnable delivery) {
+		pending.add(delivery);
+
+		if(scheduled.compareAndSet(false, true)) {
+			dispatches.incrementAndGet();
+			mainThread.execute(this::dispatch);
+		}
+	}
+
+	/**
+	 * Returns the number of dispatches posted to the main thread
+	 *
+	 * @return				the number of dispatches
+	 */
+	public long getDispatches() {
+		return dispatches.get();
+	}
+
+	/**
+	 * Returns the number of deliveries run
+	 *
+	 * @return				the number of deliveries
+	 */
+	public long getDeliveries() {
+		return deliveries.get();
+	}
+
+	/**
+	 * Runs the deliveries queued before the dispatch started
+	 */
+	private void dispatch() {
+		scheduled.set(false);
+
+		for(int count = pending.size(); count > 0; count--) {
+			Runnable delivery = pending.poll();
+			if(delivery == null) {
+				return;
+			}
+
+			deliveries.incrementAndGet();
+			delivery.run();
+		}
+	}
+}
@@ -0,0 +1,721 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.android;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URL;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.json.JSONObject;
+
+import com.android.volley.Cache;
+import com.android.volley.NetworkResponse;
+import com.android.volley.RequestQueue;
+import com.android.volley.Response.ErrorListener;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.HttpHeaderParser;
+
+import com.fatsecret.platform.model.CompactFood;
+import com.fatsecret.platform.model.CompactRecipe;
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.FoodField;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.RequestBuilder;
+import com.fatsecret.platform.services.Response;
+import com.fatsecret.platform.services.ResponseParseException;
+import com.fatsecret.platform.services.TransportException;
+import com.fatsecret.platform.services.api.ApiMethod;
+import com.fatsecret.platform.services.api.ApiRequest;
+
+/**
+ * This class helps in sending requests to fatsecret rest api on android
+ * <p>
+ * A request identical to one still in flight, that is with the same method and parameters once the oauth parameters are
+ * left out and delivering to the same callback, is not sent again: the response of the request in flight is delivered
+ * instead. Requests can be tagged and
+ * cancelled, and rapid search calls, such as one per keystroke in a search box, can be debounced into the latest one.
+ * <p>
+ * The same key, rather than the signed url, identifies responses in the disk cache of volley, so that a repeated call
+ * can be served from the cache. Food and recipe details can be kept there for a set time whatever the cache headers of
+ * the response say.
+ * <p>
+ * Calls are described by the same {@link ApiRequest}s as the blocking client, and their responses are decoded by the
+ * same {@link ApiMethod}s, so any method can be called with {@link #call(RequestQueue, ApiRequest, Consumer)}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Request {
+
+	/** Request Builder */
+	private RequestBuilder builder;
+
+	/** Listener interface for response */
+	private ResponseListener responseListener;
+
+	/** Callbacks to the response listener, kept so that identical calls made through the methods below are deduplicated */
+	private final Consumer<Food> onFood = food -> responseListener.onFoodResponse(food);
+
+	private final Consumer<Response<CompactFood>> onFoodList = foods -> responseListener.onFoodListRespone(foods);
+
+	private final Consumer<Recipe> onRecipe = recipe -> responseListener.onRecipeResponse(recipe);
+
+	private final Consumer<Response<CompactRecipe>> onRecipeList = recipes -> responseListener.onRecipeListRespone(recipes);
+
+	/** Tag of the volley requests sent from now on, null to leave them untagged */
+	private volatile Object tag;
+
+	/** Time in milliseconds during which rapid search calls are collapsed into the latest one, zero to send every call */
+	private volatile long debounceMillis;
+
+	/** Runs tasks on the main thread, where debounced search calls are sent once their delay has passed */
+	private volatile Executor mainThread;
+
+	/** Time in milliseconds for which food details are served from the cache, zero to follow the cache headers */
+	private volatile long foodCacheTtlMillis;
+
+	/** Time in milliseconds for which recipe details are served from the cache, zero to follow the cache headers */
+	private volatile long recipeCacheTtlMillis;
+
+	/** The requests in flight by request key */
+	private final ConcurrentHashMap<String, ModelRequest<?>> inFlight = new ConcurrentHashMap<String, ModelRequest<?>>();
+
+	/** The latest search call waiting for its debounce delay, by method */
+	private final ConcurrentHashMap<ApiMethod<?>, DebouncedCall<?>> debounced = new ConcurrentHashMap<ApiMethod<?>, DebouncedCall<?>>();
+
+	/** The latest debounced search in flight, by method */
+	private final ConcurrentHashMap<ApiMethod<?>, ModelRequest<?>> latestSearches = new ConcurrentHashMap<ApiMethod<?>, ModelRequest<?>>();
+
+	/**
+	 * Constructor to set values for APP_KEY and APP_SECRET
+	 *
+	 * @param APP_KEY 			a value FatSecret API issues to you which helps this API identify you
+	 * @param APP_SECRET		a secret FatSecret API issues to you which helps this API establish that it really is you
+	 * @param responseListener	a callback listener interface for delivering parsed response
+	 */
+	public Request(String APP_KEY, String APP_SECRET, ResponseListener responseListener) {
+		builder = new RequestBuilder(APP_KEY, APP_SECRET);
+		this.responseListener = responseListener;
+	}
+
+	/**
+	 * Returns the tag of the volley requests sent from now on
+	 *
+	 * @return				the tag, or null if requests are not tagged
+	 */
+	public Object getTag() {
+		return tag;
+	}
+
+	/**
+	 * Sets the tag of the volley requests sent from now on, for example the screen sending them, so that they can all
+	 * be cancelled with {@link RequestQueue#cancelAll(Object)} once the results are no longer wanted
+	 *
+	 * @param tag			the tag, or null to leave requests untagged
+	 */
+	public void setTag(Object tag) {
+		this.tag = tag;
+	}
+
+	/**
+	 * Returns the time in milliseconds during which rapid search calls are collapsed into the latest one
+	 *
+	 * @return				the debounce delay in milliseconds, zero if every call is sent
+	 */
+	public long getDebounceMillis() {
+		return debounceMillis;
+	}
+
+	/**
+	 * Sets the time in milliseconds during which rapid search calls are collapsed into the latest one
+	 * <p>
+	 * A search for foods or recipes is then sent only once no other search of the same method has been made for that
+	 * long, and sending it cancels the previous search of the same method still in flight, whose results are outdated.
+	 * Get calls are never debounced. The search is sent from the main thread, given for example as
+	 * {@code new Handler(Looper.getMainLooper())::post}, so that a failure to send it reaches the response listener
+	 * there like any other failure.
+	 *
+	 * @param debounceMillis	the debounce delay in milliseconds, zero to send every call at once
+	 * @param mainThread		runs tasks on the main thread
+	 */
+	public void setDebounceMillis(long debounceMillis, Executor mainThread) {
+		if(debounceMillis < 0) {
+			throw new IllegalArgumentException("debounceMillis must not be negative: " + debounceMillis);
+		}
+		if(mainThread == null && debounceMillis > 0) {
+			throw new IllegalArgumentException("mainThread is required to debounce calls");
+		}
+		this.mainThread = mainThread;
+		this.debounceMillis = debounceMillis;
+	}
+
+	/**
+	 * Returns the time in milliseconds for which food details are served from the cache of the request queue
+	 *
+	 * @return				the time to live in milliseconds, zero if the cache headers of the response are followed
+	 */
+	public long getFoodCacheTtlMillis() {
+		return foodCacheTtlMillis;
+	}
+
+	/**
+	 * Sets the time in milliseconds for which food details are served from the cache of the request queue, without
+	 * being requested again
+	 *
+	 * @param foodCacheTtlMillis	the time to live in milliseconds, zero to follow the cache headers of the response
+	 */
+	public void setFoodCacheTtlMillis(long foodCacheTtlMillis) {
+		if(foodCacheTtlMillis < 0) {
+			throw new IllegalArgumentException("foodCacheTtlMillis must not be negative: " + foodCacheTtlMillis);
+		}
+		this.foodCacheTtlMillis = foodCacheTtlMillis;
+	}
+
+	/**
+	 * Returns the time in milliseconds for which recipe details are served from the cache of the request queue
+	 *
+	 * @return				the time to live in milliseconds, zero if the cache headers of the response are followed
+	 */
+	public long getRecipeCacheTtlMillis() {
+		return recipeCacheTtlMillis;
+	}
+
+	/**
+	 * Sets the time in milliseconds for which recipe details are served from the cache of the request queue, without
+	 * being requested again
+	 *
+	 * @param recipeCacheTtlMillis	the time to live in milliseconds, zero to follow the cache headers of the response
+	 */
+	public void setRecipeCacheTtlMillis(long recipeCacheTtlMillis) {
+		if(recipeCacheTtlMillis < 0) {
+			throw new IllegalArgumentException("recipeCacheTtlMillis must not be negative: " + recipeCacheTtlMillis);
+		}
+		this.recipeCacheTtlMillis = recipeCacheTtlMillis;
+	}
+
+	/**
+	 * Cancels the calls of the method made through this class which are waiting for their debounce delay or in flight
+	 *
+	 * @param queue			the request queue the requests were added to
+	 * @param method		the method of the calls
+	 */
+	public void cancel(RequestQueue queue, ApiMethod<?> method) {
+		DebouncedCall<?> pending = debounced.remove(method);
+		if(pending != null) {
+			pending.cancel();
+		}
+
+		cancelSent(queue, method);
+	}
+
+	/**
+	 * Cancels the calls of the method made through this class which are waiting for their debounce delay or in flight
+	 *
+	 * @param queue			the request queue the requests were added to
+	 * @param method		the method of the calls, one of {@link Method}
+	 */
+	public void cancel(RequestQueue queue, int method) {
+		cancel(queue, apiMethod(method));
+	}
+
+	/**
+	 * Cancels every call made through this class which is waiting for its debounce delay or in flight
+	 *
+	 * @param queue			the request queue the requests were added to
+	 */
+	public void cancelAll(RequestQueue queue) {
+		for(ApiMethod<?> method : debounced.keySet()) {
+			DebouncedCall<?> pending = debounced.remove(method);
+			if(pending != null) {
+				pending.cancel();
+			}
+		}
+
+		cancelSent(queue, null);
+	}
+
+	private void cancelSent(RequestQueue queue, final ApiMethod<?> method) {
+		queue.cancelAll(new RequestQueue.RequestFilter() {
+			@Override
+			public boolean apply(com.android.volley.Request<?> request) {
+				return request instanceof ModelRequest && ((ModelRequest<?>) request).isSentBy(Request.this, method);
+			}
+		});
+	}
+
+	/**
+	 * Supported Methods
+	 * 
+	 */
+	public interface Method {
+		int SEARCH_FOODS = 1;
+		int GET_FOOD = 2;
+		int SEARCH_RECIPES = 3;
+		int GET_RECIPE = 4;
+	}
+
+	/**
+	 * Returns the food items at zeroth page number based on the query
+	 * 
+	 * @param queue			the request queue for android requests
+	 * @param query			search terms for querying food items
+	 */
+	public void searchFoods(RequestQueue queue, String query) {
+		searchFoods(queue, query, 0);
+	}
+
+	/**
+	 * Returns the food items at a particular page number based on the query
+	 * 
+	 * @param queue			the request queue for android requests
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 */
+	public void searchFoods(RequestQueue queue, String query, int pageNumber) {
+		call(queue, ApiRequest.searchFoods(query, pageNumber, RequestBuilder.MAX_RESULTS), onFoodList);
+	}
+
+	/**
+	 * Returns food based on the identifier with nutritional information
+	 *
+	 * @param queue			the request queue for android requests
+	 * @param id			the unique food identifier
+	 */
+	public void getFood(RequestQueue queue, Long id) {
+		call(queue, ApiRequest.getFood(id), onFood);
+	}
+
+	/**
+	 * Returns food based on the identifier with only the requested fields mapped, the others left null
+	 *
+	 * @param queue			the request queue for android requests
+	 * @param id			the unique food identifier
+	 * @param fields		the fields to be mapped, see {@link FoodField}
+	 */
+	public void getFood(RequestQueue queue, Long id, Set<FoodField> fields) {
+		call(queue, ApiRequest.getFood(id, fields), onFood);
+	}
+
+	/**
+	 * Returns the recipes at zeroth page number based on the query
+	 *
+	 * @param queue			the request queue for android requests
+	 * @param query			search terms for querying recipes
+	 */
+	public void searchRecipes(RequestQueue queue, String query) {
+		searchRecipes(queue, query, 0);
+	}
+
+	/**
+	 * Returns the recipes at a particular page number based on the query
+	 *
+	 * @param queue			the request queue for android requests
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 */
+	public void searchRecipes(RequestQueue queue, String query, int pageNumber) {
+		call(queue, ApiRequest.searchRecipes(query, pageNumber, RequestBuilder.MAX_RESULTS), onRecipeList);
+	}
+
+	/**
+	 * Returns the recipe based on the identifier with detailed nutritional information for the standard serving
+	 *
+	 * @param queue			the request queue for android requests
+	 * @param id			the unique recipe identifier
+	 */
+	public void getRecipe(RequestQueue queue, Long id) {
+		call(queue, ApiRequest.getRecipe(id), onRecipe);
+	}
+
+	/**
+	 * Calls fatsecret api with the request and delivers the decoded response to the callback
+	 * <p>
+	 * The response is decoded and parsed into model objects on the network dispatcher thread of volley, so that only
+	 * the delivery of the finished objects to the callback runs on the main thread. Several deliveries can be batched
+	 * into one dispatch on the main thread by creating the queue with a {@link CallbackBatcher}. The request is not
+	 * sent if an identical one is already in flight. Failures are delivered to the response listener on the main
+	 * thread.
+	 *
+	 * @param <T>			the type of the result
+	 * @param queue			the request queue for android requests
+	 * @param request		the method and parameters to be called
+	 * @param callback		receives the decoded response on the main thread
+	 */
+	public <T> void call(RequestQueue queue, ApiRequest<T> request, Consumer<? super T> callback) {
+		ApiMethod<T> method = request.getMethod();
+		Executor mainThread = this.mainThread;
+		long delay = debounceMillis;
+
+		if(delay <= 0 || !method.isSearch()) {
+			dispatch(queue, request, callback);
+			return;
+		}
+
+		DebouncedCall<T> pending = new DebouncedCall<T>(queue, request, callback, mainThread);
+
+		// scheduled while holding the entry of the method, so that a cancel cannot slip in before the call is registered
+		debounced.compute(method, (key, previous) -> {
+			if(previous != null) {
+				previous.cancel();
+			}
+			pending.future = Debouncer.TIMER.schedule(pending, delay, TimeUnit.MILLISECONDS);
+			return pending;
+		});
+	}
+
+	/**
+	 * Handles the response from fatsecret api for given url
+	 *
+	 * @param queue			the volley request dispatch queue
+	 * @param apiUrl		the rest url which will be sent to fatsecret platform server
+	 * @param method		the method for which the request will be sent, one of {@link Method}
+	 * @deprecated use {@link #call(RequestQueue, ApiRequest, Consumer)}, which signs the url itself
+	 */
+	@Deprecated
+	public void getResponse(RequestQueue queue, String apiUrl, int method) {
+		switch(method) {
+		case Request.Method.SEARCH_FOODS:
+			send(queue, apiUrl, ApiMethod.FOODS_SEARCH, onFoodList);
+			break;
+		case Request.Method.GET_FOOD:
+			send(queue, apiUrl, ApiMethod.FOOD_GET, onFood);
+			break;
+		case Request.Method.SEARCH_RECIPES:
+			send(queue, apiUrl, ApiMethod.RECIPES_SEARCH, onRecipeList);
+			break;
+		case Request.Method.GET_RECIPE:
+			send(queue, apiUrl, ApiMethod.RECIPE_GET, onRecipe);
+			break;
+		default:
+			responseListener.onErrorResponse(new FatsecretException(null, "Unsupported method: " + method));
+		}
+	}
+
+	/**
+	 * Signs the request and sends it; runs when the call is made or once its debounce delay has passed, so that the
+	 * timestamp of the signed url is current
+	 */
+	private <T> void dispatch(RequestQueue queue, ApiRequest<T> request, Consumer<? super T> callback) {
+		String apiUrl;
+
+		try {
+			apiUrl = builder.buildUrl(request);
+		} catch (Exception e) {
+			responseListener.onErrorResponse(failure(request.getMethod().getName(), e));
+			return;
+		}
+
+		send(queue, apiUrl, request.getMethod(), callback);
+	}
+
+	/**
+	 * Adds the request for the signed url to the queue unless an identical request is in flight
+	 */
+	private <T> void send(RequestQueue queue, String apiUrl, ApiMethod<T> method, Consumer<? super T> callback) {
+		try {
+			URL url = new URL(apiUrl);
+			String key = requestKey(url);
+
+			ModelRequest<T> request = new ModelRequest<T>(url.toString(), method, key, callback);
+			if(inFlight.merge(key, request, (current, next) -> current.isCanceled() || !current.deliversAs(next) ? next : current) != request) {
+				return;
+			}
+
+			Object currentTag = tag;
+			if(currentTag != null) {
+				request.setTag(currentTag);
+			}
+
+			if(debounceMillis > 0 && method.isSearch()) {
+				ModelRequest<?> superseded = latestSearches.put(method, request);
+				if(superseded != null) {
+					superseded.cancel();
+				}
+			}
+
+			queue.add(request);
+
+		} catch(Exception e) {
+			responseListener.onErrorResponse(failure(method.getName(), e));
+		}
+	}
+
+	/**
+	 * A search call waiting for its debounce delay
+	 * <p>
+	 * Once the delay has passed, the call is handed to the main thread and sent from there, unless a later call of the
+	 * same method or a cancel has replaced or removed it in the meantime.
+	 */
+	private class DebouncedCall<T> implements Runnable {
+
+		private final RequestQueue queue;
+
+		private final ApiRequest<T> request;
+
+		private final Consumer<? super T> callback;
+
+		private final Executor mainThread;
+
+		/** The timer task, set before the call can be removed from the pending calls */
+		volatile ScheduledFuture<?> future;
+
+		DebouncedCall(RequestQueue queue, ApiRequest<T> request, Consumer<? super T> callback, Executor mainThread) {
+			this.queue = queue;
+			this.request = request;
+			this.callback = callback;
+			this.mainThread = mainThread;
+		}
+
+		/**
+		 * Hands the call to the main thread once its delay has passed; runs on the timer thread
+		 */
+		@Override
+		public void run() {
+			mainThread.execute(this::send);
+		}
+
+		/**
+		 * Sends the call if it is still the latest one of its method; runs on the main thread
+		 */
+		private void send() {
+			if(debounced.remove(request.getMethod(), this)) {
+				dispatch(queue, request, callback);
+			}
+		}
+
+		void cancel() {
+			future.cancel(false);
+		}
+	}
+
+	/**
+	 * A volley request whose response is decoded into model objects off the main thread
+	 * <p>
+	 * The result of the parsing is the delivery itself: a task calling either the callback with the model objects or
+	 * the response listener with the failure, which volley runs on the main thread.
+	 */
+	private class ModelRequest<T> extends com.android.volley.Request<Runnable> {
+
+		/** The method for which the request is sent */
+		private final ApiMethod<T> method;
+
+		/** The method and parameters of the request, without the oauth parameters */
+		private final String key;
+
+		/** Receives the decoded response */
+		private final Consumer<? super T> callback;
+
+		ModelRequest(String url, final ApiMethod<T> method, String key, Consumer<? super T> callback) {
+			super(com.android.volley.Request.Method.GET, url, new ErrorListener() {
+				@Override
+				public void onErrorResponse(VolleyError error) {
+					String name = method.getName();
+
+					if(error.networkResponse != null) {
+						responseListener.onErrorResponse(FatsecretException.of(name, error.networkResponse.statusCode, 0, error.getMessage()));
+					} else {
+						responseListener.onErrorResponse(new TransportException(name, 0, 0, error.getMessage(), error));
+					}
+				}
+			});
+			this.method = method;
+			this.key = key;
+			this.callback = callback;
+		}
+
+		/**
+		 * Returns whether the other request decodes the response the same way and delivers it to the same callback
+		 */
+		boolean deliversAs(ModelRequest<?> other) {
+			return method.getDecoder() == other.method.getDecoder() && callback == other.callback;
+		}
+
+		/**
+		 * Returns whether the request was sent by the given instance for the method, whatever fields it maps, or for any
+		 * method if it is null
+		 */
+		boolean isSentBy(Request owner, ApiMethod<?> method) {
+			return owner == Request.this && (method == null || method.getName().equals(this.method.getName()));
+		}
+
+		/**
+		 * Returns the request key, which stays the same across calls unlike the signed url
+		 */
+		@Override
+		public String getCacheKey() {
+			return key;
+		}
+
+		/**
+		 * Forgets the request once volley is done with it, whether it was delivered or cancelled
+		 */
+		@Override
+		protected void onFinish() {
+			super.onFinish();
+			inFlight.remove(key, this);
+			latestSearches.remove(method, this);
+		}
+
+		/**
+		 * Decodes the body as UTF-8 unless the response names another charset, instead of volley's default of
+		 * ISO-8859-1, and parses it; runs on the network dispatcher thread. Error responses are not cached.
+		 */
+		@Override
+		protected com.android.volley.Response<Runnable> parseNetworkResponse(NetworkResponse response) {
+			Runnable delivery;
+			Cache.Entry entry = null;
+
+			try {
+				String body;
+				try {
+					body = new String(response.data, HttpHeaderParser.parseCharset(response.headers, "UTF-8"));
+				} catch (UnsupportedEncodingException e) {
+					body = new String(response.data, java.nio.charset.StandardCharsets.UTF_8);
+				}
+
+				T result = method.decode(new JSONObject(body));
+				delivery = () -> callback.accept(result);
+				entry = cacheEntry(HttpHeaderParser.parseCacheHeaders(response), response, cacheTtlMillis(method));
+			} catch (FatsecretException e) {
+				delivery = () -> responseListener.onErrorResponse(e);
+			} catch (RuntimeException e) {
+				ResponseParseException failure = new ResponseParseException(method.getName(), 0, 0, "Invalid response: " + e.getMessage(), e);
+				delivery = () -> responseListener.onErrorResponse(failure);
+			}
+
+			return com.android.volley.Response.success(delivery, entry);
+		}
+
+		/**
+		 * Calls the callback or the response listener with the parsed response; runs on the main thread
+		 */
+		@Override
+		protected void deliverResponse(Runnable delivery) {
+			delivery.run();
+		}
+	}
+
+	private long cacheTtlMillis(ApiMethod<?> method) {
+		// the cache holds the response as sent, so a call mapping only some fields caches it like any other
+		if(ApiMethod.FOOD_GET.getName().equals(method.getName())) {
+			return foodCacheTtlMillis;
+		}
+		if(ApiMethod.RECIPE_GET.getName().equals(method.getName())) {
+			return recipeCacheTtlMillis;
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns the cache entry of the response, which expires after the given time if one is set
+	 *
+	 * @param entry			the cache entry following the cache headers of the response, null if they forbid caching
+	 * @param response		the response
+	 * @param ttlMillis		the time to live in milliseconds, zero to follow the cache headers of the response
+	 * @return				the cache entry, or null if the response must not be cached
+	 */
+	static Cache.Entry cacheEntry(Cache.Entry entry, NetworkResponse response, long ttlMillis) {
+		if(ttlMillis <= 0) {
+			return entry;
+		}
+
+		if(entry == null) {
+			entry = new Cache.Entry();
+			entry.data = response.data;
+			entry.responseHeaders = response.headers;
+		}
+
+		entry.ttl = System.currentTimeMillis() + ttlMillis;
+		entry.softTtl = entry.ttl;
+
+		return entry;
+	}
+
+	/**
+	 * Returns the url without its oauth parameters, which differ on every call, so that identical calls have the same key
+	 */
+	static String requestKey(URL url) {
+		StringBuilder key = new StringBuilder(url.getProtocol()).append("://").append(url.getAuthority()).append(url.getPath());
+		String query = url.getQuery();
+
+		if(query != null) {
+			char separator = '?';
+			for(String param : query.split("&")) {
+				if(!param.startsWith("oauth_")) {
+					key.append(separator).append(param);
+					separator = '&';
+				}
+			}
+		}
+
+		return key.toString();
+	}
+
+	/**
+	 * Returns the api method for the supported method
+	 */
+	private static ApiMethod<?> apiMethod(int method) {
+		switch(method) {
+		case Request.Method.SEARCH_FOODS:
+			return ApiMethod.FOODS_SEARCH;
+		case Request.Method.GET_FOOD:
+			return ApiMethod.FOOD_GET;
+		case Request.Method.SEARCH_RECIPES:
+			return ApiMethod.RECIPES_SEARCH;
+		case Request.Method.GET_RECIPE:
+			return ApiMethod.RECIPE_GET;
+		default:
+			throw new IllegalArgumentException("Unsupported method: " + method);
+		}
+	}
+
+	/**
+	 * Returns the failure to be delivered for an exception raised while building or queueing a request
+	 */
+	private static FatsecretException failure(String method, Exception e) {
+		if(e instanceof FatsecretException) {
+			return (FatsecretException) e;
+		}
+		return new FatsecretException(method, "Unable to send the request: " + e.getMessage(), e);
+	}
+
+	/**
+	 * Holds the shared timer sending debounced search calls, created on first use
+	 */
+	private static class Debouncer {
+
+		static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "fatsecret-debounce");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		static {
+			TIMER.setRemoveOnCancelPolicy(true);
+		}
+	}
+}
@@ -19,6 +19,7 @@ import com.fatsecret.platform.model.CompactFood;
 import com.fatsecret.platform.model.CompactRecipe;
 import com.fatsecret.platform.model.Food;
 import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.services.FatsecretException;
 import com.fatsecret.platform.services.Response;
 
 /** 
@@ -35,7 +36,6 @@ public interface ResponseListener {
 	 * @param food			the food item from the response
 	 */
 	default public void onFoodResponse(Food food) {
-		System.out.println("ResponseListener onFoodResponse");
 	}
 	
 	/**
@@ -44,7 +44,6 @@ public interface ResponseListener {
 	 * @param response			the response for the food item list
 	 */
 	default public void onFoodListRespone(Response<CompactFood> response) {
-		System.out.println("ResponseListener onFoodListRespone");
 	}
 
 	/** 
@@ -53,7 +52,6 @@ public interface ResponseListener {
 	 * @param recipe			the recipe item from the response
 	 */
 	default public void onRecipeResponse(Recipe recipe) {
-		System.out.println("ResponseListener onRecipeResponse");
 	}
 	
 	/** 
@@ -62,6 +60,13 @@ public interface ResponseListener {
 	 * @param response			the response for the recipe item list 
 	 */
 	default public void onRecipeListRespone(Response<CompactRecipe> response) {
-		System.out.println("ResponseListener onRecipeListRespone");
 	}
-}
\ No newline at end of file
+
+	/** 
+	 * Called when a request fails or its response cannot be parsed.
+	 * 
+	 * @param exception			the failure, whose type tells apart missing items, authentication, throttling, parse and transport failures
+	 */
+	default public void onErrorResponse(FatsecretException exception) {
+	}
+}
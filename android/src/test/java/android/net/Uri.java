@@ -0,0 +1,23 @@
+package android.net;
+
+import java.net.URI;
+
+/**
+ * Stand-in for the android class used by volley requests, so that they can be created in unit tests
+ */
+public class Uri {
+
+	private final URI uri;
+
+	private Uri(URI uri) {
+		this.uri = uri;
+	}
+
+	public static Uri parse(String uri) {
+		return new Uri(URI.create(uri));
+	}
+
+	public String getHost() {
+		return uri.getHost();
+	}
+}
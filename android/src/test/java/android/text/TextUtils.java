@@ -0,0 +1,11 @@
+package android.text;
+
+/**
+ * Stand-in for the android class used by volley requests, so that they can be created in unit tests
+ */
+public class TextUtils {
+
+	public static boolean isEmpty(CharSequence text) {
+		return text == null || text.length() == 0;
+	}
+}
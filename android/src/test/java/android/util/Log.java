@@ -0,0 +1,35 @@
+package android.util;
+
+/**
+ * Stand-in for the android class used by volley for logging, so that volley can be loaded in unit tests
+ */
+public class Log {
+
+	public static boolean isLoggable(String tag, int level) {
+		return false;
+	}
+
+	public static int v(String tag, String msg) {
+		return 0;
+	}
+
+	public static int d(String tag, String msg) {
+		return 0;
+	}
+
+	public static int e(String tag, String msg) {
+		return 0;
+	}
+
+	public static int e(String tag, String msg, Throwable tr) {
+		return 0;
+	}
+
+	public static int wtf(String tag, String msg) {
+		return 0;
+	}
+
+	public static int wtf(String tag, String msg, Throwable tr) {
+		return 0;
+	}
+}
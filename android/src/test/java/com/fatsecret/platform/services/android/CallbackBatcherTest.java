@@ -0,0 +1,39 @@
+package com.fatsecret.platform.services.android;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CallbackBatcherTest {
+
+	@Test
+	public void testBatchesDeliveriesIntoOneDispatch() {
+		final List<Runnable> mainThread = new ArrayList<Runnable>();
+		final List<String> delivered = new ArrayList<String>();
+		final CallbackBatcher batcher = new CallbackBatcher(mainThread::add);
+
+		batcher.execute(() -> delivered.add("food"));
+		batcher.execute(() -> delivered.add("recipe"));
+		batcher.execute(() -> {
+			delivered.add("foods");
+			batcher.execute(() -> delivered.add("recipes"));
+		});
+
+		assertEquals(1, mainThread.size());
+		assertEquals(0, delivered.size());
+
+		mainThread.remove(0).run();
+
+		assertEquals("[food, recipe, foods]", delivered.toString());
+		assertEquals(1, mainThread.size());
+
+		mainThread.remove(0).run();
+
+		assertEquals("[food, recipe, foods, recipes]", delivered.toString());
+		assertEquals(2, batcher.getDispatches());
+		assertEquals(4, batcher.getDeliveries());
+	}
+}
@@ -0,0 +1,224 @@
+package com.fatsecret.platform.services.android;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.android.volley.Cache;
+import com.android.volley.NetworkResponse;
+import com.android.volley.RequestQueue;
+import com.android.volley.Response;
+import com.android.volley.ResponseDelivery;
+import com.android.volley.VolleyError;
+import com.android.volley.toolbox.NoCache;
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.RequestBuilder;
+import com.fatsecret.platform.services.api.ApiMethod;
+import com.fatsecret.platform.services.api.ApiRequest;
+
+public class RequestTest {
+
+	/** The queues below are never started, so nothing is ever delivered */
+	private static final ResponseDelivery NO_DELIVERY = new ResponseDelivery() {
+		@Override
+		public void postResponse(com.android.volley.Request<?> request, Response<?> response) {
+		}
+
+		@Override
+		public void postResponse(com.android.volley.Request<?> request, Response<?> response, Runnable runnable) {
+		}
+
+		@Override
+		public void postError(com.android.volley.Request<?> request, VolleyError error) {
+		}
+	};
+
+	@Test
+	public void testRequestKeyLeavesOutOauthParams() throws Exception {
+		RequestBuilder builder = new RequestBuilder("key", "secret");
+
+		URL first = new URL(builder.buildFoodsSearchUrl("apple", 0));
+		URL second = new URL(builder.buildFoodsSearchUrl("apple", 0));
+
+		assertNotEquals(first, second);
+		assertEquals(Request.requestKey(first), Request.requestKey(second));
+		assertFalse(Request.requestKey(first).contains("oauth_"));
+
+		assertNotEquals(Request.requestKey(first), Request.requestKey(new URL(builder.buildFoodsSearchUrl("apple", 1))));
+		assertNotEquals(Request.requestKey(first), Request.requestKey(new URL(builder.buildFoodsSearchUrl("pear", 0))));
+	}
+
+	@Test
+	public void testCacheEntryTtl() {
+		NetworkResponse noStore = new NetworkResponse(200, "{}".getBytes(), Collections.singletonMap("Cache-Control", "no-store"), false);
+
+		assertNull(Request.cacheEntry(null, noStore, 0));
+
+		long now = System.currentTimeMillis();
+		Cache.Entry entry = Request.cacheEntry(null, noStore, 60000);
+
+		assertTrue(entry.ttl >= now + 60000);
+		assertEquals(entry.ttl, entry.softTtl);
+		assertFalse(entry.isExpired());
+		assertEquals(2, entry.data.length);
+	}
+
+	@Test
+	public void testIdenticalRequestInFlightIsNotSentAgain() {
+		RequestQueue queue = newQueue();
+		Request request = new Request("key", "secret", new ResponseListener() {});
+
+		request.getFood(queue, 33691L);
+		request.getFood(queue, 33691L);
+		assertEquals(1, sent(queue).size());
+
+		request.getFood(queue, 33692L);
+		request.call(queue, ApiRequest.getFood(33691L), food -> {});
+		assertEquals(3, sent(queue).size());
+	}
+
+	@Test
+	public void testDebounceSendsOnlyTheLatestSearch() throws Exception {
+		RequestQueue queue = newQueue();
+		List<Runnable> mainThread = Collections.synchronizedList(new ArrayList<Runnable>());
+		Request request = new Request("key", "secret", new ResponseListener() {});
+		request.setDebounceMillis(50, mainThread::add);
+
+		request.searchFoods(queue, "a");
+		request.searchFoods(queue, "ap");
+		request.searchFoods(queue, "apple");
+		request.getFood(queue, 33691L);
+
+		assertEquals(1, sent(queue).size());
+
+		runMainThread(mainThread, 1);
+
+		List<com.android.volley.Request<?>> sent = sent(queue);
+		assertEquals(2, sent.size());
+		assertTrue(sent.get(0).getCacheKey().contains("search_expression=apple") || sent.get(1).getCacheKey().contains("search_expression=apple"));
+
+		request.searchFoods(queue, "pear");
+		runMainThread(mainThread, 1);
+
+		assertEquals(2, sent(queue).size());
+		assertEquals(1, canceled(queue).size());
+		assertTrue(canceled(queue).get(0).getCacheKey().contains("search_expression=apple"));
+	}
+
+	@Test
+	public void testCancelStopsDebouncedAndSentCalls() throws Exception {
+		RequestQueue queue = newQueue();
+		List<Runnable> mainThread = Collections.synchronizedList(new ArrayList<Runnable>());
+		Request request = new Request("key", "secret", new ResponseListener() {});
+		request.setDebounceMillis(50, mainThread::add);
+
+		request.getFood(queue, 33691L);
+		request.searchFoods(queue, "apple");
+		request.cancel(queue, ApiMethod.FOODS_SEARCH);
+
+		Thread.sleep(200);
+		assertEquals(0, mainThread.size());
+		assertEquals(1, sent(queue).size());
+		assertEquals(0, canceled(queue).size());
+
+		request.searchFoods(queue, "pear");
+		while(mainThread.isEmpty()) {
+			Thread.sleep(10);
+		}
+		request.cancel(queue, Request.Method.SEARCH_FOODS);
+		mainThread.remove(0).run();
+		assertEquals(1, sent(queue).size());
+
+		request.cancelAll(queue);
+		assertEquals(1, canceled(queue).size());
+
+		request.getFood(queue, 33691L);
+		assertEquals(1, sent(queue).size());
+		assertEquals(1, canceled(queue).size());
+	}
+
+	@Test
+	public void testDebouncedFailureIsDeliveredOnTheMainThread() throws Exception {
+		RequestQueue queue = new RequestQueue(new NoCache(), failing -> null, 1, NO_DELIVERY) {
+			@Override
+			public <T> com.android.volley.Request<T> add(com.android.volley.Request<T> request) {
+				throw new IllegalStateException("Queue stopped");
+			}
+		};
+		List<Runnable> mainThread = Collections.synchronizedList(new ArrayList<Runnable>());
+		List<Thread> failedOn = new ArrayList<Thread>();
+		Request request = new Request("key", "secret", new ResponseListener() {
+			@Override
+			public void onErrorResponse(FatsecretException exception) {
+				assertNotNull(exception.getCause());
+				failedOn.add(Thread.currentThread());
+			}
+		});
+		request.setDebounceMillis(10, mainThread::add);
+
+		request.searchFoods(queue, "apple");
+		runMainThread(mainThread, 1);
+
+		assertEquals(Collections.singletonList(Thread.currentThread()), failedOn);
+	}
+
+	private static RequestQueue newQueue() {
+		return new RequestQueue(new NoCache(), request -> null, 1, NO_DELIVERY);
+	}
+
+	/**
+	 * Returns the requests added to the queue which have not been cancelled
+	 */
+	private static List<com.android.volley.Request<?>> sent(RequestQueue queue) {
+		List<com.android.volley.Request<?>> sent = new ArrayList<com.android.volley.Request<?>>();
+		queue.cancelAll(new RequestQueue.RequestFilter() {
+			@Override
+			public boolean apply(com.android.volley.Request<?> request) {
+				if(!request.isCanceled()) {
+					sent.add(request);
+				}
+				return false;
+			}
+		});
+		return sent;
+	}
+
+	private static List<com.android.volley.Request<?>> canceled(RequestQueue queue) {
+		List<com.android.volley.Request<?>> canceled = new ArrayList<com.android.volley.Request<?>>();
+		queue.cancelAll(new RequestQueue.RequestFilter() {
+			@Override
+			public boolean apply(com.android.volley.Request<?> request) {
+				if(request.isCanceled()) {
+					canceled.add(request);
+				}
+				return false;
+			}
+		});
+		return canceled;
+	}
+
+	/**
+	 * Waits for the debounce timer to hand the expected number of calls to the main thread and runs them
+	 */
+	private static void runMainThread(List<Runnable> mainThread, int expected) throws InterruptedException {
+		long giveUp = System.nanoTime() + 2000000000L;
+		while(mainThread.size() < expected && System.nanoTime() < giveUp) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(100);
+		assertEquals(expected, mainThread.size());
+		while(!mainThread.isEmpty()) {
+			mainThread.remove(0).run();
+		}
+	}
+}
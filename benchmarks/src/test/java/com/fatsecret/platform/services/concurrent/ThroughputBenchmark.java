@@ -0,0 +1,64 @@
+package com.fatsecret.platform.services.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.services.FatsecretService;
+import com.fatsecret.platform.services.StubServer;
+import com.fatsecret.platform.services.resilience.RetryPolicy;
+
+/**
+ * Load test of {@link AsyncFatsecretService} against a local stub answering after a fixed latency
+ * <p>
+ * For each concurrency limit, sends twenty times as many food.get calls as the limit and prints the throughput. With
+ * a latency of L ms the ideal throughput is limit * 1000 / L calls per second, so the output shows how close the client
+ * gets to it as the limit grows. Run with "latency millis" and "limits" arguments, for example: 50 1,16,256,4096
+ */
+public class ThroughputBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		long latencyMillis = args.length > 0 ? Long.parseLong(args[0]) : 50;
+		String[] limits = (args.length > 1 ? args[1] : "1,16,64,256,1024,4096").split(",");
+
+		System.setProperty("http.maxConnections", limits[limits.length - 1]);
+
+		System.out.println("Virtual threads: " + VirtualThreads.isAvailable() + ", stub latency: " + latencyMillis + " ms");
+		System.out.println(String.format("%8s %8s %10s %12s %12s", "limit", "calls", "seconds", "calls/s", "ideal/s"));
+
+		try (StubServer stub = new StubServer(latencyMillis)) {
+			FatsecretService service = new FatsecretService("key", "secret", stub.getApiUrl());
+			service.setRetryPolicy(RetryPolicy.noRetries());
+
+			for(String limit : limits) {
+				int maxConcurrentCalls = Integer.parseInt(limit.trim());
+				int calls = maxConcurrentCalls * 20;
+
+				try (AsyncFatsecretService async = new AsyncFatsecretService(service, maxConcurrentCalls)) {
+					List<CompletableFuture<Food>> futures = new ArrayList<CompletableFuture<Food>>(calls);
+					long start = System.nanoTime();
+
+					for(int i = 0; i < calls; i++) {
+						futures.add(async.getFood(33691L));
+					}
+
+					int failed = 0;
+					for(CompletableFuture<Food> future : futures) {
+						try {
+							future.get();
+						} catch (Exception e) {
+							failed++;
+						}
+					}
+
+					double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+					System.out.println(String.format("%8d %8d %10.2f %12.0f %12.0f%s", maxConcurrentCalls, calls, seconds,
+							(calls - failed) / seconds, maxConcurrentCalls * 1000.0 / latencyMillis,
+							failed > 0 ? "  (" + failed + " failed)" : ""));
+				}
+			}
+		}
+	}
+}
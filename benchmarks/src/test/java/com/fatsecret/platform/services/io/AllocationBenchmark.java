@@ -0,0 +1,57 @@
+package com.fatsecret.platform.services.io;
+
+import java.lang.management.ManagementFactory;
+
+import com.fatsecret.platform.services.Request;
+import com.fatsecret.platform.services.StubServer;
+
+/**
+ * Measures the bytes allocated by the calling thread for each food.get call against a local stub
+ * <p>
+ * The stub answers with a food of many servings so that the body is large enough for its buffers to matter. Only the
+ * thread making the calls is measured, so the allocations of the stub do not count. Run with "calls" and "servings"
+ * arguments, for example: 20000 40
+ */
+public class AllocationBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int calls = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		int servings = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		try (StubServer stub = new StubServer(0)) {
+			String food = food(servings);
+			stub.setFood(food);
+
+			Request request = new Request("key", "secret", stub.getApiUrl());
+
+			for(int i = 0; i < calls / 2; i++) {
+				request.getFood(33691L);
+			}
+
+			long before = threads.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+
+			for(int i = 0; i < calls; i++) {
+				request.getFood(33691L);
+			}
+
+			long allocated = threads.getThreadAllocatedBytes(thread) - before;
+			System.out.println(String.format("body %d bytes, %d calls, %.1f us/call, %d bytes allocated/call", food.length(),
+					calls, (System.nanoTime() - start) / 1000.0 / calls, allocated / calls));
+		}
+	}
+
+	private static String food(int servings) {
+		String serving = StubServer.FOOD.substring(StubServer.FOOD.indexOf("{\"serving_id\""), StubServer.FOOD.lastIndexOf("}}}}") + 1);
+		StringBuilder food = new StringBuilder(StubServer.FOOD.substring(0, StubServer.FOOD.indexOf("{\"serving\":") + 11)).append('[');
+
+		for(int i = 0; i < servings; i++) {
+			food.append(i == 0 ? "" : ",").append(serving);
+		}
+
+		return food.append("]}}}").toString();
+	}
+}
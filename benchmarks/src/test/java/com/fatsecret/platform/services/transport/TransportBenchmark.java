@@ -0,0 +1,73 @@
+package com.fatsecret.platform.services.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.services.FatsecretService;
+import com.fatsecret.platform.services.StubServer;
+import com.fatsecret.platform.services.concurrent.AsyncFatsecretService;
+
+/**
+ * Compares the throughput of the transports against a local stub answering after a fixed latency
+ * <p>
+ * For each concurrency limit, sends twenty times as many food.get calls as the limit through each transport. The stub
+ * speaks HTTP/1.1 only, so the HttpClient transport holds a connection per request in flight here as well; against an
+ * HTTP/2 server it multiplexes them over one connection. Run with "latency millis" and "limits" arguments, for
+ * example: 20 1,16,256
+ */
+public class TransportBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		long latencyMillis = args.length > 0 ? Long.parseLong(args[0]) : 20;
+		String[] limits = (args.length > 1 ? args[1] : "1,16,64,256").split(",");
+
+		System.setProperty("http.maxConnections", limits[limits.length - 1]);
+		System.out.println(String.format("%-24s %8s %8s %10s %12s", "transport", "limit", "calls", "seconds", "calls/s"));
+
+		try (StubServer stub = new StubServer(latencyMillis)) {
+			for(String limit : limits) {
+				int maxConcurrentCalls = Integer.parseInt(limit.trim());
+
+				for(Transport transport : new Transport[] { new URLConnectionTransport(), new HttpClientTransport(), new NioTransport() }) {
+					FatsecretService service = new FatsecretService("key", "secret", stub.getApiUrl());
+					service.setTransport(transport);
+
+					try (AsyncFatsecretService async = new AsyncFatsecretService(service, maxConcurrentCalls)) {
+						run(async, maxConcurrentCalls);
+
+						int calls = maxConcurrentCalls * 20;
+						long start = System.nanoTime();
+						int failed = run(async, calls);
+
+						double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+						System.out.println(String.format("%-24s %8d %8d %10.2f %12.0f%s", transport.getClass().getSimpleName(),
+								maxConcurrentCalls, calls, seconds, (calls - failed) / seconds, failed > 0 ? "  (" + failed + " failed)" : ""));
+					} finally {
+						transport.close();
+					}
+				}
+			}
+		}
+	}
+
+	private static int run(AsyncFatsecretService async, int calls) throws InterruptedException {
+		List<CompletableFuture<Food>> futures = new ArrayList<CompletableFuture<Food>>(calls);
+
+		for(int i = 0; i < calls; i++) {
+			futures.add(async.getFood(33691L));
+		}
+
+		int failed = 0;
+		for(CompletableFuture<Food> future : futures) {
+			try {
+				future.get();
+			} catch (Exception e) {
+				failed++;
+			}
+		}
+		return failed;
+	}
+}
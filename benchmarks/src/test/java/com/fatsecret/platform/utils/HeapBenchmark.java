@@ -0,0 +1,153 @@
+package com.fatsecret.platform.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.json.JSONObject;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.Serving;
+
+/**
+ * Measures the heap retained by a cached dataset of parsed foods with and without interned strings
+ * <p>
+ * The foods are generated with the value distributions of real responses: a handful of types and units, measurement
+ * descriptions which are mostly common ones but have a long tail of values specific to a food, such as "bar (52g)",
+ * and serving descriptions which combine them with amounts and are mostly distinct. The same foods are then copied
+ * with a separate string for every interned field, as the parsers produced before interning, and the heap retained by
+ * each copy is compared after a full collection. Run with the heap fixed and "foods" and "servings" arguments, for
+ * example: -Xms2g -Xmx2g 50000 4
+ */
+public class HeapBenchmark {
+
+	private static final String[] TYPES = { "Generic", "Brand" };
+
+	private static final String[] UNITS = { "g", "ml", "oz" };
+
+	private static final String[] MEASUREMENTS = { "g", "cup", "tbsp", "tsp", "oz", "serving", "slice", "medium", "large",
+			"small", "piece", "fl oz", "bottle", "can", "container" };
+
+	private static final String[] TAIL = { "bar", "package", "cookie", "scoop", "pouch", "wrap", "patty", "link", "stick",
+			"cake", "muffin", "roll", "bowl", "tray", "box" };
+
+	public static void main(String[] args) throws Exception {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+		int servings = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+		Random random = new Random(42);
+		List<Food> interned = new ArrayList<Food>(count);
+		for(int i = 0; i < count; i++) {
+			interned.add(FoodUtility.parseFoodFromJSONObject(food(random, i, servings)));
+		}
+
+		long internedBytes = retained(interned);
+
+		List<Food> separate = new ArrayList<Food>(count);
+		for(Food food : interned) {
+			separate.add(separateStrings(food));
+		}
+		interned = null;
+
+		long separateBytes = retained(separate);
+
+		Set<String> servingDescriptions = new HashSet<String>();
+		Set<String> measurementDescriptions = new HashSet<String>();
+		for(Food food : separate) {
+			for(Serving serving : food.getServings()) {
+				servingDescriptions.add(serving.getServingDescription());
+				measurementDescriptions.add(serving.getMeasurementDescription());
+			}
+		}
+
+		System.out.println(String.format("%d foods of %d servings, %d distinct serving and %d distinct measurement "
+				+ "descriptions left as they are", count, servings, servingDescriptions.size(), measurementDescriptions.size()));
+		System.out.println(String.format("%d interned values: %.1f MB with separate strings, %.1f MB interned, %.1f%% saved",
+				StringInterner.DEFAULT.size(), separateBytes / 1e6, internedBytes / 1e6,
+				100.0 * (separateBytes - internedBytes) / separateBytes));
+
+		if(separate.size() != count) {
+			throw new AssertionError();
+		}
+	}
+
+	/**
+	 * Returns the heap in use after a full collection, with the given foods reachable and nothing else of the run
+	 */
+	private static long retained(List<Food> foods) throws InterruptedException {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+		for(int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+
+		long used = memory.getHeapMemoryUsage().getUsed();
+		if(foods.isEmpty()) {
+			throw new AssertionError();
+		}
+		return used;
+	}
+
+	private static JSONObject food(Random random, int id, int servings) {
+		StringBuilder json = new StringBuilder("{\"food_id\":\"").append(id).append("\",\"food_name\":\"Food ").append(id)
+				.append("\",\"food_type\":\"").append(TYPES[random.nextInt(TYPES.length)])
+				.append("\",\"food_url\":\"http://www.fatsecret.com/calories-nutrition/generic/food-").append(id)
+				.append("\",\"servings\":{\"serving\":[");
+
+		for(int i = 0; i < servings; i++) {
+			int amount = 1 + random.nextInt(500);
+			int units = 1 + random.nextInt(3);
+
+			// about a third of the measurements are specific to the food, the rest come from a short common list
+			String measurement = random.nextInt(3) == 0
+					? TAIL[random.nextInt(TAIL.length)] + " (" + (1 + random.nextInt(250)) + "g)"
+					: MEASUREMENTS[random.nextInt(MEASUREMENTS.length)];
+			String description = units + " " + measurement + (random.nextBoolean() ? "" : " (" + amount + " g)");
+
+			json.append(i == 0 ? "" : ",").append("{\"serving_id\":\"").append(id * 10 + i)
+					.append("\",\"serving_description\":\"").append(description)
+					.append("\",\"metric_serving_amount\":\"").append(amount).append(".000")
+					.append("\",\"metric_serving_unit\":\"").append(UNITS[random.nextInt(UNITS.length)])
+					.append("\",\"number_of_units\":\"").append(units).append(".000")
+					.append("\",\"measurement_description\":\"").append(measurement)
+					.append("\",\"calories\":\"").append(random.nextInt(800))
+					.append("\",\"carbohydrate\":\"").append(random.nextInt(100)).append(".00")
+					.append("\",\"protein\":\"").append(random.nextInt(50)).append(".00")
+					.append("\",\"fat\":\"").append(random.nextInt(50)).append(".00\"}");
+		}
+
+		return new JSONObject(json.append("]}}").toString());
+	}
+
+	private static Food separateStrings(Food food) {
+		List<Serving> servings = new ArrayList<Serving>(food.getServings().size());
+		for(Serving serving : food.getServings()) {
+			servings.add(Serving.builder()
+					.servingId(serving.getServingId())
+					.servingDescription(serving.getServingDescription())
+					.metricServingAmount(serving.getMetricServingAmount())
+					.metricServingUnit(new String(serving.getMetricServingUnit()))
+					.numberOfUnits(serving.getNumberOfUnits())
+					.measurementDescription(serving.getMeasurementDescription())
+					.calories(serving.getCalories())
+					.carbohydrate(serving.getCarbohydrate())
+					.protein(serving.getProtein())
+					.fat(serving.getFat())
+					.build());
+		}
+
+		return Food.builder()
+				.id(food.getId())
+				.name(food.getName())
+				.url(food.getUrl())
+				.type(new String(food.getType()))
+				.brandName(food.getBrandName())
+				.servings(servings)
+				.build();
+	}
+}
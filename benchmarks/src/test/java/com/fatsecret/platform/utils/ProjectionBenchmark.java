@@ -0,0 +1,62 @@
+package com.fatsecret.platform.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.json.JSONObject;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.FoodField;
+import com.fatsecret.platform.services.StubServer;
+
+/**
+ * Measures the time and the bytes allocated to map a food.get response into a food, whole and projected to the name
+ * and the calories
+ * <p>
+ * The json is parsed once up front, so only the mapping into model objects is measured. Run with "foods" and
+ * "servings" arguments, for example: 200000 8
+ */
+public class ProjectionBenchmark {
+
+	public static void main(String[] args) {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		int servings = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+
+		JSONObject json = food(servings);
+
+		measure("whole", json, FoodField.ALL, count);
+		measure("name and calories", json, EnumSet.of(FoodField.NAME, FoodField.CALORIES), count);
+		measure("whole", json, FoodField.ALL, count);
+		measure("name and calories", json, EnumSet.of(FoodField.NAME, FoodField.CALORIES), count);
+	}
+
+	private static void measure(String name, JSONObject json, Set<FoodField> fields, int count) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		long before = threads.getThreadAllocatedBytes(thread);
+		long start = System.nanoTime();
+		long calories = 0;
+
+		for(int i = 0; i < count; i++) {
+			Food food = FoodUtility.parseFoodFromJSONObject(json, fields);
+			calories += food.getServings().get(0).getCalories().longValue();
+		}
+
+		long allocated = threads.getThreadAllocatedBytes(thread) - before;
+		System.out.println(String.format("%-18s %.2f us/food, %d bytes allocated/food (%d)", name,
+				(System.nanoTime() - start) / 1000.0 / count, allocated / count, calories));
+	}
+
+	private static JSONObject food(int servings) {
+		String serving = StubServer.FOOD.substring(StubServer.FOOD.indexOf("{\"serving_id\""), StubServer.FOOD.lastIndexOf("}}}}") + 1);
+		StringBuilder food = new StringBuilder(StubServer.FOOD.substring(0, StubServer.FOOD.indexOf("{\"serving\":") + 11)).append('[');
+
+		for(int i = 0; i < servings; i++) {
+			food.append(i == 0 ? "" : ",").append(serving);
+		}
+
+		return new JSONObject(food.append("]}}}").toString()).getJSONObject("food");
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.util.Objects;
+
+/**
+ * This class represents a category that the recipe is classified under.
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Category {
+
+	/** Name of the Category */
+	private final String name;
+
+	/** URL for the Category */
+	private final String url;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	protected Category(Builder builder) {
+		this.name = builder.name;
+		this.url = builder.url;
+	}
+
+	/**
+	 * Returns a builder of a category
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the name of the category
+	 * 
+	 * @return		name of the category
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the URL for the category
+	 * 
+	 * @return		URL for the category
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) {
+			return true;
+		}
+		if(o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		Category other = (Category) o;
+		return Objects.equals(name, other.name)
+				&& Objects.equals(url, other.url);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(name, url);
+	}
+
+	/**
+	 * This class builds {@link Category} objects
+	 */
+	public static class Builder {
+
+		private String name;
+
+		private String url;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the name of the category
+		 * 
+		 * @param		name the name of the category
+		 * @return		this builder
+		 */
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Sets the URL for the category
+		 * 
+		 * @param		url the URL for the category
+		 * @return		this builder
+		 */
+		public Builder url(String url) {
+			this.url = url;
+			return this;
+		}
+
+		/**
+		 * Returns the category holding the values set on this builder
+		 *
+		 * @return		the category
+		 */
+		public Category build() {
+			return new Category(this);
+		}
+	}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.util.Objects;
+
+/**
+ * This class represents summary information about the food item.
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CompactFood {
+
+	/** Name of the food, not including the brand name */
+	private final String name;
+
+	/** URL of this food item on <a href="http://www.fatsecret.com">Fatsecret website</a> */
+	private final String url;
+
+	/** Type of the food - indicates whether the food is a brand or generic item */
+	private final String type;
+
+	/** The unique food identifier */
+	private final Long id;
+
+	/** A short description of the food */
+	private final String description;
+
+	/** The brand name, only when food_type is "Brand" */
+	private final String brandName;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	protected CompactFood(Builder builder) {
+		this.name = builder.name;
+		this.url = builder.url;
+		this.type = builder.type;
+		this.id = builder.id;
+		this.description = builder.description;
+		this.brandName = builder.brandName;
+	}
+
+	/**
+	 * Returns a builder of a compact food
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the name of the food
+	 * 
+	 * @return		the name of the food
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the URL for the food
+	 * 
+	 * @return		the URL for the food
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Returns the type of the food
+	 * 
+	 * @return		the type of the food
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * Returns the unique food identifier
+	 * 
+	 * @return		the unique food identifier
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the short description of the food
+	 * 
+	 * @return		the short description of the food
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Returns the brand name of the food
+	 * 
+	 * @return		the brand name of the food
+	 */
+	public String getBrandName() {
+		return brandName;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) {
+			return true;
+		}
+		if(o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		CompactFood other = (CompactFood) o;
+		return Objects.equals(name, other.name)
+				&& Objects.equals(url, other.url)
+				&& Objects.equals(type, other.type)
+				&& Objects.equals(id, other.id)
+				&& Objects.equals(description, other.description)
+				&& Objects.equals(brandName, other.brandName);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(name, url, type, id, description, brandName);
+	}
+
+	/**
+	 * This class builds {@link CompactFood} objects
+	 */
+	public static class Builder {
+
+		private String name;
+
+		private String url;
+
+		private String type;
+
+		private Long id;
+
+		private String description;
+
+		private String brandName;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the name of the food
+		 * 
+		 * @param		name the name of the food
+		 * @return		this builder
+		 */
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Sets the URL for the food
+		 * 
+		 * @param		url the URL for the food
+		 * @return		this builder
+		 */
+		public Builder url(String url) {
+			this.url = url;
+			return this;
+		}
+
+		/**
+		 * Sets the type of the food
+		 * 
+		 * @param		type the type of the food
+		 * @return		this builder
+		 */
+		public Builder type(String type) {
+			this.type = type;
+			return this;
+		}
+
+		/**
+		 * Sets the unique food identifier
+		 * 
+		 * @param		id the unique food identifier
+		 * @return		this builder
+		 */
+		public Builder id(Long id) {
+			this.id = id;
+			return this;
+		}
+
+		/**
+		 * Sets the short description of the food
+		 * 
+		 * @param		description the short description of the food
+		 * @return		this builder
+		 */
+		public Builder description(String description) {
+			this.description = description;
+			return this;
+		}
+
+		/**
+		 * Sets the brand name of the food
+		 * 
+		 * @param		brandName the brand name of the food
+		 * @return		this builder
+		 */
+		public Builder brandName(String brandName) {
+			this.brandName = brandName;
+			return this;
+		}
+
+		/**
+		 * Returns the compact food holding the values set on this builder
+		 *
+		 * @return		the compact food
+		 */
+		public CompactFood build() {
+			return new CompactFood(this);
+		}
+	}
+}
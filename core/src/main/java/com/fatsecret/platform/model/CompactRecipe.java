@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class represents summary information about the recipe item.
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CompactRecipe {
+
+	/** The name of the recipe */
+	private final String name;
+
+	/** URL of this recipe item on <a href="http://www.fatsecret.com">Fatsecret website</a> */
+	private final String url;
+
+	/** The unique recipe identifier */
+	private final Long id;
+
+	/** A short description of the recipe */
+	private final String description;
+
+	/** A list of URLs of all the images for this recipe on <a href="www.fatsecret.com">Fatsecret website</a> */
+	private final List<String> images;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	protected CompactRecipe(Builder builder) {
+		this.name = builder.name;
+		this.url = builder.url;
+		this.id = builder.id;
+		this.description = builder.description;
+		this.images = builder.images == null ? null : List.copyOf(builder.images);
+	}
+
+	/**
+	 * Returns a builder of a compact recipe
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the name of the recipe
+	 * 
+	 * @return		the name of the recipe
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the URL for the recipe
+	 * 
+	 * @return		the URL for the recipe
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Returns the unique identifier of the recipe
+	 * 
+	 * @return		the unique identifier of the recipe
+	 */
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * Returns the short description of the recipe
+	 * 
+	 * @return		the short description of the recipe
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Returns the list of URLs of all the images for the recipe
+	 * 
+	 * @return		the list of URLs of all the images for the recipe
+	 */
+	public List<String> getImages() {
+		return images;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) {
+			return true;
+		}
+		if(o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		CompactRecipe other = (CompactRecipe) o;
+		return Objects.equals(name, other.name)
+				&& Objects.equals(url, other.url)
+				&& Objects.equals(id, other.id)
+				&& Objects.equals(description, other.description)
+				&& Objects.equals(images, other.images);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(name, url, id, description, images);
+	}
+
+	/**
+	 * This class builds {@link CompactRecipe} objects
+	 */
+	public static class Builder {
+
+		private String name;
+
+		private String url;
+
+		private Long id;
+
+		private String description;
+
+		private List<String> images;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the name of the recipe
+		 * 
+		 * @param		name the name of the recipe
+		 * @return		this builder
+		 */
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Sets the URL for the recipe
+		 * 
+		 * @param		url the URL for the recipe
+		 * @return		this builder
+		 */
+		public Builder url(String url) {
+			this.url = url;
+			return this;
+		}
+
+		/**
+		 * Sets the unique identifier of the recipe
+		 * 
+		 * @param		id the unique identifier of the recipe
+		 * @return		this builder
+		 */
+		public Builder id(Long id) {
+			this.id = id;
+			return this;
+		}
+
+		/**
+		 * Sets the short description of the recipe
+		 * 
+		 * @param		description the short description of the recipe
+		 * @return		this builder
+		 */
+		public Builder description(String description) {
+			this.description = description;
+			return this;
+		}
+
+		/**
+		 * Sets the list of URLs of all the images for the recipe
+		 * 
+		 * @param		images the list of URLs of all the images for the recipe
+		 * @return		this builder
+		 */
+		public Builder images(List<String> images) {
+			this.images = images;
+			return this;
+		}
+
+		/**
+		 * Returns the compact recipe holding the values set on this builder
+		 *
+		 * @return		the compact recipe
+		 */
+		public CompactRecipe build() {
+			return new CompactRecipe(this);
+		}
+	}
+}
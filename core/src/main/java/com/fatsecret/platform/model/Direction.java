@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.util.Objects;
+
+/**
+ * This class represents a category that the recipe is classified under.
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Direction {
+
+	/** The order of this step */
+	private final Integer number;
+
+	/** The instruction of this step */
+	private final String description;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	protected Direction(Builder builder) {
+		this.number = builder.number;
+		this.description = builder.description;
+	}
+
+	/**
+	 * Returns a builder of a direction
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the order of this step
+	 * 
+	 * @return		the order of this step
+	 */
+	public Integer getNumber() {
+		return number;
+	}
+
+	/**
+	 * Returns the instruction of this step
+	 * 
+	 * @return		the instruction of this step
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) {
+			return true;
+		}
+		if(o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		Direction other = (Direction) o;
+		return Objects.equals(number, other.number)
+				&& Objects.equals(description, other.description);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(number, description);
+	}
+
+	/**
+	 * This class builds {@link Direction} objects
+	 */
+	public static class Builder {
+
+		private Integer number;
+
+		private String description;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the order of this step
+		 * 
+		 * @param		number the order of this step
+		 * @return		this builder
+		 */
+		public Builder number(Integer number) {
+			this.number = number;
+			return this;
+		}
+
+		/**
+		 * Sets the instruction of this step
+		 * 
+		 * @param		description the instruction of this step
+		 * @return		this builder
+		 */
+		public Builder description(String description) {
+			this.description = description;
+			return this;
+		}
+
+		/**
+		 * Returns the direction holding the values set on this builder
+		 *
+		 * @return		the direction
+		 */
+		public Direction build() {
+			return new Direction(this);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class represents detailed information about the food item.
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Food extends CompactFood {
+
+	/** A list of all servings for this food */
+	private final List<Serving> servings;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	private Food(Builder builder) {
+		super(builder);
+		this.servings = builder.servings == null ? null : List.copyOf(builder.servings);
+	}
+
+	/**
+	 * Returns a builder of a food
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the list of all servings for this food
+	 * 
+	 * @return		the list of all servings for this food
+	 */
+	public List<Serving> getServings() {
+		return servings;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(!super.equals(o)) {
+			return false;
+		}
+		Food other = (Food) o;
+		return Objects.equals(servings, other.servings);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Objects.hash(servings);
+	}
+
+	/**
+	 * This class builds {@link Food} objects
+	 */
+	public static class Builder extends CompactFood.Builder {
+
+		private List<Serving> servings;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the list of all servings for this food
+		 * 
+		 * @param		servings the list of all servings for this food
+		 * @return		this builder
+		 */
+		public Builder servings(List<Serving> servings) {
+			this.servings = servings;
+			return this;
+		}
+
+		@Override
+		public Builder name(String name) {
+			super.name(name);
+			return this;
+		}
+
+		@Override
+		public Builder url(String url) {
+			super.url(url);
+			return this;
+		}
+
+		@Override
+		public Builder type(String type) {
+			super.type(type);
+			return this;
+		}
+
+		@Override
+		public Builder id(Long id) {
+			super.id(id);
+			return this;
+		}
+
+		@Override
+		public Builder description(String description) {
+			super.description(description);
+			return this;
+		}
+
+		@Override
+		public Builder brandName(String brandName) {
+			super.brandName(brandName);
+			return this;
+		}
+
+		/**
+		 * Returns the food holding the values set on this builder
+		 *
+		 * @return		the food
+		 */
+		@Override
+		public Food build() {
+			return new Food(this);
+		}
+	}
+}
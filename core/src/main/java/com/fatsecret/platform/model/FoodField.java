@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * This enum lists the fields of a food which can be requested from the mapping of a food.get response
+ * <p>
+ * Given a set of fields, the mapping of the json response into a food fills in only the fields in the set and leaves
+ * the others null, which saves the conversion and allocation of the fields a caller does not read. The response itself
+ * is still parsed whole into json. The food identifier is always filled in. The servings of the food are mapped only
+ * if the set holds at least one serving field, and then only those fields of each serving are filled in.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public enum FoodField {
+
+	NAME,
+	URL,
+	TYPE,
+	BRAND_NAME,
+
+	SERVING_ID,
+	SERVING_DESCRIPTION,
+	SERVING_URL,
+	METRIC_SERVING_AMOUNT,
+	METRIC_SERVING_UNIT,
+	NUMBER_OF_UNITS,
+	MEASUREMENT_DESCRIPTION,
+	CALORIES,
+	CARBOHYDRATE,
+	PROTEIN,
+	FAT,
+	SATURATED_FAT,
+	POLYUNSATURATED_FAT,
+	MONOUNSATURATED_FAT,
+	TRANS_FAT,
+	CHOLESTEROL,
+	SODIUM,
+	POTASSIUM,
+	FIBER,
+	SUGAR,
+	VITAMIN_A,
+	VITAMIN_C,
+	CALCIUM,
+	IRON;
+
+	/** Every field, mapped when none is given */
+	public static final Set<FoodField> ALL = Collections.unmodifiableSet(EnumSet.allOf(FoodField.class));
+
+	/** The fields of a serving */
+	public static final Set<FoodField> SERVING = Collections.unmodifiableSet(EnumSet.range(SERVING_ID, IRON));
+}
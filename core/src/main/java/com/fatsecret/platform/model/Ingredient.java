@@ -0,0 +1,270 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * This class represents detailed information about the ingredient
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Ingredient {
+
+	/** The unique food identifier */
+	private final Long foodId;
+
+	/** The unique serving identifier */
+	private final Long servingId;
+
+	/** The fully formated description of the ingredient */
+	private final String description;
+
+	/** The name of the food, not including the brand name */
+	private final String name;
+
+	/** URL of this ingredient on <a href="http://www.fatsecret.com">Fatsecret website</a> */
+	private final String url;
+
+	/** The number of units of this ingredient used in the recipe */
+	private final BigDecimal numberOfUnits;
+
+	/** The unit of measure of this ingredient used in the recipe - E.G.: "cup" or "g" */
+	private final String measurementDescription;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	protected Ingredient(Builder builder) {
+		this.foodId = builder.foodId;
+		this.servingId = builder.servingId;
+		this.description = builder.description;
+		this.name = builder.name;
+		this.url = builder.url;
+		this.numberOfUnits = builder.numberOfUnits;
+		this.measurementDescription = builder.measurementDescription;
+	}
+
+	/**
+	 * Returns a builder of an ingredient
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the unique food identifier
+	 * 
+	 * @return		the unique food identifier
+	 */
+	public Long getFoodId() {
+		return foodId;
+	}
+
+	/**
+	 * Returns the unique serving identifier
+	 * 
+	 * @return		the unique serving identifier
+	 */
+	public Long getServingId() {
+		return servingId;
+	}
+
+	/**
+	 * Returns the fully formated description of the ingredient
+	 * 
+	 * @return		the fully formated description of the ingredient
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Returns the name of the food
+	 * 
+	 * @return		the name of the food
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the URL of the ingredient
+	 * 
+	 * @return		the URL for the ingredient
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Returns the number of units of this ingredient used in the recipe
+	 * 
+	 * @return		the number of units of this ingredient used in the recipe
+	 */
+	public BigDecimal getNumberOfUnits() {
+		return numberOfUnits;
+	}
+
+	/**
+	 * Returns the unit of measure of this ingredient
+	 * 
+	 * @return		the unit of measure of this ingredient
+	 */
+	public String getMeasurementDescription() {
+		return measurementDescription;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) {
+			return true;
+		}
+		if(o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		Ingredient other = (Ingredient) o;
+		return Objects.equals(foodId, other.foodId)
+				&& Objects.equals(servingId, other.servingId)
+				&& Objects.equals(description, other.description)
+				&& Objects.equals(name, other.name)
+				&& Objects.equals(url, other.url)
+				&& Objects.equals(numberOfUnits, other.numberOfUnits)
+				&& Objects.equals(measurementDescription, other.measurementDescription);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(foodId, servingId, description, name, url, numberOfUnits, measurementDescription);
+	}
+
+	/**
+	 * This class builds {@link Ingredient} objects
+	 */
+	public static class Builder {
+
+		private Long foodId;
+
+		private Long servingId;
+
+		private String description;
+
+		private String name;
+
+		private String url;
+
+		private BigDecimal numberOfUnits;
+
+		private String measurementDescription;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the unique food identifier
+		 * 
+		 * @param		foodId the unique food identifier
+		 * @return		this builder
+		 */
+		public Builder foodId(Long foodId) {
+			this.foodId = foodId;
+			return this;
+		}
+
+		/**
+		 * Sets the unique serving identifier
+		 * 
+		 * @param		servingId the unique serving identifier
+		 * @return		this builder
+		 */
+		public Builder servingId(Long servingId) {
+			this.servingId = servingId;
+			return this;
+		}
+
+		/**
+		 * Sets the fully formated description of the ingredient
+		 * 
+		 * @param		description the fully formated description of the ingredient
+		 * @return		this builder
+		 */
+		public Builder description(String description) {
+			this.description = description;
+			return this;
+		}
+
+		/**
+		 * Sets the name of the food
+		 * 
+		 * @param		name the name of the food
+		 * @return		this builder
+		 */
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Sets the URL for the ingredient
+		 * 
+		 * @param		url the URL for the ingredient
+		 * @return		this builder
+		 */
+		public Builder url(String url) {
+			this.url = url;
+			return this;
+		}
+
+		/**
+		 * Sets the number of units of this ingredient used in the recipe
+		 * 
+		 * @param		numberOfUnits the number of units of this ingredient used in the recipe
+		 * @return		this builder
+		 */
+		public Builder numberOfUnits(BigDecimal numberOfUnits) {
+			this.numberOfUnits = numberOfUnits;
+			return this;
+		}
+
+		/**
+		 * Sets the unit of measure of this ingredient
+		 * 
+		 * @param		measurementDescription the unit of measure of this ingredient
+		 * @return		this builder
+		 */
+		public Builder measurementDescription(String measurementDescription) {
+			this.measurementDescription = measurementDescription;
+			return this;
+		}
+
+		/**
+		 * Returns the ingredient holding the values set on this builder
+		 *
+		 * @return		the ingredient
+		 */
+		public Ingredient build() {
+			return new Ingredient(this);
+		}
+	}
+}
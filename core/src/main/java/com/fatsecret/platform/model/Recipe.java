@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class represents detailed information about the recipe item.
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Recipe extends CompactRecipe {
+
+	/** The overall average rating of a recipe from FatSecret members out of five */
+	private final Integer rating;
+
+	/** A list of the types that the recipe is classified under */
+	private final List<String> types;
+
+	/** The number of servings the recipe is intended for */
+	private final BigDecimal numberOfServings;
+
+	/** The time in minutes to prepare the recipe (where available) */
+	private final Integer preparationTime;
+
+	/** The time in minutes to cook the recipe (where available) */
+	private final Integer cookingTime;
+
+	/** A list of the categories that the recipe is classified under */
+	private final List<Category> categories;
+
+	/** The complete nutritional information */
+	private final Serving serving;
+
+	/** A list of the directions/steps involved in creating the recipe */
+	private final List<Direction> directions;
+
+	/** A list of the ingredients that make up the recipe */
+	private final List<Ingredient> ingredients;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	private Recipe(Builder builder) {
+		super(builder);
+		this.rating = builder.rating;
+		this.types = builder.types == null ? null : List.copyOf(builder.types);
+		this.numberOfServings = builder.numberOfServings;
+		this.preparationTime = builder.preparationTime;
+		this.cookingTime = builder.cookingTime;
+		this.categories = builder.categories == null ? null : List.copyOf(builder.categories);
+		this.serving = builder.serving;
+		this.directions = builder.directions == null ? null : List.copyOf(builder.directions);
+		this.ingredients = builder.ingredients == null ? null : List.copyOf(builder.ingredients);
+	}
+
+	/**
+	 * Returns a builder of a recipe
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the average rating of the recipe
+	 * 
+	 * @return		the average rating of the recipe
+	 */
+	public Integer getRating() {
+		return rating;
+	}
+
+	/**
+	 * Returns the list of the types that the recipe is classified under
+	 * 
+	 * @return		the list of the types that the recipe is classified under
+	 */
+	public List<String> getTypes() {
+		return types;
+	}
+
+	/**
+	 * Returns the number of servings the recipe is intended for
+	 * 
+	 * @return		the number of servings the recipe is intended for
+	 */
+	public BigDecimal getNumberOfServings() {
+		return numberOfServings;
+	}
+
+	/**
+	 * Returns the time in minutes to prepare the recipe
+	 * 
+	 * @return		the time in minutes to prepare the recipe
+	 */
+	public Integer getPreparationTime() {
+		return preparationTime;
+	}
+
+	/**
+	 * Returns the time in minutes to cook the recipe
+	 * 
+	 * @return		the time in minutes to cook the recipe
+	 */
+	public Integer getCookingTime() {
+		return cookingTime;
+	}
+
+	/**
+	 * Returns the list of the categories that the recipe is classified under
+	 * 
+	 * @return		the list of the categories that the recipe is classified under
+	 */
+	public List<Category> getCategories() {
+		return categories;
+	}
+
+	/**
+	 * Returns the complete nutritional information
+	 * 
+	 * @return		the complete nutritional information
+	 */
+	public Serving getServing() {
+		return serving;
+	}
+
+	/**
+	 * Returns the list of the directions/steps involved in creating the recipe
+	 * 
+	 * @return		the list of the directions/steps involved in creating the recipe
+	 */
+	public List<Direction> getDirections() {
+		return directions;
+	}
+
+	/**
+	 * Returns the list of the ingredients that make up the recipe
+	 * 
+	 * @return		the list of the ingredients that make up the recipe
+	 */
+	public List<Ingredient> getIngredients() {
+		return ingredients;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(!super.equals(o)) {
+			return false;
+		}
+		Recipe other = (Recipe) o;
+		return Objects.equals(rating, other.rating)
+				&& Objects.equals(types, other.types)
+				&& Objects.equals(numberOfServings, other.numberOfServings)
+				&& Objects.equals(preparationTime, other.preparationTime)
+				&& Objects.equals(cookingTime, other.cookingTime)
+				&& Objects.equals(categories, other.categories)
+				&& Objects.equals(serving, other.serving)
+				&& Objects.equals(directions, other.directions)
+				&& Objects.equals(ingredients, other.ingredients);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Objects.hash(rating, types, numberOfServings, preparationTime, cookingTime, categories, serving, directions, ingredients);
+	}
+
+	/**
+	 * This class builds {@link Recipe} objects
+	 */
+	public static class Builder extends CompactRecipe.Builder {
+
+		private Integer rating;
+
+		private List<String> types;
+
+		private BigDecimal numberOfServings;
+
+		private Integer preparationTime;
+
+		private Integer cookingTime;
+
+		private List<Category> categories;
+
+		private Serving serving;
+
+		private List<Direction> directions;
+
+		private List<Ingredient> ingredients;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the average rating of the recipe
+		 * 
+		 * @param		rating the average rating of the recipe
+		 * @return		this builder
+		 */
+		public Builder rating(Integer rating) {
+			this.rating = rating;
+			return this;
+		}
+
+		/**
+		 * Sets the list of the types that the recipe is classified under
+		 * 
+		 * @param		types the list of the types that the recipe is classified under
+		 * @return		this builder
+		 */
+		public Builder types(List<String> types) {
+			this.types = types;
+			return this;
+		}
+
+		/**
+		 * Sets the number of servings the recipe is intended for
+		 * 
+		 * @param		numberOfServings the number of servings the recipe is intended for
+		 * @return		this builder
+		 */
+		public Builder numberOfServings(BigDecimal numberOfServings) {
+			this.numberOfServings = numberOfServings;
+			return this;
+		}
+
+		/**
+		 * Sets the time in minutes to prepare the recipe
+		 * 
+		 * @param		preparationTime the time in minutes to prepare the recipe
+		 * @return		this builder
+		 */
+		public Builder preparationTime(Integer preparationTime) {
+			this.preparationTime = preparationTime;
+			return this;
+		}
+
+		/**
+		 * Sets the time in minutes to cook the recipe
+		 * 
+		 * @param		cookingTime the time in minutes to cook the recipe
+		 * @return		this builder
+		 */
+		public Builder cookingTime(Integer cookingTime) {
+			this.cookingTime = cookingTime;
+			return this;
+		}
+
+		/**
+		 * Sets the list of the categories that the recipe is classified under
+		 * 
+		 * @param		categories the list of the categories that the recipe is classified under
+		 * @return		this builder
+		 */
+		public Builder categories(List<Category> categories) {
+			this.categories = categories;
+			return this;
+		}
+
+		/**
+		 * Sets the complete nutritional information
+		 * 
+		 * @param		serving the complete nutritional information
+		 * @return		this builder
+		 */
+		public Builder serving(Serving serving) {
+			this.serving = serving;
+			return this;
+		}
+
+		/**
+		 * Sets the list of the directions/steps involved in creating the recipe
+		 * 
+		 * @param		directions the list of the directions/steps involved in creating the recipe
+		 * @return		this builder
+		 */
+		public Builder directions(List<Direction> directions) {
+			this.directions = directions;
+			return this;
+		}
+
+		/**
+		 * Sets the list of the ingredients that make up the recipe
+		 * 
+		 * @param		ingredients the list of the ingredients that make up the recipe
+		 * @return		this builder
+		 */
+		public Builder ingredients(List<Ingredient> ingredients) {
+			this.ingredients = ingredients;
+			return this;
+		}
+
+		@Override
+		public Builder name(String name) {
+			super.name(name);
+			return this;
+		}
+
+		@Override
+		public Builder url(String url) {
+			super.url(url);
+			return this;
+		}
+
+		@Override
+		public Builder id(Long id) {
+			super.id(id);
+			return this;
+		}
+
+		@Override
+		public Builder description(String description) {
+			super.description(description);
+			return this;
+		}
+
+		@Override
+		public Builder images(List<String> images) {
+			super.images(images);
+			return this;
+		}
+
+		/**
+		 * Returns the recipe holding the values set on this builder
+		 *
+		 * @return		the recipe
+		 */
+		@Override
+		public Recipe build() {
+			return new Recipe(this);
+		}
+	}
+}
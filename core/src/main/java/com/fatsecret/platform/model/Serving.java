@@ -0,0 +1,729 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.model;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * This class represents nutrient values about the recipe item according to serving size.
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Serving {
+
+	/** The unique identifier of a food serving. E.G.: "100g" of "Spaghetti" */
+	private final Long servingId;
+
+	/** The full description of the serving size. E.G.: "1 cup" or "100 g" */
+	private final String servingDescription;
+
+	/** URL of the serving size for this food item on <a href="www.fatsecret.com">Fatsecret website</a> */
+	private final String servingUrl;
+
+	/** The metric quantity combined with metricServingUnit to derive the total standardized quantity of the serving (where available) */
+	private final BigDecimal metricServingAmount;
+
+	/** The metric unit of measure for the serving size, either "g" or "ml" or "oz", combined with metricServingAmount to derive the total standardized quantity of the serving (where available) */
+	private final String metricServingUnit;
+
+	/** The number of units in this standard serving size. For instance, if the serving description is "2 tablespoons" the number of units is "2", while if the serving size is "1 cup" the number of units is "1" */
+	private final BigDecimal numberOfUnits;
+
+	/** A description of the unit of measure used in the serving description. For instance, if the description is "1/2 cup" the measurement description is "cup", while if the serving size is "100 g" the measurement description is "g" */
+	private final String measurementDescription;
+
+	/** Total calories in kcal. Always returned with a precision of 0 decimal places */
+	private final BigDecimal calories;
+
+	/** Total carbohydrate in grams. Always returned with a precision of 2 decimal places */
+	private final BigDecimal carbohydrate;
+
+	/** Protein in grams. Always returned with a precision of 2 decimal places */
+	private final BigDecimal protein;
+
+	/** Total fat in grams. Always returned with a precision of 2 decimal places */
+	private final BigDecimal fat;
+
+	/** Saturated fat in grams. Always returned with a precision of 3 decimal places */
+	private final BigDecimal saturatedFat;
+
+	/** Polyunsaturated fat in grams. Always returned with a precision of 3 decimal places */
+	private final BigDecimal polyunsaturatedFat;
+
+	/** Monounsaturated fat in grams. Always returned with a precision of 3 decimal places */
+	private final BigDecimal monounsaturatedFat;
+
+	/** Trans fat in grams. Always returned with a precision of 3 decimal places */
+	private final BigDecimal transFat;
+
+	/** Cholesterol in milligrams. Always returned with a precision of 0 decimal places */
+	private final BigDecimal cholesterol;
+
+	/** Sodium in milligrams. Always returned with a precision of 0 decimal places */
+	private final BigDecimal sodium;
+
+	/** Potassium in milligrams. Always returned with a precision of 0 decimal places */
+	private final BigDecimal potassium;
+
+	/** Dietary fiber in grams. Always returned with a precision of 1 decimal place */
+	private final BigDecimal fiber;
+
+	/** Sugar in grams. Always returned with a precision of 2 decimal places */
+	private final BigDecimal sugar;
+
+	/** The percentage of daily recommended vitamin A, based on a 2000 calorie diet */
+	private final BigDecimal vitaminA;
+
+	/** The percentage of daily recommended vitamin C, based on a 2000 calorie diet */
+	private final BigDecimal vitaminC;
+
+	/** The percentage of daily recommended calcium, based on a 2000 calorie diet */
+	private final BigDecimal calcium;
+
+	/** The percentage of daily recommended iron, based on a 2000 calorie diet */
+	private final BigDecimal iron;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	protected Serving(Builder builder) {
+		this.servingId = builder.servingId;
+		this.servingDescription = builder.servingDescription;
+		this.servingUrl = builder.servingUrl;
+		this.metricServingAmount = builder.metricServingAmount;
+		this.metricServingUnit = builder.metricServingUnit;
+		this.numberOfUnits = builder.numberOfUnits;
+		this.measurementDescription = builder.measurementDescription;
+		this.calories = builder.calories;
+		this.carbohydrate = builder.carbohydrate;
+		this.protein = builder.protein;
+		this.fat = builder.fat;
+		this.saturatedFat = builder.saturatedFat;
+		this.polyunsaturatedFat = builder.polyunsaturatedFat;
+		this.monounsaturatedFat = builder.monounsaturatedFat;
+		this.transFat = builder.transFat;
+		this.cholesterol = builder.cholesterol;
+		this.sodium = builder.sodium;
+		this.potassium = builder.potassium;
+		this.fiber = builder.fiber;
+		this.sugar = builder.sugar;
+		this.vitaminA = builder.vitaminA;
+		this.vitaminC = builder.vitaminC;
+		this.calcium = builder.calcium;
+		this.iron = builder.iron;
+	}
+
+	/**
+	 * Returns a builder of a serving
+	 *
+	 * @return		a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the unique serving identifier
+	 * 
+	 * @return		the unique serving identifier
+	 */
+	public Long getServingId() {
+		return servingId;
+	}
+
+	/**
+	 * Returns the full description of the serving size
+	 * 
+	 * @return		the full description of the serving size
+	 */
+	public String getServingDescription() {
+		return servingDescription;
+	}
+
+	/**
+	 * Returns the URL of the serving size for this food item
+	 * 
+	 * @return		the URL of the serving size for this food item
+	 */
+	public String getServingUrl() {
+		return servingUrl;
+	}
+
+	/**
+	 * Returns the metric quantity of the serving
+	 * 
+	 * @return		the metric quantity of the serving
+	 */
+	public BigDecimal getMetricServingAmount() {
+		return metricServingAmount;
+	}
+
+	/**
+	 * Returns the metric unit of measure for the serving size
+	 * 
+	 * @return		the metric unit of measure for the serving size
+	 */
+	public String getMetricServingUnit() {
+		return metricServingUnit;
+	}
+
+	/**
+	 * Returns the number of units in this standard serving size
+	 * 
+	 * @return		the number of units in this standard serving size
+	 */
+	public BigDecimal getNumberOfUnits() {
+		return numberOfUnits;
+	}
+
+	/**
+	 * Returns the description of the unit of measure used in the serving description
+	 * 
+	 * @return		the description of the unit of measure used in the serving description
+	 */
+	public String getMeasurementDescription() {
+		return measurementDescription;
+	}
+
+	/**
+	 * Returns the total calories in kcal
+	 * 
+	 * @return		the total calories in kcal
+	 */
+	public BigDecimal getCalories() {
+		return calories;
+	}
+
+	/**
+	 * Returns the total carbohydrate content in grams
+	 * 
+	 * @return		the total carbohydrate content in grams
+	 */
+	public BigDecimal getCarbohydrate() {
+		return carbohydrate;
+	}
+
+	/**
+	 * Returns the protein content in grams
+	 * 
+	 * @return		the protein content in grams
+	 */
+	public BigDecimal getProtein() {
+		return protein;
+	}
+
+	/**
+	 * Returns the fat content in grams
+	 * 
+	 * @return		the fat content in grams
+	 */
+	public BigDecimal getFat() {
+		return fat;
+	}
+
+	/**
+	 * Returns the saturated fat content in grams
+	 * 
+	 * @return		the saturated fat content in grams
+	 */
+	public BigDecimal getSaturatedFat() {
+		return saturatedFat;
+	}
+
+	/**
+	 * Returns the polyunsaturated fat content in grams
+	 * 
+	 * @return		the polyunsaturated fat content in grams
+	 */
+	public BigDecimal getPolyunsaturatedFat() {
+		return polyunsaturatedFat;
+	}
+
+	/**
+	 * Returns the monounsaturated fat content in grams
+	 * 
+	 * @return		the monounsaturated fat content in grams
+	 */
+	public BigDecimal getMonounsaturatedFat() {
+		return monounsaturatedFat;
+	}
+
+	/**
+	 * Returns the trans fat content in grams
+	 * 
+	 * @return		the trans fat content in grams
+	 */
+	public BigDecimal getTransFat() {
+		return transFat;
+	}
+
+	/**
+	 * Returns the cholesterol content in milligrams
+	 * 
+	 * @return		the cholesterol content in milligrams
+	 */
+	public BigDecimal getCholesterol() {
+		return cholesterol;
+	}
+
+	/**
+	 * Returns the sodium content in milligrams
+	 * 
+	 * @return		the sodium content in milligrams
+	 */
+	public BigDecimal getSodium() {
+		return sodium;
+	}
+
+	/**
+	 * Returns the potassium content in milligrams
+	 * 
+	 * @return		the potassium content in milligrams
+	 */
+	public BigDecimal getPotassium() {
+		return potassium;
+	}
+
+	/**
+	 * Returns the fiber content in grams
+	 * 
+	 * @return		the fiber content in grams
+	 */
+	public BigDecimal getFiber() {
+		return fiber;
+	}
+
+	/**
+	 * Returns the sugar content in grams
+	 * 
+	 * @return		the sugar content in grams
+	 */
+	public BigDecimal getSugar() {
+		return sugar;
+	}
+
+	/**
+	 * Returns the percentage of daily recommended vitamin A
+	 * 
+	 * @return		the percentage of daily recommended vitamin A
+	 */
+	public BigDecimal getVitaminA() {
+		return vitaminA;
+	}
+
+	/**
+	 * Returns the percentage of daily recommended vitamin C
+	 * 
+	 * @return		the percentage of daily recommended vitamin C
+	 */
+	public BigDecimal getVitaminC() {
+		return vitaminC;
+	}
+
+	/**
+	 * Returns the percentage of daily recommended calcium
+	 * 
+	 * @return		the percentage of daily recommended calcium
+	 */
+	public BigDecimal getCalcium() {
+		return calcium;
+	}
+
+	/**
+	 * Returns the percentage of daily recommended iron
+	 * 
+	 * @return		the percentage of daily recommended iron
+	 */
+	public BigDecimal getIron() {
+		return iron;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) {
+			return true;
+		}
+		if(o == null || getClass() != o.getClass()) {
+			return false;
+		}
+		Serving other = (Serving) o;
+		return Objects.equals(servingId, other.servingId)
+				&& Objects.equals(servingDescription, other.servingDescription)
+				&& Objects.equals(servingUrl, other.servingUrl)
+				&& Objects.equals(metricServingAmount, other.metricServingAmount)
+				&& Objects.equals(metricServingUnit, other.metricServingUnit)
+				&& Objects.equals(numberOfUnits, other.numberOfUnits)
+				&& Objects.equals(measurementDescription, other.measurementDescription)
+				&& Objects.equals(calories, other.calories)
+				&& Objects.equals(carbohydrate, other.carbohydrate)
+				&& Objects.equals(protein, other.protein)
+				&& Objects.equals(fat, other.fat)
+				&& Objects.equals(saturatedFat, other.saturatedFat)
+				&& Objects.equals(polyunsaturatedFat, other.polyunsaturatedFat)
+				&& Objects.equals(monounsaturatedFat, other.monounsaturatedFat)
+				&& Objects.equals(transFat, other.transFat)
+				&& Objects.equals(cholesterol, other.cholesterol)
+				&& Objects.equals(sodium, other.sodium)
+				&& Objects.equals(potassium, other.potassium)
+				&& Objects.equals(fiber, other.fiber)
+				&& Objects.equals(sugar, other.sugar)
+				&& Objects.equals(vitaminA, other.vitaminA)
+				&& Objects.equals(vitaminC, other.vitaminC)
+				&& Objects.equals(calcium, other.calcium)
+				&& Objects.equals(iron, other.iron);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(servingId, servingDescription, servingUrl, metricServingAmount, metricServingUnit, numberOfUnits, measurementDescription, calories, carbohydrate, protein, fat, saturatedFat, polyunsaturatedFat, monounsaturatedFat, transFat, cholesterol, sodium, potassium, fiber, sugar, vitaminA, vitaminC, calcium, iron);
+	}
+
+	/**
+	 * This class builds {@link Serving} objects
+	 */
+	public static class Builder {
+
+		private Long servingId;
+
+		private String servingDescription;
+
+		private String servingUrl;
+
+		private BigDecimal metricServingAmount;
+
+		private String metricServingUnit;
+
+		private BigDecimal numberOfUnits;
+
+		private String measurementDescription;
+
+		private BigDecimal calories;
+
+		private BigDecimal carbohydrate;
+
+		private BigDecimal protein;
+
+		private BigDecimal fat;
+
+		private BigDecimal saturatedFat;
+
+		private BigDecimal polyunsaturatedFat;
+
+		private BigDecimal monounsaturatedFat;
+
+		private BigDecimal transFat;
+
+		private BigDecimal cholesterol;
+
+		private BigDecimal sodium;
+
+		private BigDecimal potassium;
+
+		private BigDecimal fiber;
+
+		private BigDecimal sugar;
+
+		private BigDecimal vitaminA;
+
+		private BigDecimal vitaminC;
+
+		private BigDecimal calcium;
+
+		private BigDecimal iron;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the unique serving identifier
+		 * 
+		 * @param		servingId the unique serving identifier
+		 * @return		this builder
+		 */
+		public Builder servingId(Long servingId) {
+			this.servingId = servingId;
+			return this;
+		}
+
+		/**
+		 * Sets the full description of the serving size
+		 * 
+		 * @param		servingDescription the full description of the serving size
+		 * @return		this builder
+		 */
+		public Builder servingDescription(String servingDescription) {
+			this.servingDescription = servingDescription;
+			return this;
+		}
+
+		/**
+		 * Sets the URL of the serving size for this food item
+		 * 
+		 * @param		servingUrl the URL of the serving size for this food item
+		 * @return		this builder
+		 */
+		public Builder servingUrl(String servingUrl) {
+			this.servingUrl = servingUrl;
+			return this;
+		}
+
+		/**
+		 * Sets the metric quantity of the serving
+		 * 
+		 * @param		metricServingAmount the metric quantity of the serving
+		 * @return		this builder
+		 */
+		public Builder metricServingAmount(BigDecimal metricServingAmount) {
+			this.metricServingAmount = metricServingAmount;
+			return this;
+		}
+
+		/**
+		 * Sets the metric unit of measure for the serving size
+		 * 
+		 * @param		metricServingUnit the metric unit of measure for the serving size
+		 * @return		this builder
+		 */
+		public Builder metricServingUnit(String metricServingUnit) {
+			this.metricServingUnit = metricServingUnit;
+			return this;
+		}
+
+		/**
+		 * Sets the number of units in this standard serving size
+		 * 
+		 * @param		numberOfUnits the number of units in this standard serving size
+		 * @return		this builder
+		 */
+		public Builder numberOfUnits(BigDecimal numberOfUnits) {
+			this.numberOfUnits = numberOfUnits;
+			return this;
+		}
+
+		/**
+		 * Sets the description of the unit of measure used in the serving description
+		 * 
+		 * @param		measurementDescription the description of the unit of measure used in the serving description
+		 * @return		this builder
+		 */
+		public Builder measurementDescription(String measurementDescription) {
+			this.measurementDescription = measurementDescription;
+			return this;
+		}
+
+		/**
+		 * Sets the total calories in kcal
+		 * 
+		 * @param		calories the total calories in kcal
+		 * @return		this builder
+		 */
+		public Builder calories(BigDecimal calories) {
+			this.calories = calories;
+			return this;
+		}
+
+		/**
+		 * Sets the total carbohydrate content in grams
+		 * 
+		 * @param		carbohydrate the total carbohydrate content in grams
+		 * @return		this builder
+		 */
+		public Builder carbohydrate(BigDecimal carbohydrate) {
+			this.carbohydrate = carbohydrate;
+			return this;
+		}
+
+		/**
+		 * Sets the protein content in grams
+		 * 
+		 * @param		protein the protein content in grams
+		 * @return		this builder
+		 */
+		public Builder protein(BigDecimal protein) {
+			this.protein = protein;
+			return this;
+		}
+
+		/**
+		 * Sets the fat content in grams
+		 * 
+		 * @param		fat the fat content in grams
+		 * @return		this builder
+		 */
+		public Builder fat(BigDecimal fat) {
+			this.fat = fat;
+			return this;
+		}
+
+		/**
+		 * Sets the saturated fat content in grams
+		 * 
+		 * @param		saturatedFat the saturated fat content in grams
+		 * @return		this builder
+		 */
+		public Builder saturatedFat(BigDecimal saturatedFat) {
+			this.saturatedFat = saturatedFat;
+			return this;
+		}
+
+		/**
+		 * Sets the polyunsaturated fat content in grams
+		 * 
+		 * @param		polyunsaturatedFat the polyunsaturated fat content in grams
+		 * @return		this builder
+		 */
+		public Builder polyunsaturatedFat(BigDecimal polyunsaturatedFat) {
+			this.polyunsaturatedFat = polyunsaturatedFat;
+			return this;
+		}
+
+		/**
+		 * Sets the monounsaturated fat content in grams
+		 * 
+		 * @param		monounsaturatedFat the monounsaturated fat content in grams
+		 * @return		this builder
+		 */
+		public Builder monounsaturatedFat(BigDecimal monounsaturatedFat) {
+			this.monounsaturatedFat = monounsaturatedFat;
+			return this;
+		}
+
+		/**
+		 * Sets the trans fat content in grams
+		 * 
+		 * @param		transFat the trans fat content in grams
+		 * @return		this builder
+		 */
+		public Builder transFat(BigDecimal transFat) {
+			this.transFat = transFat;
+			return this;
+		}
+
+		/**
+		 * Sets the cholesterol content in milligrams
+		 * 
+		 * @param		cholesterol the cholesterol content in milligrams
+		 * @return		this builder
+		 */
+		public Builder cholesterol(BigDecimal cholesterol) {
+			this.cholesterol = cholesterol;
+			return this;
+		}
+
+		/**
+		 * Sets the sodium content in milligrams
+		 * 
+		 * @param		sodium the sodium content in milligrams
+		 * @return		this builder
+		 */
+		public Builder sodium(BigDecimal sodium) {
+			this.sodium = sodium;
+			return this;
+		}
+
+		/**
+		 * Sets the potassium content in milligrams
+		 * 
+		 * @param		potassium the potassium content in milligrams
+		 * @return		this builder
+		 */
+		public Builder potassium(BigDecimal potassium) {
+			this.potassium = potassium;
+			return this;
+		}
+
+		/**
+		 * Sets the fiber content in grams
+		 * 
+		 * @param		fiber the fiber content in grams
+		 * @return		this builder
+		 */
+		public Builder fiber(BigDecimal fiber) {
+			this.fiber = fiber;
+			return this;
+		}
+
+		/**
+		 * Sets the sugar content in grams
+		 * 
+		 * @param		sugar the sugar content in grams
+		 * @return		this builder
+		 */
+		public Builder sugar(BigDecimal sugar) {
+			this.sugar = sugar;
+			return this;
+		}
+
+		/**
+		 * Sets the percentage of daily recommended vitamin A
+		 * 
+		 * @param		vitaminA the percentage of daily recommended vitamin A
+		 * @return		this builder
+		 */
+		public Builder vitaminA(BigDecimal vitaminA) {
+			this.vitaminA = vitaminA;
+			return this;
+		}
+
+		/**
+		 * Sets the percentage of daily recommended vitamin C
+		 * 
+		 * @param		vitaminC the percentage of daily recommended vitamin C
+		 * @return		this builder
+		 */
+		public Builder vitaminC(BigDecimal vitaminC) {
+			this.vitaminC = vitaminC;
+			return this;
+		}
+
+		/**
+		 * Sets the percentage of daily recommended calcium
+		 * 
+		 * @param		calcium the percentage of daily recommended calcium
+		 * @return		this builder
+		 */
+		public Builder calcium(BigDecimal calcium) {
+			this.calcium = calcium;
+			return this;
+		}
+
+		/**
+		 * Sets the percentage of daily recommended iron
+		 * 
+		 * @param		iron the percentage of daily recommended iron
+		 * @return		this builder
+		 */
+		public Builder iron(BigDecimal iron) {
+			this.iron = iron;
+			return this;
+		}
+
+		/**
+		 * Returns the serving holding the values set on this builder
+		 *
+		 * @return		the serving
+		 */
+		public Serving build() {
+			return new Serving(this);
+		}
+	}
+}
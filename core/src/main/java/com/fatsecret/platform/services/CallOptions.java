@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services;
+
+import java.util.concurrent.TimeUnit;
+
+import com.fatsecret.platform.services.resilience.Priority;
+
+/**
+ * This class holds the options of a single call made to fatsecret rest api
+ * <p>
+ * Options are immutable; the with methods return a copy with one option changed, for example
+ * {@code CallOptions.DEFAULT.withPriority(Priority.BATCH).withTimeout(2, TimeUnit.SECONDS)}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CallOptions {
+
+	/** Options of interactive calls, used when no options are given */
+	public static final CallOptions DEFAULT = new CallOptions(Priority.INTERACTIVE, 0);
+
+	/** Priority of the call */
+	private final Priority priority;
+
+	/** Time in nanoseconds the call may take in total, zero to use the deadline of the retry policy */
+	private final long timeoutNanos;
+
+	private CallOptions(Priority priority, long timeoutNanos) {
+		this.priority = priority;
+		this.timeoutNanos = timeoutNanos;
+	}
+
+	/**
+	 * Returns the priority of the call
+	 *
+	 * @return				the priority
+	 */
+	public Priority getPriority() {
+		return priority;
+	}
+
+	/**
+	 * Returns a copy of these options with the priority of the call
+	 *
+	 * @param priority		the priority
+	 * @return				the new options
+	 */
+	public CallOptions withPriority(Priority priority) {
+		if(priority == null) {
+			throw new IllegalArgumentException("priority must not be null");
+		}
+		return new CallOptions(priority, timeoutNanos);
+	}
+
+	/**
+	 * Returns the time in nanoseconds the call may take in total, including queueing, signing, every attempt and the
+	 * waits between attempts
+	 *
+	 * @return				the timeout in nanoseconds, zero if the deadline of the retry policy applies
+	 */
+	public long getTimeoutNanos() {
+		return timeoutNanos;
+	}
+
+	/**
+	 * Returns a copy of these options with the time the call may take in total
+	 * <p>
+	 * Once the time has elapsed, the call fails with a {@link DeadlineExceededException} naming the phase it was in.
+	 *
+	 * @param timeout		the timeout, zero to use the deadline of the retry policy
+	 * @param unit			the unit of the timeout
+	 * @return				the new options
+	 */
+	public CallOptions withTimeout(long timeout, TimeUnit unit) {
+		if(timeout < 0) {
+			throw new IllegalArgumentException("timeout must not be negative: " + timeout);
+		}
+		return new CallOptions(priority, unit.toNanos(timeout));
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services;
+
+/**
+ * This exception is thrown without sending the request while the circuit breaker of the api method is open
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CircuitOpenException extends FatsecretException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Constructor to set values for all the details of the failure
+	 *
+	 * @param method		the api method of the failed call
+	 * @param statusCode	the HTTP status code of the response, zero if no response was received
+	 * @param errorCode		the error code returned by fatsecret rest api, zero if none was returned
+	 * @param message		the detail message
+	 * @param cause			the cause of the failure
+	 */
+	public CircuitOpenException(String method, int statusCode, int errorCode, String message, Throwable cause) {
+		super(method, statusCode, errorCode, message, cause);
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services;
+
+import com.fatsecret.platform.services.metrics.Metrics;
+
+/**
+ * This exception is thrown when a call has used up its time before receiving a response
+ * <p>
+ * The phase tells where the time ran out, for example waiting in the queue, backing off between attempts or reading
+ * the body of the response. Since the caller has stopped waiting, the failure is not retried.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class DeadlineExceededException extends TransportException {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Phase of the call during which the deadline passed */
+	private final Metrics.Phase phase;
+
+	/**
+	 * Constructor to set values for the method, the phase and the cause of the failure
+	 *
+	 * @param method		the api method of the failed call
+	 * @param phase			the phase of the call during which the deadline passed
+	 * @param cause			the cause of the failure, for example a socket timeout
+	 */
+	public DeadlineExceededException(String method, Metrics.Phase phase, Throwable cause) {
+		super(method, 0, 0, "Deadline exceeded during " + phase, cause);
+		this.phase = phase;
+	}
+
+	/**
+	 * Returns the phase of the call during which the deadline passed
+	 *
+	 * @return				the phase
+	 */
+	public Metrics.Phase getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Returns whether the call may succeed if it is sent again
+	 *
+	 * @return				false, the call has no time left to be sent again
+	 */
+	@Override
+	public boolean isTransient() {
+		return false;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services;
+
+/**
+ * This exception is thrown when a call to fatsecret rest api fails
+ * <p>
+ * Subclasses tell apart the failures a caller usually handles differently, such as a missing item, a rejected
+ * signature, a throttled call or an unreachable server.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class FatsecretException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The api method of the failed call, for example "food.get" */
+	private final String method;
+
+	/** The HTTP status code of the response, zero if no response was received */
+	private final int statusCode;
+
+	/** The error code returned by fatsecret rest api, zero if none was returned */
+	private final int errorCode;
+
+	/**
+	 * Constructor to set values for api method and message
+	 *
+	 * @param method		the api method of the failed call
+	 * @param message		the detail message
+	 */
+	public FatsecretException(String method, String message) {
+		this(method, 0, 0, message, null);
+	}
+
+	/**
+	 * Constructor to set values for api method, message and cause
+	 *
+	 * @param method		the api method of the failed call
+	 * @param message		the detail message
+	 * @param cause			the cause of the failure
+	 */
+	public FatsecretException(String method, String message, Throwable cause) {
+		this(method, 0, 0, message, cause);
+	}
+
+	/**
+	 * Constructor to set values for all the details of the failure
+	 *
+	 * @param method		the api method of the failed call
+	 * @param statusCode	the HTTP status code of the response, zero if no response was received
+	 * @param errorCode		the error code returned by fatsecret rest api, zero if none was returned
+	 * @param message		the detail message
+	 * @param cause			the cause of the failure
+	 */
+	public FatsecretException(String method, int statusCode, int errorCode, String message, Throwable cause) {
+		super(message, cause);
+		this.method = method;
+		this.statusCode = statusCode;
+		this.errorCode = errorCode;
+	}
+
+	/**
+	 * Returns the exception matching the HTTP status code or the error code returned by fatsecret rest api
+	 * <p>
+	 * fatsecret rest api reports most errors with HTTP status 200 and an error object in the body, so the error code
+	 * is checked first. Error codes 2 to 9, 13, 14 and 21 concern the OAuth parameters, the consumer key or the caller's
+	 * address, error code 12 a caller exceeding its allowed rate of calls, and error code 106 an identifier which does
+	 * not exist.
+	 *
+	 * @param method		the api method of the failed call
+	 * @param statusCode	the HTTP status code of the response, zero if no response was received
+	 * @param errorCode		the error code returned by fatsecret rest api, zero if none was returned
+	 * @param message		the detail message
+	 * @return				the exception for the failure
+	 */
+	public static FatsecretException of(String method, int statusCode, int errorCode, String message) {
+		if((errorCode >= 2 && errorCode <= 9) || errorCode == 13 || errorCode == 14 || errorCode == 21
+				|| statusCode == 401 || statusCode == 403) {
+			return new AuthenticationException(method, statusCode, errorCode, message, null);
+		}
+		if(errorCode == 106 || statusCode == 404) {
+			return new NotFoundException(method, statusCode, errorCode, message, null);
+		}
+		if(errorCode == 12 || statusCode == 429) {
+			return new RateLimitedException(method, statusCode, errorCode, message, null);
+		}
+		if(statusCode >= 500) {
+			return new TransportException(method, statusCode, errorCode, message, null);
+		}
+		return new FatsecretException(method, statusCode, errorCode, message, null);
+	}
+
+	/**
+	 * Returns the api method of the failed call
+	 *
+	 * @return				the api method, for example "food.get"
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Returns the HTTP status code of the response
+	 *
+	 * @return				the HTTP status code, zero if no response was received
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Returns the error code returned by fatsecret rest api
+	 *
+	 * @return				the error code, zero if none was returned
+	 */
+	public int getErrorCode() {
+		return errorCode;
+	}
+
+	/**
+	 * Returns whether the call may succeed if it is sent again
+	 *
+	 * @return				false, only transport failures are transient
+	 */
+	public boolean isTransient() {
+		return false;
+	}
+}
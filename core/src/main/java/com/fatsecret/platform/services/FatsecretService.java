@@ -0,0 +1,521 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import org.json.JSONObject;
+
+import com.fatsecret.platform.model.CompactFood;
+import com.fatsecret.platform.model.CompactRecipe;
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.FoodField;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.services.api.ApiMethod;
+import com.fatsecret.platform.services.api.ApiRequest;
+import com.fatsecret.platform.services.cache.ResponseCache;
+import com.fatsecret.platform.services.jfr.FlightRecorderEvents;
+import com.fatsecret.platform.services.metrics.Metrics;
+import com.fatsecret.platform.services.reactive.SearchPublisher;
+import com.fatsecret.platform.services.resilience.AdaptiveLimiter;
+import com.fatsecret.platform.services.resilience.CircuitBreakerRegistry;
+import com.fatsecret.platform.services.resilience.HedgePolicy;
+import com.fatsecret.platform.services.resilience.PriorityScheduler;
+import com.fatsecret.platform.services.resilience.RetryPolicy;
+import com.fatsecret.platform.services.transport.Transport;
+
+/**
+ * This service class helps to get or search food or recipe items from fatsecret rest api
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class FatsecretService {
+	
+	/** Request Object */
+	private Request request;
+
+	/** Cache for food and recipe items, null if caching is disabled */
+	private ResponseCache cache;
+	
+	/**
+	 * Constructor to set values for APP_KEY and APP_SECRET
+	 *
+	 * @param APP_KEY		a value FatSecret API issues to you which helps this API identify you
+	 * @param APP_SECRET	a secret FatSecret API issues to you which helps this API establish that it really is you
+	 */
+	public FatsecretService(String APP_KEY, String APP_SECRET) {
+		request = new Request(APP_KEY, APP_SECRET);
+	}
+
+	/**
+	 * Constructor to set values for APP_KEY, APP_SECRET and the URL to make API calls
+	 *
+	 * @param APP_KEY		a value FatSecret API issues to you which helps this API identify you
+	 * @param APP_SECRET	a secret FatSecret API issues to you which helps this API establish that it really is you
+	 * @param APP_URL		the URL to make API calls, for example a local stub for load tests
+	 */
+	public FatsecretService(String APP_KEY, String APP_SECRET, String APP_URL) {
+		request = new Request(APP_KEY, APP_SECRET, APP_URL);
+	}
+
+	/**
+	 * Constructor to set values for APP_KEY, APP_SECRET, the URL to make API calls and the transport sending them
+	 * <p>
+	 * Server deployments making many calls at once may pass a {@link com.fatsecret.platform.services.transport.NioTransport}
+	 * to keep every call in flight on a few event loop threads.
+	 *
+	 * @param APP_KEY		a value FatSecret API issues to you which helps this API identify you
+	 * @param APP_SECRET	a secret FatSecret API issues to you which helps this API establish that it really is you
+	 * @param APP_URL		the URL to make API calls
+	 * @param transport		the transport sending the requests
+	 */
+	public FatsecretService(String APP_KEY, String APP_SECRET, String APP_URL, Transport transport) {
+		this(APP_KEY, APP_SECRET, APP_URL);
+		request.setTransport(transport);
+	}
+
+	/**
+	 * Returns the cache used for food and recipe items
+	 *
+	 * @return				the cache, or null if caching is disabled
+	 */
+	public ResponseCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * Sets the cache used for food and recipe items
+	 *
+	 * @param cache			the cache, or null to disable caching
+	 */
+	public void setCache(ResponseCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Returns the metrics recording latency, throughput, errors and cache hits of each api method
+	 * <p>
+	 * By default this is an {@link com.fatsecret.platform.services.metrics.InMemoryMetrics}.
+	 *
+	 * @return				the metrics
+	 */
+	public Metrics getMetrics() {
+		return request.getMetrics();
+	}
+
+	/**
+	 * Sets the metrics recording latency, throughput, errors and cache hits of each api method
+	 *
+	 * @param metrics		the metrics, {@link Metrics#NONE} to record nothing
+	 */
+	public void setMetrics(Metrics metrics) {
+		request.setMetrics(metrics);
+	}
+
+	/**
+	 * Sets the transport sending the requests to fatsecret rest api
+	 *
+	 * @param transport		the transport, for example an {@link com.fatsecret.platform.services.transport.HttpClientTransport} to multiplex calls over HTTP/2
+	 */
+	public void setTransport(Transport transport) {
+		request.setTransport(transport);
+	}
+
+	/**
+	 * Sets the policy deciding whether and when failed requests are retried
+	 *
+	 * @param retryPolicy	the retry policy, {@link RetryPolicy#noRetries()} to disable retries
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		request.setRetryPolicy(retryPolicy);
+	}
+
+	/**
+	 * Returns the circuit breakers for each api method, for example to add listeners for state transitions
+	 *
+	 * @return				the circuit breaker registry
+	 */
+	public CircuitBreakerRegistry getCircuitBreakers() {
+		return request.getCircuitBreakers();
+	}
+
+	/**
+	 * Sets the circuit breakers for each api method
+	 *
+	 * @param circuitBreakers	the circuit breaker registry
+	 */
+	public void setCircuitBreakers(CircuitBreakerRegistry circuitBreakers) {
+		request.setCircuitBreakers(circuitBreakers);
+	}
+
+	/**
+	 * Sets the scheduler sharing the concurrent calls between priorities
+	 * <p>
+	 * Calls pass their priority in {@link CallOptions}; calls made without options are interactive.
+	 *
+	 * @param scheduler		the scheduler, or null to not schedule calls
+	 */
+	public void setScheduler(PriorityScheduler scheduler) {
+		request.setScheduler(scheduler);
+	}
+
+	/**
+	 * Sets the limiter of the number of requests in flight, which adapts the limit to the observed round trip times
+	 * <p>
+	 * Requests over the limit wait, and the time they wait is recorded as {@link Metrics.Phase#QUEUE}.
+	 *
+	 * @param limiter		the limiter, or null to not limit the number of requests in flight
+	 */
+	public void setLimiter(AdaptiveLimiter limiter) {
+		request.setLimiter(limiter);
+	}
+
+	/**
+	 * Sets the policy deciding when {@link #getFood(Long)} sends a hedged request to cut tail latency
+	 * <p>
+	 * Hedged requests are paid for from the retry budget of the retry policy.
+	 *
+	 * @param hedgePolicy	the hedge policy, or null to disable hedging
+	 */
+	public void setHedgePolicy(HedgePolicy hedgePolicy) {
+		request.setHedgePolicy(hedgePolicy);
+	}
+	
+	/**
+	 * Returns the result of calling fatsecret api with the request
+	 *
+	 * @param <T>			the type of the result
+	 * @param request		the method and parameters to be called
+	 * @return				the response decoded by the method of the request
+	 * @throws FatsecretException if the call fails
+	 */
+	public <T> T call(ApiRequest<T> request) {
+		return call(request, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns the result of calling fatsecret api with the request
+	 * <p>
+	 * Unlike {@link #getFood(Long)} and {@link #getRecipe(Long)}, the result is neither looked up in nor added to the
+	 * cache.
+	 *
+	 * @param <T>			the type of the result
+	 * @param request		the method and parameters to be called
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				the response decoded by the method of the request
+	 * @throws FatsecretException if the call fails
+	 */
+	public <T> T call(ApiRequest<T> request, CallOptions options) {
+		JSONObject json = this.request.send(request, options);
+		ApiMethod<T> method = request.getMethod();
+
+		Object event = FlightRecorderEvents.begin(FlightRecorderEvents.MODEL_MAPPING);
+
+		try {
+			T result = method.decode(json);
+			FlightRecorderEvents.commit(event, method.getName(), request.getKey(), 0, FlightRecorderEvents.SUCCESS);
+			return result;
+		} catch (RuntimeException e) {
+			FlightRecorderEvents.commit(event, method.getName(), request.getKey(), 0, Request.errorType(e));
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns detailed nutritional information for the specified food
+	 * <p>
+	 * While the circuit breaker for food.get is open, a stale cached food is returned if there is one.
+	 *
+	 * @param foodId		the unique food identifier
+	 * @return				food based on the identifier
+	 * @throws FatsecretException if the call fails and no stale food can be returned
+	 */
+	public Food getFood(Long foodId) {
+		return getFood(foodId, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns detailed nutritional information for the specified food
+	 * <p>
+	 * While the circuit breaker for food.get is open, a stale cached food is returned if there is one.
+	 *
+	 * @param foodId		the unique food identifier
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				food based on the identifier
+	 * @throws FatsecretException if the call fails and no stale food can be returned
+	 */
+	public Food getFood(Long foodId, CallOptions options) {
+		return getFood(foodId, FoodField.ALL, options);
+	}
+
+	/**
+	 * Returns the requested fields of the specified food
+	 * <p>
+	 * Only the given fields are mapped into the food, which saves converting and allocating the others for callers
+	 * reading a few fields of each food; the response is still parsed whole into json. A food already in the cache is
+	 * returned whole. A partial food is not added to the cache, so the cache only ever holds whole foods.
+	 *
+	 * @param foodId		the unique food identifier
+	 * @param fields		the fields to be mapped, see {@link FoodField}
+	 * @return				food based on the identifier, with the fields not requested left null
+	 * @throws FatsecretException if the call fails and no stale food can be returned
+	 */
+	public Food getFood(Long foodId, Set<FoodField> fields) {
+		return getFood(foodId, fields, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns the requested fields of the specified food
+	 * <p>
+	 * Only the given fields are mapped into the food, which saves converting and allocating the others for callers
+	 * reading a few fields of each food; the response is still parsed whole into json. A food already in the cache is
+	 * returned whole. A partial food is not added to the cache, so the cache only ever holds whole foods.
+	 *
+	 * @param foodId		the unique food identifier
+	 * @param fields		the fields to be mapped, see {@link FoodField}
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				food based on the identifier, with the fields not requested left null
+	 * @throws FatsecretException if the call fails and no stale food can be returned
+	 */
+	public Food getFood(Long foodId, Set<FoodField> fields, CallOptions options) {
+		ResponseCache cache = this.cache;
+		if(cache != null) {
+			Food food = cache.getFood(foodId);
+			request.getMetrics().recordCacheLookup("food.get", food != null);
+			if(food != null) {
+				return food;
+			}
+		}
+
+		boolean whole = fields.containsAll(FoodField.ALL);
+		Food food;
+
+		try {
+			food = call(whole ? ApiRequest.getFood(foodId) : ApiRequest.getFood(foodId, fields), options);
+		} catch (CircuitOpenException e) {
+			Food stale = cache == null ? null : cache.getStaleFood(foodId);
+			if(stale == null) {
+				throw e;
+			}
+			return stale;
+		}
+
+		if(cache != null && whole) {
+			cache.putFood(foodId, food);
+		}
+		
+		return food;
+	}
+	
+	/**
+	 * Returns response associated with the food items at zeroth page depending on the search query
+	 * 
+	 * @param query			search terms for querying food items
+	 * @return				food items at zeroth page based on the query
+	 */
+	public Response<CompactFood> searchFoods(String query) {
+		return searchFoods(query, 0);
+	}
+
+	/**
+	 * Returns response associated with the food items depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @return				food items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public Response<CompactFood> searchFoods(String query, Integer pageNumber) {
+		return searchFoods(query, pageNumber, RequestBuilder.MAX_RESULTS);
+	}
+
+	/**
+	 * Returns response associated with the food items depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @return				food items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public Response<CompactFood> searchFoods(String query, Integer pageNumber, Integer pageSize) {
+		return searchFoods(query, pageNumber, pageSize, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns response associated with the food items depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				food items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public Response<CompactFood> searchFoods(String query, Integer pageNumber, Integer pageSize, CallOptions options) {
+		return call(ApiRequest.searchFoods(query, pageNumber, pageSize), options);
+	}	
+
+	/**
+	 * Returns detailed information for the specified recipe
+	 * <p>
+	 * While the circuit breaker for recipe.get is open, a stale cached recipe is returned if there is one.
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @return				detailed information for the specified recipe
+	 * @throws FatsecretException if the call fails and no stale recipe can be returned
+	 */
+	public Recipe getRecipe(Long recipeId) {
+		return getRecipe(recipeId, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns detailed information for the specified recipe
+	 * <p>
+	 * While the circuit breaker for recipe.get is open, a stale cached recipe is returned if there is one.
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				detailed information for the specified recipe
+	 * @throws FatsecretException if the call fails and no stale recipe can be returned
+	 */
+	public Recipe getRecipe(Long recipeId, CallOptions options) {
+		ResponseCache cache = this.cache;
+		if(cache != null) {
+			Recipe recipe = cache.getRecipe(recipeId);
+			request.getMetrics().recordCacheLookup("recipe.get", recipe != null);
+			if(recipe != null) {
+				return recipe;
+			}
+		}
+
+		Recipe recipe;
+
+		try {
+			recipe = call(ApiRequest.getRecipe(recipeId), options);
+		} catch (CircuitOpenException e) {
+			Recipe stale = cache == null ? null : cache.getStaleRecipe(recipeId);
+			if(stale == null) {
+				throw e;
+			}
+			return stale;
+		}
+
+		if(cache != null) {
+			cache.putRecipe(recipeId, recipe);
+		}
+		
+		return recipe;
+	}
+
+	/**
+	 * Returns a publisher of the food items matching the search query, fetching pages as subscribers request food items
+	 * <p>
+	 * Pages are fetched on a shared pool of daemon threads.
+	 *
+	 * @param query			search terms for querying food items
+	 * @return				publisher of the food items based on the query
+	 */
+	public Flow.Publisher<CompactFood> searchFoodsPublisher(String query) {
+		return new SearchPublisher<CompactFood>((pageNumber, pageSize) -> searchFoods(query, pageNumber, pageSize));
+	}
+
+	/**
+	 * Returns a publisher of the food items matching the search query, fetching pages as subscribers request food items
+	 *
+	 * @param query			search terms for querying food items
+	 * @param executor		executor on which pages are fetched and delivered, fetching blocks the thread
+	 * @return				publisher of the food items based on the query
+	 */
+	public Flow.Publisher<CompactFood> searchFoodsPublisher(String query, Executor executor) {
+		return new SearchPublisher<CompactFood>((pageNumber, pageSize) -> searchFoods(query, pageNumber, pageSize), executor);
+	}
+	
+	/**
+	 * Returns response associated with the recipes at zeroth page depending on the search query
+	 * 
+	 * @param query			search terms for querying recipes
+	 * @return				recipe items at zeroth page based on the query
+	 */
+	public Response<CompactRecipe> searchRecipes(String query) {
+		return searchRecipes(query, 0);
+	}
+
+	/**
+	 * Returns response associated with the recipes depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @return				recipe items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public Response<CompactRecipe> searchRecipes(String query, Integer pageNumber) {
+		return searchRecipes(query, pageNumber, RequestBuilder.MAX_RESULTS);
+	}
+
+	/**
+	 * Returns response associated with the recipes depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @return				recipe items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public Response<CompactRecipe> searchRecipes(String query, Integer pageNumber, Integer pageSize) {
+		return searchRecipes(query, pageNumber, pageSize, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns response associated with the recipes depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				recipe items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public Response<CompactRecipe> searchRecipes(String query, Integer pageNumber, Integer pageSize, CallOptions options) {
+		return call(ApiRequest.searchRecipes(query, pageNumber, pageSize), options);
+	}
+
+	/**
+	 * Returns a publisher of the recipes matching the search query, fetching pages as subscribers request recipes
+	 * <p>
+	 * Pages are fetched on a shared pool of daemon threads.
+	 *
+	 * @param query			search terms for querying recipes
+	 * @return				publisher of the recipes based on the query
+	 */
+	public Flow.Publisher<CompactRecipe> searchRecipesPublisher(String query) {
+		return new SearchPublisher<CompactRecipe>((pageNumber, pageSize) -> searchRecipes(query, pageNumber, pageSize));
+	}
+
+	/**
+	 * Returns a publisher of the recipes matching the search query, fetching pages as subscribers request recipes
+	 *
+	 * @param query			search terms for querying recipes
+	 * @param executor		executor on which pages are fetched and delivered, fetching blocks the thread
+	 * @return				publisher of the recipes based on the query
+	 */
+	public Flow.Publisher<CompactRecipe> searchRecipesPublisher(String query, Executor executor) {
+		return new SearchPublisher<CompactRecipe>((pageNumber, pageSize) -> searchRecipes(query, pageNumber, pageSize), executor);
+	}
+}
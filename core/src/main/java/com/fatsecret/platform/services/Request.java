@@ -0,0 +1,943 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+import java.util.zip.ZipException;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import com.fatsecret.platform.services.api.ApiMethod;
+import com.fatsecret.platform.services.api.ApiRequest;
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.jfr.FlightRecorderEvents;
+import com.fatsecret.platform.services.metrics.InMemoryMetrics;
+import com.fatsecret.platform.services.metrics.Metrics;
+import com.fatsecret.platform.services.resilience.AdaptiveLimiter;
+import com.fatsecret.platform.services.resilience.CircuitBreaker;
+import com.fatsecret.platform.services.resilience.CircuitBreakerRegistry;
+import com.fatsecret.platform.services.resilience.HedgePolicy;
+import com.fatsecret.platform.services.resilience.Priority;
+import com.fatsecret.platform.services.resilience.PriorityScheduler;
+import com.fatsecret.platform.services.resilience.RetryPolicy;
+import com.fatsecret.platform.services.transport.Exchange;
+import com.fatsecret.platform.services.transport.Transport;
+import com.fatsecret.platform.services.transport.URLConnectionTransport;
+import com.fatsecret.platform.utils.LogUtility;
+
+/**
+ * This class helps in sending requests to fatsecret rest api
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Request {
+	
+	/** Time in nanoseconds given to a call which has no deadline */
+	private static final long NO_DEADLINE = TimeUnit.DAYS.toNanos(365);
+
+	/** Request Builder */
+	private RequestBuilder builder;
+
+	/** Policy deciding whether and when failed requests are retried */
+	private RetryPolicy retryPolicy = new RetryPolicy();
+
+	/** Circuit breakers for each api method */
+	private CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry();
+
+	/** Policy deciding when food.get calls send a hedged request, null if hedging is disabled */
+	private HedgePolicy hedgePolicy;
+
+	/** Shares the concurrent calls between priorities, null if calls are not scheduled */
+	private PriorityScheduler scheduler;
+
+	/** Limits the number of requests in flight, null if the number is not limited */
+	private AdaptiveLimiter limiter;
+
+	/** Records latency, throughput and errors of each api method */
+	private Metrics metrics = new InMemoryMetrics();
+
+	/** Sends the requests to fatsecret rest api */
+	private Transport transport = new URLConnectionTransport();
+	
+	/**
+	 * Constructor to set values for APP_KEY and APP_SECRET
+	 *
+	 * @param APP_KEY 		a value FatSecret API issues to you which helps this API identify you
+	 * @param APP_SECRET	a secret FatSecret API issues to you which helps this API establish that it really is you
+	 */
+	public Request(String APP_KEY, String APP_SECRET) {
+		this(APP_KEY, APP_SECRET, RequestBuilder.DEFAULT_API_URL);
+	}
+
+	/**
+	 * Constructor to set values for APP_KEY, APP_SECRET and the URL to make API calls
+	 *
+	 * @param APP_KEY 		a value FatSecret API issues to you which helps this API identify you
+	 * @param APP_SECRET	a secret FatSecret API issues to you which helps this API establish that it really is you
+	 * @param APP_URL		the URL to make API calls
+	 */
+	public Request(String APP_KEY, String APP_SECRET, String APP_URL) {
+		builder = new RequestBuilder(APP_KEY, APP_SECRET, APP_URL);
+	}
+
+	/**
+	 * Returns the policy deciding whether and when failed requests are retried
+	 *
+	 * @return				the retry policy
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Sets the policy deciding whether and when failed requests are retried
+	 *
+	 * @param retryPolicy	the retry policy
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * Returns the circuit breakers for each api method
+	 *
+	 * @return				the circuit breaker registry
+	 */
+	public CircuitBreakerRegistry getCircuitBreakers() {
+		return circuitBreakers;
+	}
+
+	/**
+	 * Sets the circuit breakers for each api method
+	 *
+	 * @param circuitBreakers	the circuit breaker registry
+	 */
+	public void setCircuitBreakers(CircuitBreakerRegistry circuitBreakers) {
+		this.circuitBreakers = circuitBreakers;
+	}
+
+	/**
+	 * Returns the policy deciding when food.get calls send a hedged request
+	 *
+	 * @return				the hedge policy, or null if hedging is disabled
+	 */
+	public HedgePolicy getHedgePolicy() {
+		return hedgePolicy;
+	}
+
+	/**
+	 * Sets the policy deciding when food.get calls send a hedged request
+	 *
+	 * @param hedgePolicy	the hedge policy, or null to disable hedging
+	 */
+	public void setHedgePolicy(HedgePolicy hedgePolicy) {
+		this.hedgePolicy = hedgePolicy;
+	}
+
+	/**
+	 * Returns the scheduler sharing the concurrent calls between priorities
+	 *
+	 * @return				the scheduler, or null if calls are not scheduled
+	 */
+	public PriorityScheduler getScheduler() {
+		return scheduler;
+	}
+
+	/**
+	 * Sets the scheduler sharing the concurrent calls between priorities
+	 *
+	 * @param scheduler		the scheduler, or null to not schedule calls
+	 */
+	public void setScheduler(PriorityScheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Returns the limiter of the number of requests in flight
+	 *
+	 * @return				the limiter, or null if the number is not limited
+	 */
+	public AdaptiveLimiter getLimiter() {
+		return limiter;
+	}
+
+	/**
+	 * Sets the limiter of the number of requests in flight
+	 *
+	 * @param limiter		the limiter, or null to not limit the number
+	 */
+	public void setLimiter(AdaptiveLimiter limiter) {
+		this.limiter = limiter;
+	}
+
+	/**
+	 * Returns the metrics recording latency, throughput and errors of each api method
+	 *
+	 * @return				the metrics
+	 */
+	public Metrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Sets the metrics recording latency, throughput and errors of each api method
+	 *
+	 * @param metrics		the metrics, {@link Metrics#NONE} to record nothing
+	 */
+	public void setMetrics(Metrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Returns the transport sending the requests to fatsecret rest api
+	 *
+	 * @return				the transport
+	 */
+	public Transport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Sets the transport sending the requests to fatsecret rest api, for example an {@link com.fatsecret.platform.services.transport.HttpClientTransport}
+	 *
+	 * @param transport		the transport
+	 */
+	public void setTransport(Transport transport) {
+		this.transport = transport;
+	}
+
+	/**
+	 * Returns whether calls to the api method are currently rejected without being sent
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @return				true if the circuit breaker of the method is open
+	 */
+	public boolean isCircuitOpen(String method) {
+		return circuitBreakers.circuitBreaker(builder.getApiUrl(), method).getState() == CircuitBreaker.State.OPEN;
+	}
+	
+	/**
+	 * Returns the json object associated with the food items depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @return				food items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject searchFoods(String query, int pageNumber) {
+		return searchFoods(query, pageNumber, RequestBuilder.MAX_RESULTS);
+	}
+
+	/**
+	 * Returns the json object associated with the food items depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @return				food items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject searchFoods(String query, int pageNumber, int pageSize) {
+		return searchFoods(query, pageNumber, pageSize, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns the json object associated with the food items depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				food items at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject searchFoods(String query, int pageNumber, int pageSize, CallOptions options) {
+		return send(ApiRequest.searchFoods(query, pageNumber, pageSize), options);
+	}
+
+	/**
+	 * Returns the json object associated with the food id with nutritional information
+	 *
+	 * @param id			the unique food identifier
+	 * @return				food based on the identifier
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject getFood(Long id) {
+		return getFood(id, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns the json object associated with the food id with nutritional information
+	 *
+	 * @param id			the unique food identifier
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				food based on the identifier
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject getFood(Long id, CallOptions options) {
+		return send(ApiRequest.getFood(id), options);
+	}
+
+	/**
+	 * Returns the json object associated with the recipes depending on the search query
+	 *
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @return				recipes at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject searchRecipes(String query, int pageNumber) {
+		return searchRecipes(query, pageNumber, RequestBuilder.MAX_RESULTS);
+	}
+
+	/**
+	 * Returns the json object associated with the recipes depending on the search query
+	 *
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @return				recipes at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject searchRecipes(String query, int pageNumber, int pageSize) {
+		return searchRecipes(query, pageNumber, pageSize, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns the json object associated with the recipes depending on the search query and page number
+	 * 
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				recipes at a particular page number based on the query
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject searchRecipes(String query, int pageNumber, int pageSize, CallOptions options) {
+		return send(ApiRequest.searchRecipes(query, pageNumber, pageSize), options);
+	}
+
+	/**
+	 * Returns the json object associated with general information about the recipe item with detailed nutritional information for the standard serving
+	 *
+	 * @param id			the unique recipe identifier
+	 * @return				recipe based on the identifier
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject getRecipe(Long id) {
+		return getRecipe(id, CallOptions.DEFAULT);
+	}
+
+	/**
+	 * Returns the json object associated with general information about the recipe item with detailed nutritional information for the standard serving
+	 *
+	 * @param id			the unique recipe identifier
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				recipe based on the identifier
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject getRecipe(Long id, CallOptions options) {
+		return send(ApiRequest.getRecipe(id), options);
+	}
+
+	/**
+	 * Returns the json object associated with the response of fatsecret api to the request
+	 * <p>
+	 * Every method of fatsecret rest api goes through here, so scheduling, retries, circuit breaking and metrics apply
+	 * alike to the methods above and to any other {@link ApiMethod}. Calls to food.get are hedged when a hedge policy
+	 * is set.
+	 *
+	 * @param request		the method and parameters to be called
+	 * @param options		options of the call, such as its priority and timeout
+	 * @return				json object containing the response, not yet checked for an error object
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject send(ApiRequest<?> request, CallOptions options) {
+		String method = request.getMethod().getName();
+		String key = request.getKey();
+		ApiUrl apiUrl = () -> builder.buildUrl(request);
+		HedgePolicy hedgePolicy = ApiMethod.FOOD_GET.getName().equals(method) ? this.hedgePolicy : null;
+
+		return schedule(method, options, deadline -> {
+			if(hedgePolicy != null) {
+				return executeHedged(method, key, apiUrl, hedgePolicy, deadline);
+			}
+			return execute(method, apiUrl, new Exchange(method, key, deadline, metrics));
+		});
+	}
+	
+	/**
+	 * Runs the call once the priority scheduler gives it a slot
+	 * <p>
+	 * The deadline of the call is fixed here, before the call waits for anything, and is handed down to every phase
+	 * which follows so that queueing, signing, each attempt and the waits between attempts share a single budget.
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param options		options of the call, such as its priority and timeout
+	 * @param call			sends the call before the given deadline, retrying or hedging it as configured
+	 * @return				json object containing search results
+	 * @throws RejectedException if the bulkhead of the priority has no room for the call
+	 * @throws DeadlineExceededException if the deadline passed while waiting for a slot
+	 */
+	private JSONObject schedule(String method, CallOptions options, LongFunction<JSONObject> call) {
+		PriorityScheduler scheduler = this.scheduler;
+		Priority priority = options.getPriority();
+		long start = System.nanoTime();
+		long deadline = deadline(start, options.getTimeoutNanos());
+
+		retryPolicy.onCall();
+
+		if(scheduler == null) {
+			return call.apply(deadline);
+		}
+
+		boolean acquired;
+
+		try {
+			acquired = scheduler.acquire(priority, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransportException(method, 0, 0, "Interrupted while waiting for the " + priority + " bulkhead", e);
+		}
+
+		metrics.recordPhase(method, Metrics.Phase.QUEUE, System.nanoTime() - start);
+
+		if(!acquired) {
+			if(System.nanoTime() - deadline >= 0) {
+				throw expired(method, Metrics.Phase.QUEUE, null);
+			}
+			metrics.recordError(method, "RejectedException");
+			throw new RejectedException(method, 0, 0, "No room in the " + priority + " bulkhead", null);
+		}
+
+		try {
+			return call.apply(deadline);
+		} finally {
+			scheduler.release(priority);
+		}
+	}
+	
+	/**
+	 * Returns json object associated with the response from fatsecret api, retrying failed attempts according to the retry policy
+	 * <p>
+	 * Every attempt builds the url again, so that each retry is signed with a fresh timestamp and nonce. Attempts are
+	 * not sent while the circuit breaker of the method is open, and no attempt is made once the deadline of the
+	 * exchange has passed.
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param apiUrl		builds the signed rest url for each attempt
+	 * @param exchange		tracks the connection and deadline of the current attempt so that the call can be cancelled
+	 * @return				json object containing search results
+	 * @throws FatsecretException of the last attempt if every attempt failed or the call was cancelled
+	 * @throws DeadlineExceededException if the deadline of the exchange passed before a response was received
+	 */
+	private JSONObject execute(String method, ApiUrl apiUrl, Exchange exchange) {
+		RetryPolicy policy = retryPolicy;
+		CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(builder.getApiUrl(), method);
+		boolean idempotent = policy.isIdempotent(builder.getHttpMethod());
+		long delay = 0;
+
+		for(int attempt = 1; ; attempt++) {
+			if(exchange.isCancelled()) {
+				throw new TransportException(method, 0, 0, "Request cancelled", null);
+			}
+
+			if(System.nanoTime() - exchange.getDeadline() >= 0) {
+				throw expired(method, attempt == 1 ? Metrics.Phase.QUEUE : Metrics.Phase.BACKOFF, null);
+			}
+
+			String url;
+			long signStart = System.nanoTime();
+			Object signEvent = FlightRecorderEvents.begin(FlightRecorderEvents.URL_SIGN);
+			try {
+				url = apiUrl.build();
+				FlightRecorderEvents.commit(signEvent, method, exchange.getKey(), 0, FlightRecorderEvents.SUCCESS);
+			} catch (Exception e) {
+				FlightRecorderEvents.commit(signEvent, method, exchange.getKey(), 0, errorType(e));
+				throw e instanceof FatsecretException ? (FatsecretException) e : new FatsecretException(method, "Unable to build the request url", e);
+			}
+
+			long signed = System.nanoTime();
+			metrics.recordPhase(method, Metrics.Phase.SIGN, signed - signStart);
+
+			if(signed - exchange.getDeadline() >= 0) {
+				throw expired(method, Metrics.Phase.SIGN, null);
+			}
+
+			AdaptiveLimiter limiter = this.limiter;
+			acquire(limiter, method, exchange.getDeadline());
+
+			if(!circuitBreaker.tryAcquirePermission()) {
+				release(limiter, 0, false);
+				metrics.recordError(method, "CircuitBreakerOpen");
+				throw new CircuitOpenException(method, 0, 0, "Circuit breaker " + circuitBreaker.getName() + " is open", null);
+			}
+
+			long start = System.nanoTime();
+			FatsecretException failure = null;
+			boolean unexpected = false;
+			try {
+				JSONObject json = fetch(url, exchange);
+				circuitBreaker.onSuccess(System.nanoTime() - start);
+				return json;
+			} catch (FatsecretException e) {
+				failure = e;
+			} catch (IOException e) {
+				failure = new TransportException(method, 0, 0, e.getMessage(), e);
+			} catch (RuntimeException e) {
+				failure = new FatsecretException(method, "Unexpected failure: " + e, e);
+				unexpected = true;
+			} finally {
+				release(limiter, System.nanoTime() - start, isDropped(failure) && !exchange.isCancelled());
+			}
+
+			// a cancelled call says nothing about the server, its permit is given back without an outcome
+			if(exchange.isCancelled()) {
+				circuitBreaker.releasePermission();
+				throw failure;
+			}
+
+			if(isDropped(failure) || unexpected) {
+				circuitBreaker.onFailure(System.nanoTime() - start);
+			} else {
+				circuitBreaker.onSuccess(System.nanoTime() - start);
+			}
+
+			metrics.recordError(method, errorType(failure));
+
+			long remaining = TimeUnit.NANOSECONDS.toMillis(exchange.getDeadline() - System.nanoTime());
+			delay = idempotent && isRetryable(policy, failure) ? policy.nextDelay(attempt, delay, remaining) : -1;
+
+			if(delay < 0) {
+				throw failure;
+			}
+
+			LogUtility.debug("Retrying {} in {} ms", method, delay);
+			long backoffStart = System.nanoTime();
+
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new TransportException(method, 0, 0, "Interrupted while waiting to retry", e);
+			}
+
+			metrics.recordPhase(method, Metrics.Phase.BACKOFF, System.nanoTime() - backoffStart);
+		}
+	}
+
+	/**
+	 * Returns json object associated with the response from fatsecret api, sending a hedged request if the first one
+	 * has not answered within the hedge delay
+	 * <p>
+	 * The first request runs on the calling thread and only the hedged request is handed to the executor of the policy,
+	 * so a saturated executor cannot hold back first requests past the hedge delay. A hedged request the executor
+	 * rejects is not sent. The first successful response wins and the slower request is cancelled by closing its
+	 * connection.
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param key			the identifier of the item or the hash of the search query
+	 * @param apiUrl		builds the signed rest url for each attempt
+	 * @param hedgePolicy	policy deciding when the hedged request is sent
+	 * @param deadline		time in nanoseconds, as given by {@link System#nanoTime()}, by which both requests give up
+	 * @return				json object containing search results
+	 * @throws FatsecretException of the first request if both requests failed
+	 */
+	private JSONObject executeHedged(String method, String key, ApiUrl apiUrl, HedgePolicy hedgePolicy, long deadline) {
+		Exchange first = new Exchange(method, key, deadline, metrics);
+		Hedge hedge = new Hedge(method, apiUrl, first, new Exchange(method, key, deadline, metrics), hedgePolicy);
+		ScheduledFuture<?> timer = Watchdog.TIMER.schedule(hedge, hedgePolicy.getDelayMillis(), TimeUnit.MILLISECONDS);
+		long start = System.nanoTime();
+
+		try {
+			JSONObject json = execute(method, apiUrl, first);
+			hedgePolicy.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			return json;
+		} catch (FatsecretException e) {
+			timer.cancel(false);
+			return hedge.await(e);
+		} finally {
+			timer.cancel(false);
+			hedge.cancel();
+			first.cancel();
+		}
+	}
+
+	/**
+	 * Returns whether the failure is transient, that is a server error or a failure to reach the server
+	 */
+	private boolean isRetryable(RetryPolicy policy, FatsecretException e) {
+		return e.isTransient() && (e.getStatusCode() == 0 || policy.isRetryableStatus(e.getStatusCode()));
+	}
+
+	/**
+	 * Returns whether the failure is the server failing to answer, which the limiter counts as a dropped request and
+	 * the circuit breaker as a failure; a passed deadline is the budget of the caller running out, not a fault of the
+	 * server, so the call counts as having completed after the time it took
+	 */
+	private static boolean isDropped(FatsecretException e) {
+		return e instanceof TransportException && !(e instanceof DeadlineExceededException);
+	}
+
+	/**
+	 * Returns the type under which the failure is counted in the metrics
+	 */
+	static String errorType(Exception e) {
+		if(e instanceof DeadlineExceededException) {
+			return "DeadlineExceeded " + ((DeadlineExceededException) e).getPhase();
+		}
+		if(e instanceof FatsecretException) {
+			FatsecretException failure = (FatsecretException) e;
+			if(failure.getStatusCode() >= 500) {
+				return "HTTP " + failure.getStatusCode() / 100 + "xx";
+			}
+			if(failure instanceof TransportException && failure.getCause() != null) {
+				return failure.getCause().getClass().getSimpleName();
+			}
+		}
+		return e.getClass().getSimpleName();
+	}
+
+	/**
+	 * Returns the deadline of a call starting at the given time, from its own timeout or else from the deadline of the
+	 * retry policy; a policy without deadline, such as {@link RetryPolicy#noRetries()}, leaves the call unbounded
+	 *
+	 * @param start			time in nanoseconds at which the call starts
+	 * @param timeoutNanos	the timeout of the call in nanoseconds, zero if none was given
+	 * @return				the deadline in nanoseconds, as given by {@link System#nanoTime()}
+	 */
+	private long deadline(long start, long timeoutNanos) {
+		if(timeoutNanos <= 0) {
+			timeoutNanos = TimeUnit.MILLISECONDS.toNanos(retryPolicy.getDeadlineMillis());
+		}
+		return start + (timeoutNanos > 0 ? Math.min(timeoutNanos, NO_DEADLINE) : NO_DEADLINE);
+	}
+
+	/**
+	 * Records and returns the failure of a call whose deadline passed during the phase
+	 */
+	private DeadlineExceededException expired(String method, Metrics.Phase phase, Throwable cause) {
+		DeadlineExceededException e = new DeadlineExceededException(method, phase, cause);
+		metrics.recordError(method, errorType(e));
+		return e;
+	}
+
+	/**
+	 * Returns json object associated with the response from fatsecret api for given url
+	 *
+	 * @param apiUrl		the rest url which will be sent to fatsecret platform server
+	 * @return				json object containing search results for given url
+	 * @throws FatsecretException if the call fails
+	 */
+	public JSONObject getJSONResponse(String apiUrl) {
+		AdaptiveLimiter limiter = this.limiter;
+		long deadline = deadline(System.nanoTime(), 0);
+		acquire(limiter, "unknown", deadline);
+
+		long start = System.nanoTime();
+		boolean dropped = false;
+		
+		try {
+			return fetch(apiUrl, new Exchange("unknown", null, deadline, metrics));
+		} catch(IOException e) {
+			dropped = true;
+			throw new TransportException("unknown", 0, 0, e.getMessage(), e);
+		} catch(TransportException e) {
+			dropped = isDropped(e);
+			throw e;
+		} finally {
+			release(limiter, System.nanoTime() - start, dropped);
+		}
+	}
+
+	/**
+	 * Waits for the limiter to let a request through and records the queueing delay
+	 *
+	 * @param limiter		the limiter, or null if the number of requests in flight is not limited
+	 * @param method		the api method, for example "food.get"
+	 * @param deadline		time in nanoseconds, as given by {@link System#nanoTime()}, after which the call gives up
+	 * @throws DeadlineExceededException if the deadline passed before the request could be sent
+	 * @throws TransportException if the thread was interrupted before the request could be sent
+	 */
+	private void acquire(AdaptiveLimiter limiter, String method, long deadline) {
+		if(limiter == null) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		boolean acquired;
+
+		try {
+			acquired = limiter.acquire(deadline - start, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TransportException(method, 0, 0, "Interrupted while waiting under the concurrency limit", e);
+		}
+
+		metrics.recordPhase(method, Metrics.Phase.QUEUE, System.nanoTime() - start);
+
+		if(!acquired) {
+			throw expired(method, Metrics.Phase.QUEUE, null);
+		}
+	}
+
+	/**
+	 * Gives back the permit of the limiter and records the new limit
+	 *
+	 * @param limiter		the limiter, or null if the number of requests in flight is not limited
+	 * @param rttNanos		round trip time of the request in nanoseconds, zero if it was not sent
+	 * @param dropped		true if the request failed to reach the server
+	 */
+	private void release(AdaptiveLimiter limiter, long rttNanos, boolean dropped) {
+		if(limiter == null) {
+			return;
+		}
+
+		limiter.release(rttNanos, dropped);
+		metrics.recordConcurrencyLimit(limiter.getLimit(), limiter.getInFlight());
+	}
+
+	/**
+	 * Sends a single request to fatsecret api for given url and parses its response
+	 * <p>
+	 * The transport reads the body into a pooled byte array, which the parser decodes as UTF-8, or the charset named by
+	 * the response, through a reader over the array rather than from a copy of the body as a string. The buffers go
+	 * back to the pool once the body has been parsed.
+	 * <p>
+	 * The transport bounds its own waits by the time left before the deadline of the exchange. Since a read timeout
+	 * only bounds a single read, a watchdog also aborts the request once the deadline passes, so that a server
+	 * trickling the body cannot hold the request beyond it.
+	 *
+	 * @param apiUrl		the rest url which will be sent to fatsecret platform server
+	 * @param exchange		tracks the deadline and phases of the call so that the request can be cancelled
+	 * @return				json object containing search results for given url
+	 * @throws IOException	if the server cannot be reached
+	 * @throws DeadlineExceededException if the deadline of the exchange passed before the response was parsed
+	 * @throws FatsecretException if the server responds with an error status or an error object, or the response cannot be parsed
+	 */
+	private JSONObject fetch(String apiUrl, Exchange exchange) throws IOException {
+		long remaining = exchange.getRemainingNanos();
+
+		if(remaining <= 0) {
+			throw new DeadlineExceededException(exchange.getMethod(), Metrics.Phase.CONNECT, null);
+		}
+
+		ScheduledFuture<?> watchdog = Watchdog.TIMER.schedule(exchange::expire, remaining, TimeUnit.NANOSECONDS);
+		Object exchangeEvent = FlightRecorderEvents.begin(FlightRecorderEvents.HTTP_EXCHANGE);
+		ResponseBody content;
+
+		exchange.begin();
+
+		try {
+			content = transport.send(apiUrl, exchange);
+		} catch(ZipException e) {
+			FlightRecorderEvents.commit(exchangeEvent, exchange.getMethod(), exchange.getKey(), exchange.getWireBytes(), errorType(e));
+			throw new ResponseParseException(exchange.getMethod(), 0, 0, "Invalid compressed response: " + e.getMessage(), e);
+		} catch(IOException | FatsecretException e) {
+			if(e instanceof IOException && (exchange.isExpired() || e instanceof SocketTimeoutException)) {
+				DeadlineExceededException expired = new DeadlineExceededException(exchange.getMethod(), exchange.getPhase(), e);
+				FlightRecorderEvents.commit(exchangeEvent, exchange.getMethod(), exchange.getKey(), exchange.getWireBytes(), errorType(expired));
+				throw expired;
+			}
+			FlightRecorderEvents.commit(exchangeEvent, exchange.getMethod(), exchange.getKey(), exchange.getWireBytes(), errorType(e));
+			throw e;
+		} finally {
+			watchdog.cancel(false);
+		}
+
+		FlightRecorderEvents.commit(exchangeEvent, exchange.getMethod(), exchange.getKey(), exchange.getWireBytes(), FlightRecorderEvents.SUCCESS);
+
+		exchange.enter(Metrics.Phase.PARSE);
+		Object parseEvent = FlightRecorderEvents.begin(FlightRecorderEvents.JSON_PARSE);
+		JSONObject json;
+
+		try {
+			json = new JSONObject(new JSONTokener(content.reader()));
+		} catch(RuntimeException e) {
+			FlightRecorderEvents.commit(parseEvent, exchange.getMethod(), exchange.getKey(), exchange.getWireBytes(), errorType(e));
+			throw new ResponseParseException(exchange.getMethod(), 0, 0, "Invalid response: " + e.getMessage(), e);
+		} finally {
+			content.release();
+		}
+
+		exchange.complete();
+		FlightRecorderEvents.commit(parseEvent, exchange.getMethod(), exchange.getKey(), exchange.getWireBytes(), FlightRecorderEvents.SUCCESS);
+
+		if(exchange.getRemainingNanos() <= 0) {
+			throw new DeadlineExceededException(exchange.getMethod(), Metrics.Phase.PARSE, null);
+		}
+
+		JSONObject error = json.optJSONObject("error");
+		if(error != null) {
+			throw FatsecretException.of(exchange.getMethod(), 0, error.optInt("code"), error.optString("message"));
+		}
+
+		return json;
+	}
+
+	/**
+	 * Builds the signed rest url for an attempt
+	 */
+	private interface ApiUrl {
+		String build() throws Exception;
+	}
+
+	/**
+	 * This class sends the hedged request of a call once the hedge delay passed, unless the call has finished by then
+	 */
+	private final class Hedge implements Runnable {
+
+		private final String method;
+
+		private final ApiUrl apiUrl;
+
+		/** The exchange of the first request, cancelled when the hedged request wins */
+		private final Exchange primary;
+
+		/** The exchange of the hedged request */
+		private final Exchange exchange;
+
+		private final HedgePolicy policy;
+
+		/** The hedged request, null until it is handed to the executor */
+		private Future<JSONObject> future;
+
+		/** Whether the call finished, after which no hedged request is sent */
+		private boolean finished;
+
+		/** Time in nanoseconds at which the hedged request was sent */
+		private long start;
+
+		Hedge(String method, ApiUrl apiUrl, Exchange primary, Exchange exchange, HedgePolicy policy) {
+			this.method = method;
+			this.apiUrl = apiUrl;
+			this.primary = primary;
+			this.exchange = exchange;
+			this.policy = policy;
+		}
+
+		/**
+		 * Hands the hedged request to the executor of the policy, skipping it if the executor is saturated
+		 */
+		@Override
+		public synchronized void run() {
+			if(finished) {
+				return;
+			}
+
+			try {
+				future = policy.getExecutor().submit(this::send);
+			} catch (RejectedExecutionException e) {
+				LogUtility.debug("Not hedging {}, the hedge executor is saturated", method);
+			}
+		}
+
+		/**
+		 * Sends the hedged request if the budget allows it, returning null otherwise
+		 */
+		private JSONObject send() {
+			if(exchange.isCancelled() || !policy.tryHedge(retryPolicy.getBudget())) {
+				return null;
+			}
+
+			start = System.nanoTime();
+			JSONObject json = execute(method, apiUrl, exchange);
+			primary.cancel();
+			return json;
+		}
+
+		/**
+		 * Returns the response of the hedged request once the first request failed or was cancelled by it
+		 *
+		 * @param failure		the failure of the first request
+		 * @return				json object containing the response of the hedged request
+		 * @throws FatsecretException the failure of the first request if no hedged request was sent or it failed too
+		 */
+		JSONObject await(FatsecretException failure) {
+			Future<JSONObject> future;
+			synchronized(this) {
+				finished = true;
+				future = this.future;
+			}
+
+			if(future == null) {
+				throw failure;
+			}
+
+			try {
+				JSONObject json = future.get();
+				if(json == null) {
+					throw failure;
+				}
+				// the latency of the hedged request alone, the hedge delay is not part of what the server took
+				policy.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				return json;
+			} catch (ExecutionException | CancellationException e) {
+				throw failure;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new TransportException(method, 0, 0, "Interrupted while waiting for the response", e);
+			}
+		}
+
+		/**
+		 * Cancels the hedged request, or prevents it from being sent if the hedge delay has not passed yet
+		 */
+		void cancel() {
+			Future<JSONObject> future;
+			synchronized(this) {
+				finished = true;
+				future = this.future;
+			}
+
+			exchange.cancel();
+			if(future != null) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Holds the shared timer closing the connections of requests whose deadline has passed, created on first use
+	 */
+	private static class Watchdog {
+
+		static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "fatsecret-deadline");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		static {
+			TIMER.setRemoveOnCancelPolicy(true);
+		}
+	}
+}
@@ -20,12 +20,15 @@ import java.net.URLEncoder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
+import com.fatsecret.platform.services.api.ApiRequest;
+
 /**
  * This class helps in building requests for sending them to the fatsecret rest api
  *
@@ -33,18 +36,25 @@ import javax.crypto.spec.SecretKeySpec;
  * @version 2.0
  */
 public class RequestBuilder {
+	/** The largest number of results fatsecret rest api returns in one page of search results */
+	public static final int MAX_RESULTS = 50;
+
 	/** A value FatSecret API issues to you which helps this API identify you */
 	final private String APP_KEY;
 
 	/** A secret FatSecret API issues to you which helps this API establish that it really is you */
 	final private String APP_SECRET;
 
+	/** The URL to make API calls by default */
+	public static final String DEFAULT_API_URL = "http://platform.fatsecret.com/rest/server.api";
+
 	/**
 	 * Request URL
 	 * <p>
-	 * The URL to make API calls is http://platform.fatsecret.com/rest/server.api
+	 * The URL to make API calls is http://platform.fatsecret.com/rest/server.api unless another one is given, for
+	 * example a local stub for load tests
 	 */
-	final private String APP_URL = "http://platform.fatsecret.com/rest/server.api";
+	final private String APP_URL;
 
 	/**
 	 * The signature method allowed by FatSecret API
@@ -68,8 +78,38 @@ public class RequestBuilder {
 	 * @param APP_SECRET	a secret FatSecret API issues to you which helps this API establish that it really is you
 	 */
 	public RequestBuilder(String APP_KEY, String APP_SECRET) {
+		this(APP_KEY, APP_SECRET, DEFAULT_API_URL);
+	}
+
+	/**
+	 * Constructor to set values for APP_KEY, APP_SECRET and the URL to make API calls
+	 *
+	 * @param APP_KEY		a value FatSecret API issues to you which helps this API identify you
+	 * @param APP_SECRET	a secret FatSecret API issues to you which helps this API establish that it really is you
+	 * @param APP_URL		the URL to make API calls
+	 */
+	public RequestBuilder(String APP_KEY, String APP_SECRET, String APP_URL) {
 		this.APP_KEY = APP_KEY;
 		this.APP_SECRET = APP_SECRET;
+		this.APP_URL = APP_URL;
+	}
+
+	/**
+	 * Returns the rest url of fatsecret platform server without any parameters
+	 *
+	 * @return				the rest url of the server
+	 */
+	public String getApiUrl() {
+		return APP_URL;
+	}
+
+	/**
+	 * Returns the HTTP method used for all the requests
+	 *
+	 * @return				the HTTP method
+	 */
+	public String getHttpMethod() {
+		return HTTP_METHOD;
 	}
 
 	/**
@@ -166,6 +206,7 @@ public class RequestBuilder {
 	 * @param params		an array of parameter values as "key=value" pair
 	 * @return				oauth_signature which will be added to request for calling fatsecret api
 	 * @throws UnsupportedEncodingException if encoding is unsupported
+	 * @throws AuthenticationException if the consumer secret cannot be used as a signing key
 	 */
 	public String sign(String method, String uri, String[] params) throws UnsupportedEncodingException {
 		String encodedURI = encode(uri);
@@ -176,17 +217,15 @@ public class RequestBuilder {
 		String text = join(p, "&");
 		String key = APP_SECRET + "&";
 		SecretKey sk = new SecretKeySpec(key.getBytes(), APP_SIGNATURE_METHOD);
-		String sign = "";
 		try {
 			Mac m = Mac.getInstance(APP_SIGNATURE_METHOD);
 			m.init(sk);
-			sign = encode(new String(Base64.encode(m.doFinal(text.getBytes()), Base64.DEFAULT)).trim());
+			return encode(new String(Base64.encode(m.doFinal(text.getBytes()), Base64.DEFAULT)).trim());
 		} catch(java.security.NoSuchAlgorithmException e) {
-			System.out.println("NoSuchAlgorithmException: " + e.getMessage());
+			throw new IllegalStateException(APP_SIGNATURE_METHOD + " is not supported by this platform", e);
 		} catch(java.security.InvalidKeyException e) {
-			System.out.println("InvalidKeyException: " + e.getMessage());
+			throw new AuthenticationException(null, 0, 0, "Invalid consumer secret", e);
 		}
-		return sign;
 	}
 
 	/**
@@ -198,15 +237,20 @@ public class RequestBuilder {
 	 * @throws Exception	if sign throws exception
 	 */
 	public String buildFoodsSearchUrl(String query, int pageNumber) throws Exception {
-		List<String> params = new ArrayList<String>(Arrays.asList(generateOauthParams()));
-		String[] template = new String[1];
-		params.add("method=foods.search");
-		params.add("max_results=50");
-		params.add("page_number=" + pageNumber);
-		params.add("search_expression=" + encode(query));
-		params.add("oauth_signature=" + sign(HTTP_METHOD, APP_URL, params.toArray(template)));
+		return buildFoodsSearchUrl(query, pageNumber, MAX_RESULTS);
+	}
 
-		return APP_URL + "?" + paramify(params.toArray(template));
+	/**
+	 * Returns the rest url which will be sent to fatsecret platform server for searching food items based on search terms and page number
+	 * 
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @param pageSize		number of results in each page, at most {@link #MAX_RESULTS}
+	 * @return				rest url which will be sent to fatsecret platform server for searching food items
+	 * @throws Exception	if sign throws exception
+	 */
+	public String buildFoodsSearchUrl(String query, int pageNumber, int pageSize) throws Exception {
+		return buildUrl(ApiRequest.searchFoods(query, pageNumber, pageSize));
 	}
 	
 	/**
@@ -217,13 +261,7 @@ public class RequestBuilder {
 	 * @throws Exception	if sign throws exception
 	 */
 	public String buildFoodGetUrl(Long id) throws Exception {
-		List<String> params = new ArrayList<String>(Arrays.asList(generateOauthParams()));
-		String[] template = new String[1];
-		params.add("method=food.get");
-		params.add("food_id=" + id);
-		params.add("oauth_signature=" + sign(HTTP_METHOD, APP_URL, params.toArray(template)));
-
-		return APP_URL + "?" + paramify(params.toArray(template));
+		return buildUrl(ApiRequest.getFood(id));
 	}
 
 	/**
@@ -235,15 +273,20 @@ public class RequestBuilder {
 	 * @throws Exception	if sign throws exception
 	 */
 	public String buildRecipesSearchUrl(String query, int pageNumber) throws Exception {
-		List<String> params = new ArrayList<String>(Arrays.asList(generateOauthParams()));
-		String[] template = new String[1];
-		params.add("method=recipes.search");
-		params.add("max_results=50");
-		params.add("page_number=" + pageNumber);
-		params.add("search_expression=" + encode(query));
-		params.add("oauth_signature=" + sign(HTTP_METHOD, APP_URL, params.toArray(template)));
+		return buildRecipesSearchUrl(query, pageNumber, MAX_RESULTS);
+	}
 
-		return APP_URL + "?" + paramify(params.toArray(template));
+	/**
+	 * Returns the rest url which will be sent to fatsecret platform server for searching recipes
+	 *
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @param pageSize		number of results in each page, at most {@link #MAX_RESULTS}
+	 * @return				rest url which will be sent to fatsecret platform server for searching recipes
+	 * @throws Exception	if sign throws exception
+	 */
+	public String buildRecipesSearchUrl(String query, int pageNumber, int pageSize) throws Exception {
+		return buildUrl(ApiRequest.searchRecipes(query, pageNumber, pageSize));
 	}
 	
 	/**
@@ -254,12 +297,25 @@ public class RequestBuilder {
 	 * @throws Exception	if sign throws exception
 	 */
 	public String buildRecipeGetUrl(Long id) throws Exception {
+		return buildUrl(ApiRequest.getRecipe(id));
+	}
+
+	/**
+	 * Returns the signed rest url which will be sent to fatsecret platform server for the request
+	 *
+	 * @param request		the method and parameters to be called
+	 * @return				rest url which will be sent to fatsecret platform server for the request
+	 * @throws Exception	if sign throws exception
+	 */
+	public String buildUrl(ApiRequest<?> request) throws Exception {
 		List<String> params = new ArrayList<String>(Arrays.asList(generateOauthParams()));
 		String[] template = new String[1];
-		params.add("method=recipe.get");
-		params.add("recipe_id=" + id);
+		params.add("method=" + request.getMethod().getName());
+		for(Map.Entry<String, String> param : request.getParams().entrySet()) {
+			params.add(param.getKey() + "=" + encode(param.getValue()));
+		}
 		params.add("oauth_signature=" + sign(HTTP_METHOD, APP_URL, params.toArray(template)));
 
 		return APP_URL + "?" + paramify(params.toArray(template));
 	}
-}
\ No newline at end of file
+}
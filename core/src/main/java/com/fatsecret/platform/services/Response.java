@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services;
+
+import java.util.List;
+
+/**
+ * This class represents the response from the request sent to the fatsecret rest api
+ * <p>
+ * Instances are immutable and are created with {@link #builder()}.
+ * @param <E> the type of elements held in the list in this response
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Response<E> {
+	
+	/** The zero-based offset into the results for the query */
+	private final int pageNumber;
+
+	/** The maximum number of results */
+	private final int maxResults;
+	
+	/** The total number of results */
+	private final int totalResults;
+	
+	/** The list of elements */
+	private final List<E> results;
+
+	/**
+	 * Constructor to set values from the builder
+	 *
+	 * @param builder		the builder holding the values
+	 */
+	protected Response(Builder<E> builder) {
+		this.pageNumber = builder.pageNumber;
+		this.maxResults = builder.maxResults;
+		this.totalResults = builder.totalResults;
+		this.results = builder.results == null ? null : List.copyOf(builder.results);
+	}
+
+	/**
+	 * Returns a builder of a response
+	 *
+	 * @param <E>	the type of elements held in the list of the response
+	 * @return		a new builder
+	 */
+	public static <E> Builder<E> builder() {
+		return new Builder<E>();
+	}
+	
+	/**
+	 * Returns the zero-based offset into the results for the query
+	 * 
+	 * @return		the zero-based offset into the results for the query
+	 */
+	public int getPageNumber() {
+		return pageNumber;
+	}
+
+	/**
+	 * Returns the maximum size of a page of results
+	 * 
+	 * @return		the maximum size of a page of results
+	 */
+	public int getMaxResults() {
+		return maxResults;
+	}
+
+	/**
+	 * Returns the total number of search results matching the search expression
+	 * 
+	 * @return		the total number of search results matching the search expression
+	 */
+	public int getTotalResults() {
+		return totalResults;
+	}
+
+	/**
+	 * Returns the list of the results
+	 * 
+	 * @return		the list of the results, which cannot be modified
+	 */
+	public List<E> getResults() {
+		return results;
+	}
+
+	/**
+	 * This class builds {@link Response} objects
+	 *
+	 * @param <E> the type of elements held in the list of the response
+	 */
+	public static class Builder<E> {
+
+		private int pageNumber;
+
+		private int maxResults;
+
+		private int totalResults;
+
+		private List<E> results;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Sets the zero-based offset into the results for the query
+		 * 
+		 * @param		pageNumber the zero-based offset into the results for the query
+		 * @return		this builder
+		 */
+		public Builder<E> pageNumber(int pageNumber) {
+			this.pageNumber = pageNumber;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum size of a page of results
+		 * 
+		 * @param		maxResults the maximum size of a page of results
+		 * @return		this builder
+		 */
+		public Builder<E> maxResults(int maxResults) {
+			this.maxResults = maxResults;
+			return this;
+		}
+
+		/**
+		 * Sets the total number of search results matching the search expression
+		 * 
+		 * @param		totalResults the total number of search results matching the search expression
+		 * @return		this builder
+		 */
+		public Builder<E> totalResults(int totalResults) {
+			this.totalResults = totalResults;
+			return this;
+		}
+
+		/**
+		 * Sets the list of the results
+		 * 
+		 * @param		results the list of the results
+		 * @return		this builder
+		 */
+		public Builder<E> results(List<E> results) {
+			this.results = results;
+			return this;
+		}
+
+		/**
+		 * Returns the response holding the values set on this builder
+		 *
+		 * @return		the response
+		 */
+		public Response<E> build() {
+			return new Response<E>(this);
+		}
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.fatsecret.platform.model.CompactFood;
+import com.fatsecret.platform.model.CompactRecipe;
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.FoodField;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.Response;
+import com.fatsecret.platform.services.ResponseParseException;
+import com.fatsecret.platform.utils.FoodUtility;
+import com.fatsecret.platform.utils.RecipeUtility;
+
+/**
+ * This class describes a method of fatsecret rest api along with the decoder of its response
+ * <p>
+ * The blocking {@link com.fatsecret.platform.services.FatsecretService} and the volley based android client both send
+ * {@link ApiRequest}s and decode their responses through the method they name, so the error envelope and the parsing of
+ * each method live in one place. A method can be given a faster or narrower decoder with {@link #withDecoder(Decoder)},
+ * and a new endpoint is added by describing it here once.
+ *
+ * @param <T> the type of the result of the method
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public final class ApiMethod<T> {
+
+	/** Returns detailed nutritional information for a food */
+	public static final ApiMethod<Food> FOOD_GET = new ApiMethod<Food>("food.get", false,
+			response -> FoodUtility.parseFoodFromJSONObject(response.getJSONObject("food")));
+
+	/** Returns a page of the foods matching a search expression */
+	public static final ApiMethod<Response<CompactFood>> FOODS_SEARCH = new ApiMethod<Response<CompactFood>>("foods.search", true,
+			response -> page(response.getJSONObject("foods"), "food", FoodUtility::parseCompactFoodListFromJSONArray));
+
+	/** Returns detailed information for a recipe */
+	public static final ApiMethod<Recipe> RECIPE_GET = new ApiMethod<Recipe>("recipe.get", false,
+			response -> RecipeUtility.parseRecipeFromJSONObject(response.getJSONObject("recipe")));
+
+	/** Returns a page of the recipes matching a search expression */
+	public static final ApiMethod<Response<CompactRecipe>> RECIPES_SEARCH = new ApiMethod<Response<CompactRecipe>>("recipes.search", true,
+			response -> page(response.getJSONObject("recipes"), "recipe", RecipeUtility::parseCompactRecipeListFromJSONArray));
+
+	/** food.get mapping only some fields of the food, by the fields they map */
+	private static final ConcurrentHashMap<Set<FoodField>, ApiMethod<Food>> FOOD_GET_FIELDS = new ConcurrentHashMap<Set<FoodField>, ApiMethod<Food>>();
+
+	/** Name of the method, for example "food.get" */
+	private final String name;
+
+	/** Whether the method returns a page of search results rather than a single item */
+	private final boolean search;
+
+	/** Decodes the response of the method */
+	private final Decoder<T> decoder;
+
+	/** Fields of the result the decoder maps, null if it maps the whole result */
+	private final Set<?> fields;
+
+	/**
+	 * Constructor to set values for name, kind and decoder
+	 *
+	 * @param name			name of the method, for example "food.get"
+	 * @param search		true if the method returns a page of search results rather than a single item
+	 * @param decoder		decodes the response of the method
+	 */
+	public ApiMethod(String name, boolean search, Decoder<T> decoder) {
+		this(name, search, decoder, null);
+	}
+
+	private ApiMethod(String name, boolean search, Decoder<T> decoder, Set<?> fields) {
+		if(name == null || decoder == null) {
+			throw new IllegalArgumentException("name and decoder must not be null");
+		}
+		this.name = name;
+		this.search = search;
+		this.decoder = decoder;
+		this.fields = fields;
+	}
+
+	/**
+	 * Returns the name of the method
+	 *
+	 * @return				the name, for example "food.get"
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns whether the method returns a page of search results
+	 * <p>
+	 * Searches are the calls made as a user types, so they are the ones debounced, while single item lookups are the
+	 * ones cached.
+	 *
+	 * @return				true for searches, false for lookups of a single item
+	 */
+	public boolean isSearch() {
+		return search;
+	}
+
+	/**
+	 * Returns the decoder of the response of the method
+	 *
+	 * @return				the decoder
+	 */
+	public Decoder<T> getDecoder() {
+		return decoder;
+	}
+
+	/**
+	 * Returns the same method decoded by another decoder, which is equal to this one
+	 *
+	 * @param decoder		decodes the response of the method
+	 * @return				the method with the decoder
+	 */
+	public ApiMethod<T> withDecoder(Decoder<T> decoder) {
+		return new ApiMethod<T>(name, search, decoder, fields);
+	}
+
+	/**
+	 * Decodes the response of the method
+	 *
+	 * @param response		the json response from fatsecret api
+	 * @return				the result
+	 * @throws FatsecretException if the response is an error object
+	 * @throws ResponseParseException if the response does not have the expected structure
+	 */
+	public T decode(JSONObject response) {
+		JSONObject error = response.optJSONObject("error");
+		if(error != null) {
+			throw FatsecretException.of(name, 0, error.optInt("code"), error.optString("message"));
+		}
+
+		try {
+			return decoder.decode(response);
+		} catch (FatsecretException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw new ResponseParseException(name, 0, 0, "Invalid " + name + " response: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Methods are equal when they have the same name and map the same fields of the result, whatever their decoder
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if(!(o instanceof ApiMethod)) {
+			return false;
+		}
+		ApiMethod<?> other = (ApiMethod<?>) o;
+		return name.equals(other.name) && Objects.equals(fields, other.fields);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * name.hashCode() + Objects.hashCode(fields);
+	}
+
+	@Override
+	public String toString() {
+		return fields == null ? name : name + fields;
+	}
+
+	/**
+	 * Returns food.get mapping only the given fields of the food
+	 * <p>
+	 * The response is still parsed whole into json; only the mapping of the json into the food is narrowed to the
+	 * given fields. The method is not equal to {@link #FOOD_GET}, and the same instance is returned for the same fields.
+	 *
+	 * @param fields		the fields to be mapped, see {@link FoodField}
+	 * @return				the method
+	 */
+	public static ApiMethod<Food> foodGet(Set<FoodField> fields) {
+		Set<FoodField> mapped = EnumSet.noneOf(FoodField.class);
+		mapped.addAll(fields);
+
+		if(mapped.containsAll(FoodField.ALL)) {
+			return FOOD_GET;
+		}
+
+		return FOOD_GET_FIELDS.computeIfAbsent(Collections.unmodifiableSet(mapped), key -> new ApiMethod<Food>(FOOD_GET.name, false,
+				response -> FoodUtility.parseFoodFromJSONObject(response.getJSONObject("food"), key), key));
+	}
+
+	/**
+	 * Decodes a page of search results, whose items are absent from the response once past the last page
+	 */
+	private static <R> Response<R> page(JSONObject results, String items, Function<JSONArray, List<R>> parser) {
+		int maxResults = results.getInt("max_results");
+		int totalResults = results.getInt("total_results");
+		int pageNumber = results.getInt("page_number");
+
+		List<R> list = new ArrayList<R>();
+
+		if(totalResults > maxResults * pageNumber) {
+			list = parser.apply(results.getJSONArray(items));
+		}
+
+		return Response.<R>builder()
+				.pageNumber(pageNumber)
+				.maxResults(maxResults)
+				.totalResults(totalResults)
+				.results(list)
+				.build();
+	}
+}
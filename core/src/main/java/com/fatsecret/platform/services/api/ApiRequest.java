@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fatsecret.platform.model.CompactFood;
+import com.fatsecret.platform.model.CompactRecipe;
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.FoodField;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.services.RequestBuilder;
+import com.fatsecret.platform.services.Response;
+import com.fatsecret.platform.services.jfr.FlightRecorderEvents;
+
+/**
+ * This class describes a call to fatsecret rest api: the method called and its parameters
+ * <p>
+ * A request carries no oauth parameters; it is signed by {@link RequestBuilder#buildUrl(ApiRequest)} each time it is
+ * sent, so that every attempt has a fresh timestamp and nonce.
+ *
+ * @param <T> the type of the result of the call
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public final class ApiRequest<T> {
+
+	/** The method called */
+	private final ApiMethod<T> method;
+
+	/** The identifier of the item or the hash of the search query, for metrics and flight recorder events */
+	private final String key;
+
+	/** The parameters of the call, not encoded, in the order they were given */
+	private final Map<String, String> params;
+
+	/**
+	 * Constructor to set values for method, key and parameters
+	 *
+	 * @param method		the method called
+	 * @param key			the identifier of the item or the hash of the search query
+	 * @param params		the names and values of the parameters in turn, values not encoded
+	 */
+	public ApiRequest(ApiMethod<T> method, String key, String... params) {
+		if(params.length % 2 != 0) {
+			throw new IllegalArgumentException("params must be pairs of names and values");
+		}
+
+		Map<String, String> map = new LinkedHashMap<String, String>();
+		for(int i = 0; i < params.length; i += 2) {
+			map.put(params[i], params[i + 1]);
+		}
+
+		this.method = method;
+		this.key = key;
+		this.params = Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Returns the request for detailed nutritional information of a food
+	 *
+	 * @param foodId		the unique food identifier
+	 * @return				the request
+	 */
+	public static ApiRequest<Food> getFood(Long foodId) {
+		return new ApiRequest<Food>(ApiMethod.FOOD_GET, String.valueOf(foodId), "food_id", String.valueOf(foodId));
+	}
+
+	/**
+	 * Returns the request for the given fields of a food
+	 * <p>
+	 * The whole food is still sent by fatsecret api and parsed into json, but only the given fields are mapped into the
+	 * result.
+	 *
+	 * @param foodId		the unique food identifier
+	 * @param fields		the fields to be mapped, see {@link FoodField}
+	 * @return				the request
+	 */
+	public static ApiRequest<Food> getFood(Long foodId, Set<FoodField> fields) {
+		return new ApiRequest<Food>(ApiMethod.foodGet(fields), String.valueOf(foodId), "food_id", String.valueOf(foodId));
+	}
+
+	/**
+	 * Returns the request for a page of the foods matching the search query
+	 *
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page number to search the food items
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @return				the request
+	 */
+	public static ApiRequest<Response<CompactFood>> searchFoods(String query, int pageNumber, int pageSize) {
+		return new ApiRequest<Response<CompactFood>>(ApiMethod.FOODS_SEARCH, FlightRecorderEvents.queryKey(query),
+				"max_results", String.valueOf(pageSize), "page_number", String.valueOf(pageNumber), "search_expression", query);
+	}
+
+	/**
+	 * Returns the request for detailed information of a recipe
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @return				the request
+	 */
+	public static ApiRequest<Recipe> getRecipe(Long recipeId) {
+		return new ApiRequest<Recipe>(ApiMethod.RECIPE_GET, String.valueOf(recipeId), "recipe_id", String.valueOf(recipeId));
+	}
+
+	/**
+	 * Returns the request for a page of the recipes matching the search query
+	 *
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page number to search the recipes
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @return				the request
+	 */
+	public static ApiRequest<Response<CompactRecipe>> searchRecipes(String query, int pageNumber, int pageSize) {
+		return new ApiRequest<Response<CompactRecipe>>(ApiMethod.RECIPES_SEARCH, FlightRecorderEvents.queryKey(query),
+				"max_results", String.valueOf(pageSize), "page_number", String.valueOf(pageNumber), "search_expression", query);
+	}
+
+	/**
+	 * Returns the method called
+	 *
+	 * @return				the method
+	 */
+	public ApiMethod<T> getMethod() {
+		return method;
+	}
+
+	/**
+	 * Returns the identifier of the item or the hash of the search query
+	 *
+	 * @return				the key of the call
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the parameters of the call
+	 *
+	 * @return				the names and values of the parameters, values not encoded
+	 */
+	public Map<String, String> getParams() {
+		return params;
+	}
+}
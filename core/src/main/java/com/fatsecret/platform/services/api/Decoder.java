@@ -13,36 +13,27 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package com.fatsecret.platform.model;
+package com.fatsecret.platform.services.api;
 
-import java.util.List;
+import org.json.JSONObject;
 
 /**
- * This class represents detailed information about the food item.
+ * Decodes the json response of an api method into its result
+ *
+ * @param <T> the type of the result
  *
  * @author Saurabh Rane
  * @version 2.0
  */
-public class Food extends CompactFood {
+@FunctionalInterface
+public interface Decoder<T> {
 
-	/** A list of all servings for this food */
-	private List<Serving> servings;
-	
-	/**
-	 * Returns the list of all servings for this food
-	 * 
-	 * @return		the list of all servings for this food
-	 */
-	public List<Serving> getServings() {
-		return servings;
-	}
-	
 	/**
-	 * Sets the list of all servings for this food
-	 * 
-	 * @param		servings the list of all servings for this food
+	 * Decodes the response, which has already been checked not to be an error object
+	 *
+	 * @param response		the whole json response, including its envelope such as "food" or "foods"
+	 * @return				the result
+	 * @throws RuntimeException if the response does not have the expected structure
 	 */
-	public void setServings(List<Serving> servings) {
-		this.servings = servings;
-	}
+	T decode(JSONObject response);
 }
@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.utils.LogUtility;
+
+/**
+ * This class writes the hottest entries of a {@link ResponseCache} to a snapshot file and restores them at startup
+ * <p>
+ * The snapshot is a gzip compressed stream of length prefixed records so that the records can be decoded in parallel
+ * once they have been read from disk.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CacheSnapshot {
+
+	/** Marks the start of a snapshot file ("FSC1") */
+	private static final int MAGIC = 0x46534331;
+
+	/** Version of the snapshot format, 2 adds the time each entry was cached */
+	private static final int VERSION = 2;
+
+	private static final byte FOOD = 1;
+
+	private static final byte RECIPE = 2;
+
+	/** The cache whose entries are written and restored */
+	private final ResponseCache cache;
+
+	/** The snapshot file */
+	private final File file;
+
+	/** Maximum number of entries written to the snapshot */
+	private final int maximumEntries;
+
+	/**
+	 * Constructor to set values for cache, file and maximum number of entries
+	 *
+	 * @param cache				the cache whose entries are written and restored
+	 * @param file				the snapshot file
+	 * @param maximumEntries	maximum number of the hottest entries written to the snapshot
+	 */
+	public CacheSnapshot(ResponseCache cache, File file, int maximumEntries) {
+		this.cache = cache;
+		this.file = file;
+		this.maximumEntries = maximumEntries;
+	}
+
+	/**
+	 * Writes the hottest food and recipe entries along with their access frequencies and ages to the snapshot file
+	 * <p>
+	 * The snapshot is written to a temporary file first and then atomically moved over the previous one, so a crash
+	 * never leaves a truncated or missing snapshot behind; the temporary file is deleted if the write fails. Stale
+	 * entries are written too, since the cache still serves them while the circuit breaker is open, and keep their age
+	 * when restored.
+	 *
+	 * @return				the number of entries written
+	 * @throws IOException	if the snapshot cannot be written
+	 */
+	public int write() throws IOException {
+		List<ResponseCache.Entry<Food>> foods = cache.hottestFoods(maximumEntries);
+		List<ResponseCache.Entry<Recipe>> recipes = cache.hottestRecipes(maximumEntries);
+
+		File temp = new File(file.getPath() + ".tmp");
+		int written = 0;
+		boolean moved = false;
+
+		try {
+			written = writeTo(temp, foods, recipes);
+
+			// replaces the previous snapshot in one step, so that it is never missing while the new one is moved in
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			moved = true;
+		} finally {
+			if(!moved) {
+				temp.delete();
+			}
+		}
+
+		return written;
+	}
+
+	private int writeTo(File temp, List<ResponseCache.Entry<Food>> foods, List<ResponseCache.Entry<Recipe>> recipes) throws IOException {
+		int written = 0;
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))));
+		try {
+			ByteArrayOutputStream record = new ByteArrayOutputStream(1024);
+			DataOutputStream recordOut = new DataOutputStream(record);
+
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			int f = 0, r = 0;
+			while(written < maximumEntries && (f < foods.size() || r < recipes.size())) {
+				boolean food = r >= recipes.size()
+						|| (f < foods.size() && foods.get(f).hits.get() >= recipes.get(r).hits.get());
+
+				record.reset();
+				ResponseCache.Entry<?> entry;
+				if(food) {
+					ResponseCache.Entry<Food> foodEntry = foods.get(f++);
+					SnapshotCodec.writeFood(recordOut, foodEntry.value);
+					entry = foodEntry;
+				} else {
+					ResponseCache.Entry<Recipe> recipeEntry = recipes.get(r++);
+					SnapshotCodec.writeRecipe(recordOut, recipeEntry.value);
+					entry = recipeEntry;
+				}
+				recordOut.flush();
+
+				out.writeByte(food ? FOOD : RECIPE);
+				out.writeLong(entry.hits.get());
+				out.writeLong(entry.createdAt);
+				out.writeInt(record.size());
+				record.writeTo(out);
+				written++;
+			}
+
+			out.writeByte(0);
+		} finally {
+			out.close();
+		}
+
+		return written;
+	}
+
+	/**
+	 * Restores the entries from the snapshot file using one decoding thread per available processor
+	 *
+	 * @return				how many entries were restored and how long it took
+	 * @throws IOException	if the snapshot cannot be read
+	 */
+	public LoadResult load() throws IOException {
+		return load(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Restores the entries from the snapshot file, decoding the records in parallel
+	 * <p>
+	 * This method blocks until every entry has been added to the cache, so it should be called before the service takes traffic.
+	 * A missing snapshot file restores nothing.
+	 *
+	 * @param parallelism	number of threads used for decoding the records
+	 * @return				how many entries were restored and how long it took
+	 * @throws IOException	if the snapshot cannot be read or is corrupt
+	 */
+	public LoadResult load(int parallelism) throws IOException {
+		long start = System.nanoTime();
+
+		if(!file.exists()) {
+			return new LoadResult(0, System.nanoTime() - start);
+		}
+
+		final List<byte[]> records = new ArrayList<byte[]>();
+		final List<Long> hits = new ArrayList<Long>();
+		final List<Long> createdAt = new ArrayList<Long>();
+		final List<Byte> kinds = new ArrayList<Byte>();
+
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+		try {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a cache snapshot: " + file);
+			}
+
+			byte kind;
+			while((kind = in.readByte()) != 0) {
+				kinds.add(kind);
+				hits.add(in.readLong());
+				createdAt.add(in.readLong());
+				byte[] record = new byte[in.readInt()];
+				in.readFully(record);
+				records.add(record);
+			}
+		} finally {
+			in.close();
+		}
+
+		int threads = Math.max(1, Math.min(parallelism, records.size()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> futures = new ArrayList<Future<Integer>>(threads);
+
+			for(int t = 0; t < threads; t++) {
+				final int first = t;
+				final int step = threads;
+
+				futures.add(executor.submit(() -> {
+					int restored = 0;
+					for(int i = first; i < records.size(); i += step) {
+						DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(records.get(i)));
+						if(kinds.get(i) == FOOD) {
+							Food food = SnapshotCodec.readFood(recordIn);
+							cache.restoreFood(food.getId(), food, hits.get(i), createdAt.get(i));
+						} else {
+							Recipe recipe = SnapshotCodec.readRecipe(recordIn);
+							cache.restoreRecipe(recipe.getId(), recipe, hits.get(i), createdAt.get(i));
+						}
+						restored++;
+					}
+					return restored;
+				}));
+			}
+
+			int restored = 0;
+			for(Future<Integer> future : futures) {
+				restored += future.get();
+			}
+
+			return new LoadResult(restored, System.nanoTime() - start);
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while restoring snapshot " + file, e);
+		} catch(ExecutionException e) {
+			throw new IOException("Corrupt cache snapshot " + file, e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Writes the snapshot periodically on the given executor
+	 *
+	 * @param executor		the executor used for scheduling the writes
+	 * @param period		the period between successive writes
+	 * @param unit			the time unit of the period
+	 * @return				the scheduled task, which can be cancelled to stop writing snapshots
+	 */
+	public ScheduledFuture<?> scheduleWrites(ScheduledExecutorService executor, long period, TimeUnit unit) {
+		return executor.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					write();
+				} catch (Exception e) {
+					LogUtility.warn("Unable to write cache snapshot {}", file, e);
+				}
+			}
+		}, period, period, unit);
+	}
+
+	/**
+	 * Writes the snapshot when the virtual machine shuts down
+	 *
+	 * @return				the shutdown hook, which can be removed with {@link Runtime#removeShutdownHook(Thread)}
+	 */
+	public Thread writeOnShutdown() {
+		Thread hook = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					write();
+				} catch (Exception e) {
+					LogUtility.warn("Unable to write cache snapshot {}", file, e);
+				}
+			}
+		}, "fatsecret-cache-snapshot");
+
+		Runtime.getRuntime().addShutdownHook(hook);
+		return hook;
+	}
+
+	/**
+	 * This class reports the outcome of restoring a snapshot
+	 */
+	public static class LoadResult {
+
+		/** Number of entries restored */
+		private final int restoredEntries;
+
+		/** Time taken to restore the entries in nanoseconds */
+		private final long elapsedNanos;
+
+		LoadResult(int restoredEntries, long elapsedNanos) {
+			this.restoredEntries = restoredEntries;
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/**
+		 * Returns the number of entries restored
+		 *
+		 * @return		the number of entries restored
+		 */
+		public int getRestoredEntries() {
+			return restoredEntries;
+		}
+
+		/**
+		 * Returns the time taken to restore the entries in milliseconds
+		 *
+		 * @return		the time taken to restore the entries in milliseconds
+		 */
+		public long getElapsedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+		}
+
+		@Override
+		public String toString() {
+			return "Restored " + restoredEntries + " entries in " + getElapsedMillis() + " ms";
+		}
+	}
+}
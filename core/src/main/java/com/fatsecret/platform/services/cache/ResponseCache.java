@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.Recipe;
+
+/**
+ * This class keeps recently fetched food and recipe items in memory along with their access frequencies
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class ResponseCache {
+
+	/** Default maximum number of entries kept for each of foods and recipes */
+	public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+	/** Maximum number of entries kept for each of foods and recipes */
+	private final int maximumSize;
+
+	/** Time in milliseconds after which an entry is considered stale, zero if entries never expire */
+	private final long expireAfterWriteMillis;
+
+	/** Cached food items by food identifier */
+	private final ConcurrentHashMap<Long, Entry<Food>> foods = new ConcurrentHashMap<Long, Entry<Food>>();
+
+	/** Cached recipe items by recipe identifier */
+	private final ConcurrentHashMap<Long, Entry<Recipe>> recipes = new ConcurrentHashMap<Long, Entry<Recipe>>();
+
+	/** Number of lookups served from the cache */
+	private final AtomicLong hitCount = new AtomicLong();
+
+	/** Number of lookups not served from the cache */
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Constructor to create a cache with default size whose entries never expire
+	 */
+	public ResponseCache() {
+		this(DEFAULT_MAXIMUM_SIZE, 0);
+	}
+
+	/**
+	 * Constructor to set values for maximum size and expiry
+	 *
+	 * @param maximumSize				maximum number of entries kept for each of foods and recipes
+	 * @param expireAfterWriteMillis	time in milliseconds after which an entry is stale, zero to never expire
+	 */
+	public ResponseCache(int maximumSize, long expireAfterWriteMillis) {
+		if(maximumSize <= 0) {
+			throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+		}
+		if(expireAfterWriteMillis < 0) {
+			throw new IllegalArgumentException("expireAfterWriteMillis must not be negative: " + expireAfterWriteMillis);
+		}
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteMillis = expireAfterWriteMillis;
+	}
+
+	/**
+	 * Returns the cached food for the identifier, or null if it is absent or stale
+	 *
+	 * @param foodId		the unique food identifier
+	 * @return				the cached food or null
+	 */
+	public Food getFood(Long foodId) {
+		return lookup(foods, foodId);
+	}
+
+	/**
+	 * Returns the cached food for the identifier even if it is stale, for use when fatsecret api cannot be reached
+	 *
+	 * @param foodId		the unique food identifier
+	 * @return				the cached food or null
+	 */
+	public Food getStaleFood(Long foodId) {
+		Entry<Food> entry = foodId == null ? null : foods.get(foodId);
+		return entry == null ? null : entry.value;
+	}
+
+	/**
+	 * Adds the food to the cache
+	 *
+	 * @param foodId		the unique food identifier
+	 * @param food			the food to be cached
+	 */
+	public void putFood(Long foodId, Food food) {
+		store(foods, foodId, food, 0, System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns the cached recipe for the identifier, or null if it is absent or stale
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @return				the cached recipe or null
+	 */
+	public Recipe getRecipe(Long recipeId) {
+		return lookup(recipes, recipeId);
+	}
+
+	/**
+	 * Returns the cached recipe for the identifier even if it is stale, for use when fatsecret api cannot be reached
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @return				the cached recipe or null
+	 */
+	public Recipe getStaleRecipe(Long recipeId) {
+		Entry<Recipe> entry = recipeId == null ? null : recipes.get(recipeId);
+		return entry == null ? null : entry.value;
+	}
+
+	/**
+	 * Adds the recipe to the cache
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @param recipe		the recipe to be cached
+	 */
+	public void putRecipe(Long recipeId, Recipe recipe) {
+		store(recipes, recipeId, recipe, 0, System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns the number of cached food items
+	 *
+	 * @return				the number of cached food items
+	 */
+	public int getFoodCount() {
+		return foods.size();
+	}
+
+	/**
+	 * Returns the number of cached recipe items
+	 *
+	 * @return				the number of cached recipe items
+	 */
+	public int getRecipeCount() {
+		return recipes.size();
+	}
+
+	/**
+	 * Returns the number of lookups served from the cache
+	 *
+	 * @return				the number of cache hits
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * Returns the number of lookups not served from the cache
+	 *
+	 * @return				the number of cache misses
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * Removes all the entries from the cache
+	 */
+	public void clear() {
+		foods.clear();
+		recipes.clear();
+	}
+
+	/**
+	 * Returns the most frequently accessed food entries, hottest first
+	 *
+	 * @param limit			maximum number of entries to return
+	 * @return				the hottest food entries
+	 */
+	List<Entry<Food>> hottestFoods(int limit) {
+		return hottest(foods, limit);
+	}
+
+	/**
+	 * Returns the most frequently accessed recipe entries, hottest first
+	 *
+	 * @param limit			maximum number of entries to return
+	 * @return				the hottest recipe entries
+	 */
+	List<Entry<Recipe>> hottestRecipes(int limit) {
+		return hottest(recipes, limit);
+	}
+
+	/**
+	 * Adds a food restored from a snapshot, keeping its recorded access frequency and age
+	 *
+	 * @param foodId		the unique food identifier
+	 * @param food			the restored food
+	 * @param hits			the access frequency recorded in the snapshot
+	 * @param createdAt		the time in milliseconds at which the food was first cached, recorded in the snapshot
+	 */
+	void restoreFood(Long foodId, Food food, long hits, long createdAt) {
+		store(foods, foodId, food, hits, createdAt);
+	}
+
+	/**
+	 * Adds a recipe restored from a snapshot, keeping its recorded access frequency and age
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @param recipe		the restored recipe
+	 * @param hits			the access frequency recorded in the snapshot
+	 * @param createdAt		the time in milliseconds at which the recipe was first cached, recorded in the snapshot
+	 */
+	void restoreRecipe(Long recipeId, Recipe recipe, long hits, long createdAt) {
+		store(recipes, recipeId, recipe, hits, createdAt);
+	}
+
+	private <T> T lookup(Map<Long, Entry<T>> entries, Long id) {
+		Entry<T> entry = id == null ? null : entries.get(id);
+
+		if(entry == null || isStale(entry)) {
+			missCount.incrementAndGet();
+			return null;
+		}
+
+		entry.hits.incrementAndGet();
+		hitCount.incrementAndGet();
+
+		return entry.value;
+	}
+
+	private <T> void store(ConcurrentHashMap<Long, Entry<T>> entries, Long id, T value, long hits, long createdAt) {
+		if(id == null || value == null) {
+			return;
+		}
+
+		Entry<T> entry = new Entry<T>(id, value, hits, createdAt);
+		Entry<T> previous = entries.put(id, entry);
+
+		if(previous != null) {
+			entry.hits.addAndGet(previous.hits.get());
+		}
+
+		if(entries.size() > maximumSize) {
+			evict(entries);
+		}
+	}
+
+	private boolean isStale(Entry<?> entry) {
+		return expireAfterWriteMillis > 0 && System.currentTimeMillis() - entry.createdAt > expireAfterWriteMillis;
+	}
+
+	/**
+	 * Removes the least frequently used tenth of the entries in one pass so that the scan cost is amortized over many puts
+	 */
+	private <T> void evict(ConcurrentHashMap<Long, Entry<T>> entries) {
+		int excess = entries.size() - maximumSize;
+		if(excess <= 0) {
+			return;
+		}
+
+		int count = Math.max(excess, maximumSize / 10);
+		List<Entry<T>> coldest = sortedByHits(entries, false);
+
+		for(int i = 0; i < count && i < coldest.size(); i++) {
+			Entry<T> entry = coldest.get(i);
+			entries.remove(entry.id, entry);
+		}
+	}
+
+	private static <T> List<Entry<T>> hottest(Map<Long, Entry<T>> entries, int limit) {
+		List<Entry<T>> sorted = sortedByHits(entries, true);
+
+		if(sorted.size() > limit) {
+			return new ArrayList<Entry<T>>(sorted.subList(0, Math.max(limit, 0)));
+		}
+
+		return sorted;
+	}
+
+	/**
+	 * Returns the entries sorted by their access frequency
+	 * <p>
+	 * Lookups keep counting hits while the entries are sorted, so each count is read once into a snapshot and the sort
+	 * compares the snapshots; comparing the live counters could make the sort see an inconsistent order and fail.
+	 *
+	 * @param entries		the entries to sort
+	 * @param hottestFirst	true to put the most frequently accessed entries first, false for the least
+	 * @return				the sorted entries
+	 */
+	private static <T> List<Entry<T>> sortedByHits(Map<Long, Entry<T>> entries, boolean hottestFirst) {
+		List<Ranked<T>> ranked = new ArrayList<Ranked<T>>(entries.size());
+		for(Entry<T> entry : entries.values()) {
+			ranked.add(new Ranked<T>(entry, entry.hits.get()));
+		}
+
+		Collections.sort(ranked, hottestFirst ? Collections.reverseOrder(BY_HITS) : BY_HITS);
+
+		List<Entry<T>> sorted = new ArrayList<Entry<T>>(ranked.size());
+		for(Ranked<T> rank : ranked) {
+			sorted.add(rank.entry);
+		}
+		return sorted;
+	}
+
+	private static final Comparator<Ranked<?>> BY_HITS = new Comparator<Ranked<?>>() {
+		@Override
+		public int compare(Ranked<?> a, Ranked<?> b) {
+			return Long.compare(a.hits, b.hits);
+		}
+	};
+
+	/**
+	 * An entry along with its number of accesses at the time it was ranked
+	 */
+	private static final class Ranked<T> {
+
+		final Entry<T> entry;
+
+		final long hits;
+
+		Ranked(Entry<T> entry, long hits) {
+			this.entry = entry;
+			this.hits = hits;
+		}
+	}
+
+	/**
+	 * A cached item along with the number of times it has been accessed
+	 *
+	 * @param <T> the type of the cached item
+	 */
+	static class Entry<T> {
+
+		/** The unique identifier of the item */
+		final Long id;
+
+		/** The cached item */
+		final T value;
+
+		/** The number of times the item has been accessed */
+		final AtomicLong hits;
+
+		/** Time in milliseconds at which the item was cached */
+		final long createdAt;
+
+		Entry(Long id, T value, long hits, long createdAt) {
+			this.id = id;
+			this.value = value;
+			this.hits = new AtomicLong(hits);
+			this.createdAt = createdAt;
+		}
+	}
+}
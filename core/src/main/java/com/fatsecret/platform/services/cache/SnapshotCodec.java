@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fatsecret.platform.model.Category;
+import com.fatsecret.platform.model.Direction;
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.Ingredient;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.model.Serving;
+import com.fatsecret.platform.utils.StringInterner;
+
+/**
+ * This class encodes food and recipe items into the compact binary form used by cache snapshots
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+class SnapshotCodec {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private SnapshotCodec() {
+	}
+
+	/**
+	 * Writes the food to the output
+	 *
+	 * @param out			the output to write to
+	 * @param food			the food to be written
+	 * @throws IOException	if the output cannot be written
+	 */
+	static void writeFood(DataOutput out, Food food) throws IOException {
+		writeLong(out, food.getId());
+		writeString(out, food.getName());
+		writeString(out, food.getUrl());
+		writeString(out, food.getType());
+		writeString(out, food.getDescription());
+		writeString(out, food.getBrandName());
+
+		List<Serving> servings = food.getServings();
+		int size = servings == null ? -1 : servings.size();
+		out.writeInt(size);
+		for(int i = 0; i < size; i++) {
+			writeServing(out, servings.get(i));
+		}
+	}
+
+	/**
+	 * Reads a food from the input
+	 *
+	 * @param in			the input to read from
+	 * @return				the food read from the input
+	 * @throws IOException	if the input cannot be read
+	 */
+	static Food readFood(DataInput in) throws IOException {
+		Food.Builder food = Food.builder();
+
+		food.id(readLong(in));
+		food.name(readString(in));
+		food.url(readString(in));
+		food.type(readInterned(in));
+		food.description(readString(in));
+		food.brandName(readString(in));
+
+		int size = in.readInt();
+		if(size >= 0) {
+			List<Serving> servings = new ArrayList<Serving>(size);
+			for(int i = 0; i < size; i++) {
+				servings.add(readServing(in));
+			}
+			food.servings(servings);
+		}
+
+		return food.build();
+	}
+
+	/**
+	 * Writes the recipe to the output
+	 *
+	 * @param out			the output to write to
+	 * @param recipe		the recipe to be written
+	 * @throws IOException	if the output cannot be written
+	 */
+	static void writeRecipe(DataOutput out, Recipe recipe) throws IOException {
+		writeLong(out, recipe.getId());
+		writeString(out, recipe.getName());
+		writeString(out, recipe.getUrl());
+		writeString(out, recipe.getDescription());
+		writeStrings(out, recipe.getImages());
+		writeInteger(out, recipe.getRating());
+		writeStrings(out, recipe.getTypes());
+		writeDecimal(out, recipe.getNumberOfServings());
+		writeInteger(out, recipe.getPreparationTime());
+		writeInteger(out, recipe.getCookingTime());
+
+		List<Category> categories = recipe.getCategories();
+		int size = categories == null ? -1 : categories.size();
+		out.writeInt(size);
+		for(int i = 0; i < size; i++) {
+			writeString(out, categories.get(i).getName());
+			writeString(out, categories.get(i).getUrl());
+		}
+
+		Serving serving = recipe.getServing();
+		out.writeBoolean(serving != null);
+		if(serving != null) {
+			writeServing(out, serving);
+		}
+
+		List<Direction> directions = recipe.getDirections();
+		size = directions == null ? -1 : directions.size();
+		out.writeInt(size);
+		for(int i = 0; i < size; i++) {
+			writeInteger(out, directions.get(i).getNumber());
+			writeString(out, directions.get(i).getDescription());
+		}
+
+		List<Ingredient> ingredients = recipe.getIngredients();
+		size = ingredients == null ? -1 : ingredients.size();
+		out.writeInt(size);
+		for(int i = 0; i < size; i++) {
+			Ingredient ingredient = ingredients.get(i);
+			writeLong(out, ingredient.getFoodId());
+			writeLong(out, ingredient.getServingId());
+			writeString(out, ingredient.getDescription());
+			writeString(out, ingredient.getName());
+			writeString(out, ingredient.getUrl());
+			writeDecimal(out, ingredient.getNumberOfUnits());
+			writeString(out, ingredient.getMeasurementDescription());
+		}
+	}
+
+	/**
+	 * Reads a recipe from the input
+	 *
+	 * @param in			the input to read from
+	 * @return				the recipe read from the input
+	 * @throws IOException	if the input cannot be read
+	 */
+	static Recipe readRecipe(DataInput in) throws IOException {
+		Recipe.Builder recipe = Recipe.builder();
+
+		recipe.id(readLong(in));
+		recipe.name(readString(in));
+		recipe.url(readString(in));
+		recipe.description(readString(in));
+		recipe.images(readStrings(in, false));
+		recipe.rating(readInteger(in));
+		recipe.types(readStrings(in, true));
+		recipe.numberOfServings(readDecimal(in));
+		recipe.preparationTime(readInteger(in));
+		recipe.cookingTime(readInteger(in));
+
+		int size = in.readInt();
+		if(size >= 0) {
+			List<Category> categories = new ArrayList<Category>(size);
+			for(int i = 0; i < size; i++) {
+				Category.Builder category = Category.builder();
+				category.name(readInterned(in));
+				category.url(readInterned(in));
+				categories.add(category.build());
+			}
+			recipe.categories(categories);
+		}
+
+		if(in.readBoolean()) {
+			recipe.serving(readServing(in));
+		}
+
+		size = in.readInt();
+		if(size >= 0) {
+			List<Direction> directions = new ArrayList<Direction>(size);
+			for(int i = 0; i < size; i++) {
+				Direction.Builder direction = Direction.builder();
+				direction.number(readInteger(in));
+				direction.description(readString(in));
+				directions.add(direction.build());
+			}
+			recipe.directions(directions);
+		}
+
+		size = in.readInt();
+		if(size >= 0) {
+			List<Ingredient> ingredients = new ArrayList<Ingredient>(size);
+			for(int i = 0; i < size; i++) {
+				Ingredient.Builder ingredient = Ingredient.builder();
+				ingredient.foodId(readLong(in));
+				ingredient.servingId(readLong(in));
+				ingredient.description(readString(in));
+				ingredient.name(readString(in));
+				ingredient.url(readString(in));
+				ingredient.numberOfUnits(readDecimal(in));
+				ingredient.measurementDescription(readString(in));
+				ingredients.add(ingredient.build());
+			}
+			recipe.ingredients(ingredients);
+		}
+
+		return recipe.build();
+	}
+
+	private static void writeServing(DataOutput out, Serving serving) throws IOException {
+		writeLong(out, serving.getServingId());
+		writeString(out, serving.getServingDescription());
+		writeString(out, serving.getServingUrl());
+		writeDecimal(out, serving.getMetricServingAmount());
+		writeString(out, serving.getMetricServingUnit());
+		writeDecimal(out, serving.getNumberOfUnits());
+		writeString(out, serving.getMeasurementDescription());
+		writeDecimal(out, serving.getCalories());
+		writeDecimal(out, serving.getCarbohydrate());
+		writeDecimal(out, serving.getProtein());
+		writeDecimal(out, serving.getFat());
+		writeDecimal(out, serving.getSaturatedFat());
+		writeDecimal(out, serving.getPolyunsaturatedFat());
+		writeDecimal(out, serving.getMonounsaturatedFat());
+		writeDecimal(out, serving.getTransFat());
+		writeDecimal(out, serving.getCholesterol());
+		writeDecimal(out, serving.getSodium());
+		writeDecimal(out, serving.getPotassium());
+		writeDecimal(out, serving.getFiber());
+		writeDecimal(out, serving.getSugar());
+		writeDecimal(out, serving.getVitaminA());
+		writeDecimal(out, serving.getVitaminC());
+		writeDecimal(out, serving.getCalcium());
+		writeDecimal(out, serving.getIron());
+	}
+
+	private static Serving readServing(DataInput in) throws IOException {
+		Serving.Builder serving = Serving.builder();
+
+		serving.servingId(readLong(in));
+		serving.servingDescription(readString(in));
+		serving.servingUrl(readString(in));
+		serving.metricServingAmount(readDecimal(in));
+		serving.metricServingUnit(readInterned(in));
+		serving.numberOfUnits(readDecimal(in));
+		serving.measurementDescription(readString(in));
+		serving.calories(readDecimal(in));
+		serving.carbohydrate(readDecimal(in));
+		serving.protein(readDecimal(in));
+		serving.fat(readDecimal(in));
+		serving.saturatedFat(readDecimal(in));
+		serving.polyunsaturatedFat(readDecimal(in));
+		serving.monounsaturatedFat(readDecimal(in));
+		serving.transFat(readDecimal(in));
+		serving.cholesterol(readDecimal(in));
+		serving.sodium(readDecimal(in));
+		serving.potassium(readDecimal(in));
+		serving.fiber(readDecimal(in));
+		serving.sugar(readDecimal(in));
+		serving.vitaminA(readDecimal(in));
+		serving.vitaminC(readDecimal(in));
+		serving.calcium(readDecimal(in));
+		serving.iron(readDecimal(in));
+
+		return serving.build();
+	}
+
+	private static void writeStrings(DataOutput out, List<String> values) throws IOException {
+		int size = values == null ? -1 : values.size();
+		out.writeInt(size);
+		for(int i = 0; i < size; i++) {
+			writeString(out, values.get(i));
+		}
+	}
+
+	private static List<String> readStrings(DataInput in, boolean interned) throws IOException {
+		int size = in.readInt();
+		if(size < 0) {
+			return null;
+		}
+
+		List<String> values = new ArrayList<String>(size);
+		for(int i = 0; i < size; i++) {
+			values.add(interned ? readInterned(in) : readString(in));
+		}
+		return values;
+	}
+
+	/**
+	 * Strings are written as a length prefixed UTF-8 byte sequence, a length of -1 marks null
+	 */
+	private static void writeString(DataOutput out, String value) throws IOException {
+		if(value == null) {
+			out.writeInt(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		int length = in.readInt();
+		if(length < 0) {
+			return null;
+		}
+
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * Reads a string of a field with few distinct values, sharing the instance of equal strings already read or parsed
+	 */
+	private static String readInterned(DataInput in) throws IOException {
+		return StringInterner.DEFAULT.intern(readString(in));
+	}
+
+	/**
+	 * Decimals are written as their unscaled value and scale so that no precision is lost
+	 */
+	private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+		if(value == null) {
+			out.writeShort(-1);
+			return;
+		}
+
+		byte[] unscaled = value.unscaledValue().toByteArray();
+		out.writeShort(unscaled.length);
+		out.write(unscaled);
+		out.writeInt(value.scale());
+	}
+
+	private static BigDecimal readDecimal(DataInput in) throws IOException {
+		int length = in.readShort();
+		if(length < 0) {
+			return null;
+		}
+
+		byte[] unscaled = new byte[length];
+		in.readFully(unscaled);
+		return new BigDecimal(new BigInteger(unscaled), in.readInt());
+	}
+
+	private static void writeLong(DataOutput out, Long value) throws IOException {
+		out.writeBoolean(value != null);
+		if(value != null) {
+			out.writeLong(value);
+		}
+	}
+
+	private static Long readLong(DataInput in) throws IOException {
+		return in.readBoolean() ? Long.valueOf(in.readLong()) : null;
+	}
+
+	private static void writeInteger(DataOutput out, Integer value) throws IOException {
+		out.writeBoolean(value != null);
+		if(value != null) {
+			out.writeInt(value);
+		}
+	}
+
+	private static Integer readInteger(DataInput in) throws IOException {
+		return in.readBoolean() ? Integer.valueOf(in.readInt()) : null;
+	}
+}
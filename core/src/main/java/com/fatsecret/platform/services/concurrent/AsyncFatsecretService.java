@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import com.fatsecret.platform.model.CompactFood;
+import com.fatsecret.platform.model.CompactRecipe;
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.services.FatsecretService;
+import com.fatsecret.platform.services.Response;
+
+/**
+ * This service class runs each call of a {@link FatsecretService} on its own thread and completes a future with its result
+ * <p>
+ * By default every call runs on a virtual thread, see {@link VirtualThreads}, so thousands of calls can wait on the
+ * network at once without holding as many platform threads. The number of calls sent to fatsecret rest api at the same
+ * time is limited by a semaphore; calls over the limit wait in a queue, in arrival order, and are handed to the executor
+ * only once they hold a permit, so no thread is taken by a call waiting for its turn.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class AsyncFatsecretService implements AutoCloseable {
+
+	/** The service making the blocking calls */
+	private final FatsecretService service;
+
+	/** Executor on which the calls run */
+	private final ExecutorService executor;
+
+	/** Permits for the calls sent at the same time */
+	private final Semaphore permits;
+
+	/** Calls waiting for a permit, in arrival order */
+	private final LinkedBlockingQueue<Call<?>> queue = new LinkedBlockingQueue<Call<?>>();
+
+	/** Whether the service stopped accepting calls */
+	private volatile boolean closed;
+
+	/** Maximum number of calls sent at the same time */
+	private final int maxConcurrentCalls;
+
+	/**
+	 * Constructor to run the calls on virtual threads when the runtime supports them
+	 *
+	 * @param service				the service making the blocking calls
+	 * @param maxConcurrentCalls	maximum number of calls sent at the same time
+	 */
+	public AsyncFatsecretService(FatsecretService service, int maxConcurrentCalls) {
+		this(service, maxConcurrentCalls, VirtualThreads.newExecutor("fatsecret-call"));
+	}
+
+	/**
+	 * Constructor to set values for service, concurrency limit and executor
+	 *
+	 * @param service				the service making the blocking calls
+	 * @param maxConcurrentCalls	maximum number of calls sent at the same time
+	 * @param executor				executor on which the calls run, at most maxConcurrentCalls of them at a time
+	 */
+	public AsyncFatsecretService(FatsecretService service, int maxConcurrentCalls, ExecutorService executor) {
+		if(maxConcurrentCalls <= 0) {
+			throw new IllegalArgumentException("maxConcurrentCalls must be positive: " + maxConcurrentCalls);
+		}
+		this.service = service;
+		this.executor = executor;
+		this.permits = new Semaphore(maxConcurrentCalls);
+		this.maxConcurrentCalls = maxConcurrentCalls;
+	}
+
+	/**
+	 * Returns the maximum number of calls sent at the same time
+	 *
+	 * @return				the concurrency limit
+	 */
+	public int getMaxConcurrentCalls() {
+		return maxConcurrentCalls;
+	}
+
+	/**
+	 * Returns the number of calls currently sent to fatsecret rest api
+	 *
+	 * @return				the number of calls in flight
+	 */
+	public int getCallsInFlight() {
+		return maxConcurrentCalls - permits.availablePermits();
+	}
+
+	/**
+	 * Returns the number of calls waiting for a permit
+	 *
+	 * @return				the number of queued calls, an estimate
+	 */
+	public int getQueuedCalls() {
+		return queue.size();
+	}
+
+	/**
+	 * Returns detailed nutritional information for the specified food
+	 *
+	 * @param foodId		the unique food identifier
+	 * @return				future completed with the food based on the identifier
+	 */
+	public CompletableFuture<Food> getFood(Long foodId) {
+		return submit(() -> service.getFood(foodId));
+	}
+
+	/**
+	 * Returns response associated with the food items depending on the search query and page number
+	 *
+	 * @param query			search terms for querying food items
+	 * @param pageNumber	page Number to search the food items
+	 * @return				future completed with the food items at a particular page number based on the query
+	 */
+	public CompletableFuture<Response<CompactFood>> searchFoods(String query, Integer pageNumber) {
+		return submit(() -> service.searchFoods(query, pageNumber));
+	}
+
+	/**
+	 * Returns detailed information for the specified recipe
+	 *
+	 * @param recipeId		the unique recipe identifier
+	 * @return				future completed with the detailed information for the specified recipe
+	 */
+	public CompletableFuture<Recipe> getRecipe(Long recipeId) {
+		return submit(() -> service.getRecipe(recipeId));
+	}
+
+	/**
+	 * Returns response associated with the recipes depending on the search query and page number
+	 *
+	 * @param query			search terms for querying recipes
+	 * @param pageNumber	page Number to search the recipes
+	 * @return				future completed with the recipe items at a particular page number based on the query
+	 */
+	public CompletableFuture<Response<CompactRecipe>> searchRecipes(String query, Integer pageNumber) {
+		return submit(() -> service.searchRecipes(query, pageNumber));
+	}
+
+	/**
+	 * Stops accepting calls, the calls already submitted still complete
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		dispatch();
+	}
+
+	/**
+	 * Queues the call and runs it on the executor once a permit is available
+	 */
+	private <T> CompletableFuture<T> submit(Callable<T> call) {
+		CompletableFuture<T> future = new CompletableFuture<T>();
+
+		if(closed) {
+			future.completeExceptionally(new RejectedExecutionException("Service is closed"));
+			return future;
+		}
+
+		queue.add(new Call<T>(call, future));
+		dispatch();
+		return future;
+	}
+
+	/**
+	 * Hands queued calls to the executor while permits are available
+	 * <p>
+	 * Runs after every call is queued and after every permit is released, so a call queued while all permits are held
+	 * is picked up by whichever call releases a permit next. The executor is shut down once the service is closed and
+	 * no call is left waiting.
+	 */
+	private void dispatch() {
+		while(!queue.isEmpty() && permits.tryAcquire()) {
+			Call<?> call = queue.poll();
+			if(call == null) {
+				permits.release();
+				continue;
+			}
+
+			try {
+				executor.execute(call);
+			} catch (RejectedExecutionException e) {
+				permits.release();
+				call.future.completeExceptionally(e);
+			}
+		}
+
+		if(closed && queue.isEmpty()) {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * This class holds a call waiting for a permit along with the future completed with its result
+	 * <p>
+	 * The permit is released before the future is completed, so that dependent stages running on this thread do not
+	 * hold it. The future is completed with the exception thrown by the call, not wrapped, so that callers can tell
+	 * apart the types of {@link com.fatsecret.platform.services.FatsecretException}.
+	 */
+	private final class Call<T> implements Runnable {
+
+		private final Callable<T> callable;
+
+		private final CompletableFuture<T> future;
+
+		Call(Callable<T> callable, CompletableFuture<T> future) {
+			this.callable = callable;
+			this.future = future;
+		}
+
+		@Override
+		public void run() {
+			T result;
+			try {
+				result = callable.call();
+			} catch (Throwable t) {
+				permits.release();
+				dispatch();
+				future.completeExceptionally(t);
+				return;
+			}
+
+			permits.release();
+			dispatch();
+			future.complete(result);
+		}
+	}
+}
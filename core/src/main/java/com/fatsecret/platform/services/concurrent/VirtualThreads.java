@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class creates executors running each task on its own virtual thread when the runtime supports them
+ * <p>
+ * Virtual threads are final in Java 21, while this library is compiled for older releases, so the factory method is
+ * looked up at runtime. On older runtimes the executors fall back to a cached pool of daemon platform threads.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public final class VirtualThreads {
+
+	/** Executors#newVirtualThreadPerTaskExecutor, or null if the runtime does not provide it */
+	private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookup();
+
+	private VirtualThreads() {
+	}
+
+	/**
+	 * Returns whether the runtime supports virtual threads
+	 *
+	 * @return				true if tasks can run on virtual threads
+	 */
+	public static boolean isAvailable() {
+		return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * Returns an executor starting a new virtual thread for each task, or a cached pool of daemon threads if the
+	 * runtime does not support virtual threads
+	 *
+	 * @param name			prefix of the names of the platform threads of the fallback pool
+	 * @return				the executor
+	 */
+	public static ExecutorService newExecutor(final String name) {
+		if(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null) {
+			try {
+				return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+			} catch (Throwable ignore) {
+			}
+		}
+
+		return Executors.newCachedThreadPool(new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	private static MethodHandle lookup() {
+		try {
+			MethodHandle handle = MethodHandles.publicLookup().findStatic(Executors.class,
+					"newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+
+			// On Java 19 and 20 virtual threads are a preview feature and the method throws unless it is enabled
+			((ExecutorService) handle.invoke()).shutdown();
+			return handle;
+		} catch (Throwable e) {
+			return null;
+		}
+	}
+}
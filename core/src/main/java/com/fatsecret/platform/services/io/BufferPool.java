@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * This class keeps a bounded number of byte arrays, char arrays or direct byte buffers for reuse, so that reading a
+ * response does not allocate its buffers again for every call
+ * <p>
+ * The pool is lock-free: buffers are kept in a fixed array of slots which are claimed and filled with compare and set.
+ * It is shared between threads rather than held per thread, since a virtual thread per call would never find its own
+ * buffer again. When no pooled buffer is large enough, a new one is allocated, rounded up to a power of two so that it
+ * can serve other calls once released. Buffers larger than the maximum size are never kept, so a single huge response
+ * cannot pin its memory in the pool.
+ *
+ * @param <T> the type of the buffers, byte[], char[] or ByteBuffer
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public final class BufferPool<T> {
+
+	/** Default maximum number of buffers kept in a pool */
+	public static final int DEFAULT_MAX_BUFFERS = 32;
+
+	/** Default size of the largest buffer kept in a pool */
+	public static final int DEFAULT_MAX_BUFFER_SIZE = 256 * 1024;
+
+	/** Size of the smallest buffer allocated by a pool */
+	private static final int MIN_BUFFER_SIZE = 8192;
+
+	/** The pooled buffers, null for empty slots */
+	private final AtomicReferenceArray<T> slots;
+
+	/** Size of the largest buffer kept in the pool */
+	private final int maxBufferSize;
+
+	/** Allocates a buffer of the given size */
+	private final IntFunction<T> allocator;
+
+	/** Returns the size of a buffer */
+	private final ToIntFunction<T> size;
+
+	/** Number of buffers handed out from the pool */
+	private final AtomicLong hits = new AtomicLong();
+
+	/** Number of buffers allocated because the pool had none large enough */
+	private final AtomicLong misses = new AtomicLong();
+
+	private BufferPool(int maxBuffers, int maxBufferSize, IntFunction<T> allocator, ToIntFunction<T> size) {
+		if(maxBuffers < 0) {
+			throw new IllegalArgumentException("maxBuffers must not be negative: " + maxBuffers);
+		}
+		if(maxBufferSize <= 0) {
+			throw new IllegalArgumentException("maxBufferSize must be positive: " + maxBufferSize);
+		}
+		this.slots = new AtomicReferenceArray<T>(maxBuffers);
+		this.maxBufferSize = maxBufferSize;
+		this.allocator = allocator;
+		this.size = size;
+	}
+
+	/**
+	 * Returns a pool of byte arrays
+	 *
+	 * @param maxBuffers		maximum number of buffers kept in the pool, zero to disable pooling
+	 * @param maxBufferSize		size of the largest buffer kept in the pool
+	 * @return					the pool
+	 */
+	public static BufferPool<byte[]> bytes(int maxBuffers, int maxBufferSize) {
+		return new BufferPool<byte[]>(maxBuffers, maxBufferSize, byte[]::new, buffer -> buffer.length);
+	}
+
+	/**
+	 * Returns a pool of char arrays
+	 *
+	 * @param maxBuffers		maximum number of buffers kept in the pool, zero to disable pooling
+	 * @param maxBufferSize		size of the largest buffer kept in the pool
+	 * @return					the pool
+	 */
+	public static BufferPool<char[]> chars(int maxBuffers, int maxBufferSize) {
+		return new BufferPool<char[]>(maxBuffers, maxBufferSize, char[]::new, buffer -> buffer.length);
+	}
+
+	/**
+	 * Returns a pool of direct byte buffers, which the channels of non-blocking transports read and write without an
+	 * intermediate copy
+	 * <p>
+	 * Direct buffers are costly to allocate and are freed only by the garbage collector, so pooling them matters more
+	 * than for arrays. A buffer is handed out as it was released; callers clear it before use.
+	 *
+	 * @param maxBuffers		maximum number of buffers kept in the pool, zero to disable pooling
+	 * @param maxBufferSize		size of the largest buffer kept in the pool
+	 * @return					the pool
+	 */
+	public static BufferPool<ByteBuffer> direct(int maxBuffers, int maxBufferSize) {
+		return new BufferPool<ByteBuffer>(maxBuffers, maxBufferSize, ByteBuffer::allocateDirect, ByteBuffer::capacity);
+	}
+
+	/**
+	 * Returns a buffer of at least the given size, taken from the pool if one is large enough
+	 * <p>
+	 * The buffer must be given back with {@link #release(Object)} once it is no longer used, and must not be used after.
+	 *
+	 * @param minSize		the minimum size of the buffer
+	 * @return				the buffer
+	 */
+	public T acquire(int minSize) {
+		if(minSize <= maxBufferSize) {
+			int length = slots.length();
+			int start = length == 0 ? 0 : (int) (Thread.currentThread().getId() % length);
+
+			for(int i = 0; i < length; i++) {
+				int index = (start + i) % length;
+				T buffer = slots.get(index);
+
+				if(buffer != null && size.applyAsInt(buffer) >= minSize && slots.compareAndSet(index, buffer, null)) {
+					hits.incrementAndGet();
+					return buffer;
+				}
+			}
+		}
+
+		misses.incrementAndGet();
+		return allocator.apply(allocationSize(minSize));
+	}
+
+	/**
+	 * Gives a buffer back to the pool, which keeps it unless it is too large or the pool is full
+	 *
+	 * @param buffer		the buffer, may be null
+	 */
+	public void release(T buffer) {
+		if(buffer == null || size.applyAsInt(buffer) > maxBufferSize) {
+			return;
+		}
+
+		for(int i = 0; i < slots.length(); i++) {
+			if(slots.get(i) == null && slots.compareAndSet(i, null, buffer)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of buffers handed out from the pool
+	 *
+	 * @return				the number of pool hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of buffers allocated because the pool had none large enough
+	 *
+	 * @return				the number of pool misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the size allocated for a buffer of the requested size: the next power of two if it may be pooled, or
+	 * exactly the requested size if it is too large to be kept anyway
+	 */
+	private int allocationSize(int minSize) {
+		if(minSize <= MIN_BUFFER_SIZE) {
+			return MIN_BUFFER_SIZE;
+		}
+
+		int rounded = Integer.highestOneBit(minSize - 1) << 1;
+		return rounded > 0 && rounded <= maxBufferSize ? rounded : minSize;
+	}
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import com.fatsecret.platform.utils.LogUtility;
+
+/**
+ * This class holds the bytes of a response body in a pooled buffer and hands them to the json parser as characters
+ * <p>
+ * The bytes are decoded in one pass into a pooled char array, which the parser reads through an unsynchronized reader
+ * supporting mark and reset, so no BufferedReader, StringBuilder or String copy of the body is created. Both buffers
+ * go back to their pools when {@link #release()} is called, which must happen once the body has been parsed.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public final class ResponseBody {
+
+	/** Value of the Accept-Encoding header of requests, naming the encodings {@link #decode(InputStream, String)} supports */
+	public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+	/** Initial capacity in bytes of the buffer receiving a body of unknown length */
+	private static final int DEFAULT_CAPACITY = 8192;
+
+	/** Maximum initial capacity in bytes of the buffer receiving a body, whatever its announced length */
+	private static final int MAX_INITIAL_CAPACITY = 1 << 20;
+
+	/** Pool of the byte buffers receiving the bodies */
+	public static final BufferPool<byte[]> BYTES = BufferPool.bytes(BufferPool.DEFAULT_MAX_BUFFERS, BufferPool.DEFAULT_MAX_BUFFER_SIZE);
+
+	/** Pool of the char buffers holding the decoded bodies */
+	public static final BufferPool<char[]> CHARS = BufferPool.chars(BufferPool.DEFAULT_MAX_BUFFERS, BufferPool.DEFAULT_MAX_BUFFER_SIZE);
+
+	/** The charset of the body */
+	private final Charset charset;
+
+	/** The bytes of the body, null once released */
+	private byte[] bytes;
+
+	/** Number of bytes of the body */
+	private int count;
+
+	/** The decoded characters of the body, null until decoded or once released */
+	private char[] chars;
+
+	/**
+	 * Constructor to set values for the expected size and the charset of the body
+	 *
+	 * @param capacity		the expected size of the body in bytes
+	 * @param charset		the charset of the body
+	 */
+	public ResponseBody(int capacity, Charset charset) {
+		this.charset = charset;
+		this.bytes = BYTES.acquire(capacity);
+	}
+
+	/**
+	 * Reads the stream to its end directly into the buffer, growing it only if the body is longer than expected
+	 *
+	 * @param in			the body of the response
+	 * @throws IOException	if the body cannot be read
+	 */
+	public void readFrom(InputStream in) throws IOException {
+		for(;;) {
+			if(count == bytes.length) {
+				int b = in.read();
+				if(b < 0) {
+					return;
+				}
+				grow(count + 1);
+				bytes[count++] = (byte) b;
+			}
+
+			int n = in.read(bytes, count, bytes.length - count);
+			if(n < 0) {
+				return;
+			}
+			count += n;
+		}
+	}
+
+	/**
+	 * Appends bytes of the body
+	 *
+	 * @param b				the bytes
+	 * @param off			the offset of the first byte
+	 * @param len			the number of bytes
+	 */
+	public void write(byte[] b, int off, int len) {
+		if(count + len > bytes.length) {
+			grow(count + len);
+		}
+		System.arraycopy(b, off, bytes, count, len);
+		count += len;
+	}
+
+	/**
+	 * Appends the remaining bytes of the buffer to the body
+	 *
+	 * @param buffer		the bytes
+	 */
+	public void write(ByteBuffer buffer) {
+		int len = buffer.remaining();
+		if(count + len > bytes.length) {
+			grow(count + len);
+		}
+		buffer.get(bytes, count, len);
+		count += len;
+	}
+
+	/**
+	 * Returns a stream over the bytes of the body, for a body received compressed which is inflated once complete
+	 *
+	 * @return				the stream, valid until the body is released
+	 */
+	public InputStream inputStream() {
+		return new ByteArrayInputStream(bytes, 0, count);
+	}
+
+	/**
+	 * Returns the size of the body in bytes
+	 *
+	 * @return				the number of bytes
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Decodes the body and returns a reader over its characters
+	 *
+	 * @return				the reader, valid until the body is released
+	 * @throws IllegalArgumentException if the body cannot be decoded
+	 */
+	public Reader reader() {
+		CharsetDecoder decoder = charset.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		chars = CHARS.acquire((int) Math.ceil(count * (double) decoder.maxCharsPerByte()));
+		CharBuffer out = CharBuffer.wrap(chars);
+
+		CoderResult result = decoder.decode(ByteBuffer.wrap(bytes, 0, count), out, true);
+		if(!result.isUnderflow() || !(result = decoder.flush(out)).isUnderflow()) {
+			throw new IllegalArgumentException("Unable to decode the body as " + charset + ": " + result);
+		}
+
+		return new CharsReader(chars, out.position());
+	}
+
+	/**
+	 * Gives the buffers back to their pools; the body and its reader must not be used after
+	 */
+	public void release() {
+		BYTES.release(bytes);
+		CHARS.release(chars);
+		bytes = null;
+		chars = null;
+	}
+
+	/**
+	 * Returns the initial capacity of the buffer receiving a body of the given Content-Length
+	 * <p>
+	 * A compressed body usually inflates to several times its length, so its buffer starts larger. The capacity is
+	 * bounded so that a wrong Content-Length cannot make the client allocate a huge array up front.
+	 *
+	 * @param contentLength	the Content-Length of the response, or -1 if it is unknown
+	 * @param encoded		true if the body is compressed
+	 * @return				the initial capacity in bytes
+	 */
+	public static int capacity(long contentLength, boolean encoded) {
+		if(contentLength <= 0) {
+			return DEFAULT_CAPACITY;
+		}
+		return (int) Math.min(MAX_INITIAL_CAPACITY, encoded ? contentLength * 4 : contentLength);
+	}
+
+	/**
+	 * Returns the charset named by the Content-Type of the response, UTF-8 if it names none or one which is not supported
+	 *
+	 * @param contentType	the Content-Type of the response, for example "application/json;charset=utf-8"
+	 * @return				the charset of the body
+	 */
+	public static Charset charset(String contentType) {
+		if(contentType != null) {
+			for(String parameter : contentType.split(";")) {
+				String[] pair = parameter.trim().split("=", 2);
+				if(pair.length == 2 && pair[0].trim().equalsIgnoreCase("charset")) {
+					try {
+						return Charset.forName(pair[1].trim().replace("\"", ""));
+					} catch(IllegalArgumentException e) {
+						LogUtility.debug("Unsupported charset {}, decoding as UTF-8", pair[1]);
+					}
+				}
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+
+	/**
+	 * Returns a stream inflating the body as it is read, according to the content encoding of the response
+	 * <p>
+	 * Although deflate is specified as zlib wrapped data, some servers send it raw, so the zlib header is checked for
+	 * before choosing how to inflate.
+	 *
+	 * @param in			the body as received from the server
+	 * @param encoding		the content encoding of the response, or null if the body is not encoded
+	 * @return				the decompressed body, or the same stream if the body is not encoded
+	 * @throws IOException	if the header of the compressed body cannot be read
+	 */
+	public static InputStream decode(InputStream in, String encoding) throws IOException {
+		if(encoding == null || encoding.isEmpty() || encoding.equalsIgnoreCase("identity")) {
+			return in;
+		}
+
+		if(encoding.equalsIgnoreCase("gzip") || encoding.equalsIgnoreCase("x-gzip")) {
+			return new GZIPInputStream(in, 8192);
+		}
+
+		if(encoding.equalsIgnoreCase("deflate")) {
+			PushbackInputStream pushback = new PushbackInputStream(in, 2);
+			int first = pushback.read();
+			int second = first < 0 ? -1 : pushback.read();
+
+			if(second >= 0) {
+				pushback.unread(second);
+			}
+			if(first >= 0) {
+				pushback.unread(first);
+			}
+
+			boolean zlib = second >= 0 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+			final Inflater inflater = new Inflater(!zlib);
+
+			return new InflaterInputStream(pushback, inflater, 8192) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						inflater.end();
+					}
+				}
+			};
+		}
+
+		throw new ZipException("Unsupported content encoding: " + encoding);
+	}
+
+	private void grow(int minSize) {
+		byte[] grown = BYTES.acquire(Math.max(minSize, bytes.length * 2));
+		System.arraycopy(bytes, 0, grown, 0, count);
+		BYTES.release(bytes);
+		bytes = grown;
+	}
+
+	/**
+	 * Reads characters from an array without locking, unlike {@link java.io.CharArrayReader} which takes its lock for
+	 * every character the parser reads
+	 */
+	private static class CharsReader extends Reader {
+
+		private final char[] chars;
+
+		private final int length;
+
+		private int position;
+
+		private int mark;
+
+		CharsReader(char[] chars, int length) {
+			this.chars = chars;
+			this.length = length;
+		}
+
+		@Override
+		public int read() {
+			return position < length ? chars[position++] : -1;
+		}
+
+		@Override
+		public int read(char[] buffer, int off, int len) {
+			if(position >= length) {
+				return -1;
+			}
+			int n = Math.min(len, length - position);
+			System.arraycopy(chars, position, buffer, off, n);
+			position += n;
+			return n;
+		}
+
+		@Override
+		public long skip(long n) {
+			int skipped = (int) Math.max(0, Math.min(n, length - position));
+			position += skipped;
+			return skipped;
+		}
+
+		@Override
+		public boolean ready() {
+			return true;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		@Override
+		public void mark(int readAheadLimit) {
+			mark = position;
+		}
+
+		@Override
+		public void reset() {
+			position = mark;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * This class is the base of the flight recorder events emitted while calling fatsecret rest api
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+@Category("FatSecret")
+@StackTrace(false)
+abstract class FatsecretEvent extends jdk.jfr.Event {
+
+	@Label("Method")
+	@Description("The api method, for example food.get")
+	String method;
+
+	@Label("Key")
+	@Description("The identifier of the item, or the hash of the search query")
+	String key;
+
+	@Label("Bytes")
+	@Description("Size of the payload in bytes")
+	long bytes;
+
+	@Label("Outcome")
+	@Description("success, or the type of the error")
+	String outcome;
+}
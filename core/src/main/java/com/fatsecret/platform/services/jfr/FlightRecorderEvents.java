@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * This class emits Java Flight Recorder events for the lifecycle of calls to fatsecret rest api
+ * <p>
+ * Events are only created while a recording has them enabled, so the cost is a single check of the cached event type
+ * when recording is off.
+ * On platforms without the jdk.jfr module, such as Android, every method does nothing. Flight recorder stores the
+ * thread of every event, which ties the upstream latency to the caller's own request.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public final class FlightRecorderEvents {
+
+	/** Building and signing the rest url of a request */
+	public static final int URL_SIGN = 0;
+
+	/** Sending a request and reading its response */
+	public static final int HTTP_EXCHANGE = 1;
+
+	/** Parsing the body of a response into json */
+	public static final int JSON_PARSE = 2;
+
+	/** Mapping json into food and recipe model objects */
+	public static final int MODEL_MAPPING = 3;
+
+	/** Outcome of an event which completed without error */
+	public static final String SUCCESS = "success";
+
+	/** Whether the jdk.jfr module is present */
+	private static final boolean AVAILABLE = isAvailable();
+
+	private FlightRecorderEvents() {
+	}
+
+	/**
+	 * Starts timing an event of the given type
+	 *
+	 * @param type			the type of the event, for example {@link #HTTP_EXCHANGE}
+	 * @return				the started event, or null if events of this type are not being recorded
+	 */
+	public static Object begin(int type) {
+		if(type < URL_SIGN || type > MODEL_MAPPING) {
+			throw new IllegalArgumentException("Unknown event type: " + type);
+		}
+
+		if(!AVAILABLE || !EventTypes.TYPES[type].isEnabled()) {
+			return null;
+		}
+
+		FatsecretEvent event;
+		switch(type) {
+		case URL_SIGN:
+			event = new UrlSignEvent();
+			break;
+		case HTTP_EXCHANGE:
+			event = new HttpExchangeEvent();
+			break;
+		case JSON_PARSE:
+			event = new JsonParseEvent();
+			break;
+		default:
+			event = new ModelMappingEvent();
+			break;
+		}
+
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Stops timing the event and commits it with its details
+	 *
+	 * @param event			the event returned by {@link #begin(int)}, null is ignored
+	 * @param method		the api method, for example "food.get"
+	 * @param key			the identifier of the item or the hash of the search query
+	 * @param bytes			size of the payload in bytes, zero if unknown
+	 * @param outcome		{@link #SUCCESS}, or the type of the error
+	 */
+	public static void commit(Object event, String method, String key, long bytes, String outcome) {
+		if(event == null) {
+			return;
+		}
+
+		FatsecretEvent e = (FatsecretEvent) event;
+		e.end();
+
+		if(e.shouldCommit()) {
+			e.method = method;
+			e.key = key;
+			e.bytes = bytes;
+			e.outcome = outcome;
+			e.commit();
+		}
+	}
+
+	/**
+	 * Returns the key recorded for a search query, a hash so that search terms do not end up in recordings
+	 *
+	 * @param query			search terms
+	 * @return				the hash of the search terms
+	 */
+	public static String queryKey(String query) {
+		return query == null ? null : "q:" + Integer.toHexString(query.hashCode());
+	}
+
+	/**
+	 * Returns whether the jdk.jfr module is present
+	 */
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+			return true;
+		} catch(Throwable e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Holds the event types by type constant, loaded on first use so that the jdk.jfr module is not needed without it
+	 */
+	private static class EventTypes {
+
+		static final EventType[] TYPES = {
+				EventType.getEventType(UrlSignEvent.class),
+				EventType.getEventType(HttpExchangeEvent.class),
+				EventType.getEventType(JsonParseEvent.class),
+				EventType.getEventType(ModelMappingEvent.class) };
+	}
+}
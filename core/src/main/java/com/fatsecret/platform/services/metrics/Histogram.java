@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class records the distribution of values, such as latencies in nanoseconds, without locks or allocation
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into eight sub-buckets, so percentiles are
+ * accurate to within 12.5% while the whole range of a long fits in 512 counters.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Histogram {
+
+	/** Number of bits of the value used to pick the sub-bucket within a power of two */
+	private static final int SUB_BUCKET_BITS = 3;
+
+	/** Number of sub-buckets within a power of two */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Number of counters */
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	/** Number of values in each bucket */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/** Number of values recorded */
+	private final AtomicLong count = new AtomicLong();
+
+	/** Sum of the values recorded */
+	private final AtomicLong sum = new AtomicLong();
+
+	/** Largest value recorded */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a value, negative values are recorded as zero
+	 *
+	 * @param value		the value to be recorded
+	 */
+	public void record(long value) {
+		if(value < 0) {
+			value = 0;
+		}
+
+		counts.incrementAndGet(bucket(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+
+		long current;
+		while(value > (current = max.get()) && !max.compareAndSet(current, value)) {
+		}
+	}
+
+	/**
+	 * Returns the number of values recorded
+	 *
+	 * @return			the number of values recorded
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the sum of the values recorded
+	 *
+	 * @return			the sum of the values recorded
+	 */
+	public long getSum() {
+		return sum.get();
+	}
+
+	/**
+	 * Returns the largest value recorded
+	 *
+	 * @return			the largest value recorded, zero if none was recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the mean of the values recorded
+	 *
+	 * @return			the mean of the values recorded, zero if none was recorded
+	 */
+	public double getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : (double) sum.get() / n;
+	}
+
+	/**
+	 * Returns an upper bound of the value below which the given percentage of the recorded values fall
+	 *
+	 * @param percentile	the percentile, for example 99 for the 99th percentile
+	 * @return				the percentile value, zero if none was recorded
+	 */
+	public long getPercentile(double percentile) {
+		long n = count.get();
+		if(n == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+		long seen = 0;
+
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if(seen >= rank) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+
+		return max.get();
+	}
+
+	/**
+	 * Returns the bucket of the value: values below the number of sub-buckets have a bucket each, larger values share
+	 * a bucket with the values having the same highest bits
+	 */
+	static int bucket(long value) {
+		if(value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> exponent) & (SUB_BUCKETS - 1);
+
+		return (exponent + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Returns the largest value that falls into the bucket
+	 */
+	static long upperBound(int bucket) {
+		if(bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+
+		int exponent = bucket / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << exponent;
+		long upper = lowest + (1L << exponent) - 1;
+
+		return upper < 0 ? Long.MAX_VALUE : upper;
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class keeps the metrics of each api method in memory, using lock-free histograms and counters
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class InMemoryMetrics implements Metrics {
+
+	/** Metrics by api method */
+	private final ConcurrentHashMap<String, MethodMetrics> methods = new ConcurrentHashMap<String, MethodMetrics>();
+
+	/** The last recorded concurrency limit, zero if none was recorded */
+	private volatile int concurrencyLimit;
+
+	/** The last recorded number of requests in flight */
+	private volatile int inFlight;
+
+	@Override
+	public void recordPhase(String method, Phase phase, long nanos) {
+		of(method).phases[phase.ordinal()].record(nanos);
+	}
+
+	@Override
+	public void recordPayload(String method, long bytes) {
+		of(method).payload.record(bytes);
+	}
+
+	@Override
+	public void recordWireBytes(String method, long bytes) {
+		of(method).wire.record(bytes);
+	}
+
+	@Override
+	public void recordError(String method, String type) {
+		MethodMetrics metrics = of(method);
+		AtomicLong count = metrics.errors.get(type);
+
+		if(count == null) {
+			AtomicLong created = new AtomicLong();
+			count = metrics.errors.putIfAbsent(type, created);
+			if(count == null) {
+				count = created;
+			}
+		}
+
+		count.incrementAndGet();
+	}
+
+	@Override
+	public void recordCacheLookup(String method, boolean hit) {
+		MethodMetrics metrics = of(method);
+		(hit ? metrics.cacheHits : metrics.cacheMisses).incrementAndGet();
+	}
+
+	@Override
+	public void recordConcurrencyLimit(int limit, int inFlight) {
+		this.concurrencyLimit = limit;
+		this.inFlight = inFlight;
+	}
+
+	/**
+	 * Returns the last recorded adaptive concurrency limit
+	 *
+	 * @return				the concurrency limit, zero if no adaptive limit is used
+	 */
+	public int getConcurrencyLimit() {
+		return concurrencyLimit;
+	}
+
+	/**
+	 * Returns the number of requests in flight when the concurrency limit was last recorded
+	 *
+	 * @return				the number of requests in flight
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * Returns the api methods for which metrics have been recorded
+	 *
+	 * @return				the api methods
+	 */
+	public Set<String> getMethods() {
+		return Collections.unmodifiableSet(methods.keySet());
+	}
+
+	/**
+	 * Returns the metrics recorded for the api method
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @return				the metrics of the method
+	 */
+	public MethodMetrics getMethod(String method) {
+		return of(method);
+	}
+
+	private MethodMetrics of(String method) {
+		MethodMetrics metrics = methods.get(method);
+
+		if(metrics == null) {
+			MethodMetrics created = new MethodMetrics();
+			metrics = methods.putIfAbsent(method, created);
+			if(metrics == null) {
+				metrics = created;
+			}
+		}
+
+		return metrics;
+	}
+
+	/**
+	 * This class holds the metrics recorded for one api method
+	 */
+	public static class MethodMetrics {
+
+		/** Latency in nanoseconds of each phase */
+		private final Histogram[] phases = new Histogram[Phase.values().length];
+
+		/** Size of the response bodies in bytes, once decompressed */
+		private final Histogram payload = new Histogram();
+
+		/** Size of the response bodies in bytes as sent on the wire */
+		private final Histogram wire = new Histogram();
+
+		/** Number of errors by type */
+		private final ConcurrentHashMap<String, AtomicLong> errors = new ConcurrentHashMap<String, AtomicLong>();
+
+		/** Number of lookups served from the cache */
+		private final AtomicLong cacheHits = new AtomicLong();
+
+		/** Number of lookups not served from the cache */
+		private final AtomicLong cacheMisses = new AtomicLong();
+
+		MethodMetrics() {
+			for(int i = 0; i < phases.length; i++) {
+				phases[i] = new Histogram();
+			}
+		}
+
+		/**
+		 * Returns the latency in nanoseconds of the phase
+		 *
+		 * @param phase			the phase of the call
+		 * @return				the latency histogram of the phase
+		 */
+		public Histogram getLatency(Phase phase) {
+			return phases[phase.ordinal()];
+		}
+
+		/**
+		 * Returns the size of the response bodies in bytes, once decompressed
+		 *
+		 * @return				the payload size histogram
+		 */
+		public Histogram getPayload() {
+			return payload;
+		}
+
+		/**
+		 * Returns the size of the response bodies in bytes as sent on the wire
+		 *
+		 * @return				the wire size histogram
+		 */
+		public Histogram getWireBytes() {
+			return wire;
+		}
+
+		/**
+		 * Returns the ratio of the bytes sent on the wire to the bytes of the decompressed bodies
+		 *
+		 * @return				the compression ratio, 1 if the responses were not compressed, zero if none was read
+		 */
+		public double getCompressionRatio() {
+			long decoded = payload.getSum();
+			return decoded == 0 ? 0 : (double) wire.getSum() / decoded;
+		}
+
+		/**
+		 * Returns the number of errors by type
+		 *
+		 * @return				a copy of the error counts
+		 */
+		public Map<String, Long> getErrors() {
+			Map<String, Long> copy = new HashMap<String, Long>();
+			for(Map.Entry<String, AtomicLong> entry : errors.entrySet()) {
+				copy.put(entry.getKey(), entry.getValue().get());
+			}
+			return copy;
+		}
+
+		/**
+		 * Returns the number of lookups served from the cache
+		 *
+		 * @return				the number of cache hits
+		 */
+		public long getCacheHits() {
+			return cacheHits.get();
+		}
+
+		/**
+		 * Returns the number of lookups not served from the cache
+		 *
+		 * @return				the number of cache misses
+		 */
+		public long getCacheMisses() {
+			return cacheMisses.get();
+		}
+
+		/**
+		 * Returns the fraction of lookups served from the cache
+		 *
+		 * @return				the cache hit ratio between 0 and 1, zero if no lookup was made
+		 */
+		public double getCacheHitRatio() {
+			long hits = cacheHits.get();
+			long total = hits + cacheMisses.get();
+			return total == 0 ? 0 : (double) hits / total;
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.metrics;
+
+/**
+ * Callback interface for recording latency, throughput and error metrics of the calls made to fatsecret rest api
+ * <p>
+ * Every method is called on the thread making the call, so implementations must be thread safe and cheap.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public interface Metrics {
+
+	/**
+	 * Phases of a call whose latency is recorded separately
+	 */
+	enum Phase {
+		/** Waiting for a slot under the concurrency limit before the request is sent */
+		QUEUE,
+		/** Building and signing the request url */
+		SIGN,
+		/** Opening the connection to the server */
+		CONNECT,
+		/** Waiting for the status line and headers of the response once connected */
+		TIME_TO_FIRST_BYTE,
+		/** Reading the body of the response */
+		DOWNLOAD,
+		/** Decompressing the body of the response, which happens while it is read and so overlaps the download */
+		DECODE,
+		/** Parsing the body of the response into json */
+		PARSE,
+		/** Waiting before a failed request is retried */
+		BACKOFF
+	}
+
+	/** Metrics which records nothing */
+	Metrics NONE = new Metrics() {
+	};
+
+	/**
+	 * Called when a phase of a call has completed
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param phase			the phase which completed
+	 * @param nanos			time taken by the phase in nanoseconds
+	 */
+	default void recordPhase(String method, Phase phase, long nanos) {
+	}
+
+	/**
+	 * Called when the body of a response has been read
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param bytes			size of the body in bytes, once decompressed
+	 */
+	default void recordPayload(String method, long bytes) {
+	}
+
+	/**
+	 * Called when the body of a response has been read, with the number of bytes received from the server
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param bytes			size of the body in bytes as sent on the wire, before it is decompressed
+	 */
+	default void recordWireBytes(String method, long bytes) {
+	}
+
+	/**
+	 * Called when a request fails
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param type			the type of error, for example "SocketTimeoutException" or "HTTP 5xx"
+	 */
+	default void recordError(String method, String type) {
+	}
+
+	/**
+	 * Called when a cache lookup is made
+	 *
+	 * @param method		the api method, for example "food.get"
+	 * @param hit			true if the item was served from the cache
+	 */
+	default void recordCacheLookup(String method, boolean hit) {
+	}
+
+	/**
+	 * Called when a request sent under an adaptive concurrency limit completes
+	 *
+	 * @param limit			the current concurrency limit
+	 * @param inFlight		the number of requests in flight
+	 */
+	default void recordConcurrencyLimit(int limit, int inFlight) {
+	}
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.reactive;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fatsecret.platform.services.RequestBuilder;
+import com.fatsecret.platform.services.Response;
+import com.fatsecret.platform.utils.LogUtility;
+
+/**
+ * This class publishes the results of a search, fetching pages from fatsecret rest api as subscribers request items
+ * <p>
+ * Every subscriber gets its own subscription, which starts at the first result. A page is only fetched while the
+ * subscriber has outstanding demand, but always at the full page size, so that requesting one result at a time does
+ * not cost one call per result. The results of a page are kept and delivered only as the demand allows, never more.
+ * Pages are fetched and delivered on the executor, one subscription at a time on at most one thread. Cancelling a
+ * subscription stops fetching and drops the results not delivered yet.
+ *
+ * @param <T> the type of the search results
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class SearchPublisher<T> implements Flow.Publisher<T> {
+
+	/**
+	 * Fetches a page of search results
+	 *
+	 * @param <T> the type of the search results
+	 */
+	public interface PageSource<T> {
+
+		/**
+		 * Returns a page of search results
+		 *
+		 * @param pageNumber	zero based page number
+		 * @param pageSize		number of results in each page
+		 * @return				the page of search results
+		 */
+		Response<T> fetch(int pageNumber, int pageSize);
+	}
+
+	/** Fetches the pages of search results */
+	private final PageSource<T> pages;
+
+	/** Number of results in each page */
+	private final int pageSize;
+
+	/** Executor on which pages are fetched and delivered */
+	private final Executor executor;
+
+	/**
+	 * Constructor to create a publisher fetching pages of {@link RequestBuilder#MAX_RESULTS} on a shared pool of daemon
+	 * threads
+	 *
+	 * @param pages			fetches the pages of search results
+	 */
+	public SearchPublisher(PageSource<T> pages) {
+		this(pages, DefaultExecutor.INSTANCE);
+	}
+
+	/**
+	 * Constructor to set values for page source and executor, fetching pages of {@link RequestBuilder#MAX_RESULTS}
+	 *
+	 * @param pages			fetches the pages of search results
+	 * @param executor		executor on which pages are fetched and delivered, fetching blocks the thread
+	 */
+	public SearchPublisher(PageSource<T> pages, Executor executor) {
+		this(pages, RequestBuilder.MAX_RESULTS, executor);
+	}
+
+	/**
+	 * Constructor to set values for page source, page size and executor
+	 *
+	 * @param pages			fetches the pages of search results
+	 * @param pageSize		number of results in each page, at most {@link RequestBuilder#MAX_RESULTS}
+	 * @param executor		executor on which pages are fetched and delivered, fetching blocks the thread
+	 */
+	public SearchPublisher(PageSource<T> pages, int pageSize, Executor executor) {
+		if(pageSize < 1 || pageSize > RequestBuilder.MAX_RESULTS) {
+			throw new IllegalArgumentException("pageSize must be between 1 and " + RequestBuilder.MAX_RESULTS + ": " + pageSize);
+		}
+		this.pages = pages;
+		this.pageSize = pageSize;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		if(subscriber == null) {
+			throw new NullPointerException("subscriber");
+		}
+		subscriber.onSubscribe(new Subscription<T>(pages, pageSize, executor, subscriber));
+	}
+
+	/**
+	 * Subscription delivering the search results to one subscriber
+	 * <p>
+	 * Requests and cancellation may come from any thread. Fetching and delivery run in {@link #run()}, which is
+	 * scheduled whenever the work counter goes up from zero, so it never runs on two threads at once.
+	 */
+	private static final class Subscription<T> implements Flow.Subscription, Runnable {
+
+		/** Fetches the pages of search results */
+		private final PageSource<T> pages;
+
+		/** Number of results in each page */
+		private final int pageSize;
+
+		/** Executor on which pages are fetched and delivered */
+		private final Executor executor;
+
+		/** The subscriber receiving the results */
+		private final Flow.Subscriber<? super T> subscriber;
+
+		/** Number of results requested and not delivered yet */
+		private final AtomicLong requested = new AtomicLong();
+
+		/** Number of signals not yet handled by the delivery loop */
+		private final AtomicInteger work = new AtomicInteger();
+
+		/** Whether the subscription has been cancelled or terminated */
+		private volatile boolean cancelled;
+
+		/** Invalid request which has to be signalled as an error */
+		private volatile IllegalArgumentException invalidRequest;
+
+		/** Results of the current page not delivered yet, only accessed by the delivery loop */
+		private Iterator<T> page;
+
+		/** Number of results delivered so far, only accessed by the delivery loop */
+		private int offset;
+
+		/** Zero based number of the next page to fetch, only accessed by the delivery loop */
+		private int pageNumber;
+
+		/** Total number of results, negative until the first page has been fetched */
+		private int totalResults = -1;
+
+		Subscription(PageSource<T> pages, int pageSize, Executor executor, Flow.Subscriber<? super T> subscriber) {
+			this.pages = pages;
+			this.pageSize = pageSize;
+			this.executor = executor;
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if(n <= 0) {
+				invalidRequest = new IllegalArgumentException("Requested " + n + " items, must be positive");
+			} else {
+				long current, next;
+				do {
+					current = requested.get();
+					next = current + n < 0 ? Long.MAX_VALUE : current + n;
+				} while(!requested.compareAndSet(current, next));
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if(work.getAndIncrement() != 0) {
+				return;
+			}
+
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				if(!cancelled) {
+					cancelled = true;
+					subscriber.onError(e);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				drain();
+				missed = work.addAndGet(-missed);
+			} while(missed != 0);
+		}
+
+		private void drain() {
+			while(true) {
+				if(cancelled) {
+					page = null;
+					return;
+				}
+
+				if(invalidRequest != null) {
+					terminate(invalidRequest);
+					return;
+				}
+
+				boolean exhausted = page == null || !page.hasNext();
+
+				if(exhausted && totalResults >= 0 && offset >= totalResults) {
+					terminate(null);
+					return;
+				}
+
+				long demand = requested.get();
+				if(demand == 0) {
+					return;
+				}
+
+				if(exhausted) {
+					List<T> results;
+
+					try {
+						Response<T> response = pages.fetch(pageNumber++, pageSize);
+						totalResults = response.getTotalResults();
+						results = response.getResults();
+					} catch (RuntimeException e) {
+						terminate(e);
+						return;
+					}
+
+					if(results == null || results.isEmpty()) {
+						terminate(null);
+						return;
+					}
+
+					page = results.iterator();
+					continue;
+				}
+
+				T item = page.next();
+				offset++;
+
+				if(demand != Long.MAX_VALUE) {
+					requested.decrementAndGet();
+				}
+
+				try {
+					subscriber.onNext(item);
+				} catch (RuntimeException e) {
+					LogUtility.warn("Subscriber {} failed, cancelling the subscription", subscriber, e);
+					cancelled = true;
+				}
+			}
+		}
+
+		/**
+		 * Signals completion, or the failure if there is one, and stops the subscription
+		 */
+		private void terminate(Throwable failure) {
+			cancelled = true;
+			page = null;
+
+			if(failure == null) {
+				subscriber.onComplete();
+			} else {
+				subscriber.onError(failure);
+			}
+		}
+	}
+
+	/**
+	 * Holds the shared pool of daemon threads, created on first use
+	 */
+	private static class DefaultExecutor {
+
+		static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "fatsecret-publisher");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+}
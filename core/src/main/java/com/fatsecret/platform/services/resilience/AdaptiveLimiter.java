@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class limits the number of requests in flight, adapting the limit to the round trip times it observes
+ * <p>
+ * The limit follows the TCP Vegas congestion control algorithm. The shortest round trip time seen recently stands for
+ * an idle server. The number of requests queued at the server is estimated as
+ * {@code limit * (1 - shortestRtt / rtt)}: while this queue is short the limit grows, and once it grows long the limit
+ * shrinks. Failures to reach the server shrink the limit as well. The limit does not grow while fewer than half of
+ * the permitted requests are in flight, since their round trip times say nothing about a higher load. The shortest
+ * round trip time is probed again from time to time, so that the limit also recovers after the server got slower for
+ * good.
+ * <p>
+ * Waiting requests park on a {@link ReentrantLock} condition rather than a monitor, so virtual threads do not pin
+ * their carrier thread while queued.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class AdaptiveLimiter {
+
+	/** Smallest limit */
+	private final int minLimit;
+
+	/** Largest limit */
+	private final int maxLimit;
+
+	/** Number of round trips, as a multiple of the limit, after which the shortest round trip time is probed again */
+	private final int probeMultiplier;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition available = lock.newCondition();
+
+	/** Current limit, not rounded */
+	private double estimatedLimit;
+
+	/** Current limit */
+	private volatile int limit;
+
+	/** Number of requests in flight */
+	private volatile int inFlight;
+
+	/** Shortest round trip time seen since the last probe in nanoseconds, zero before the first sample */
+	private long shortestRtt;
+
+	/** Number of round trips recorded since the last probe */
+	private long samplesSinceProbe;
+
+	/**
+	 * Constructor to create a limiter starting at 20 requests, between 1 and 1000
+	 */
+	public AdaptiveLimiter() {
+		this(20, 1, 1000);
+	}
+
+	/**
+	 * Constructor to set values for the initial, smallest and largest limits
+	 *
+	 * @param initialLimit	limit until round trip times have been observed
+	 * @param minLimit		smallest limit
+	 * @param maxLimit		largest limit
+	 */
+	public AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit) {
+		if(minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException("Invalid limits: " + initialLimit + ", " + minLimit + ", " + maxLimit);
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.probeMultiplier = 30;
+		this.estimatedLimit = initialLimit;
+		this.limit = initialLimit;
+	}
+
+	/**
+	 * Returns the current limit
+	 *
+	 * @return				the number of requests which may be in flight
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Returns the number of requests in flight
+	 *
+	 * @return				the number of requests in flight
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * Waits until a request may be sent without exceeding the limit
+	 * <p>
+	 * Every acquired permit must be given back with {@link #release(long, boolean)}.
+	 *
+	 * @param timeout		maximum time to wait
+	 * @param unit			the time unit of the timeout
+	 * @return				true if the request may be sent, false if the timeout elapsed first
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+		long remaining = unit.toNanos(timeout);
+
+		lock.lockInterruptibly();
+		try {
+			while(inFlight >= limit) {
+				if(remaining <= 0) {
+					return false;
+				}
+				remaining = available.awaitNanos(remaining);
+			}
+			inFlight++;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gives back a permit and adapts the limit to the round trip time of the request
+	 *
+	 * @param rttNanos		round trip time of the request in nanoseconds
+	 * @param dropped		true if the request failed to reach the server or timed out
+	 */
+	public void release(long rttNanos, boolean dropped) {
+		lock.lock();
+		try {
+			int before = limit;
+			int sent = inFlight;
+
+			inFlight--;
+			update(rttNanos, sent, dropped);
+
+			if(limit > before) {
+				available.signalAll();
+			} else {
+				available.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Computes the new limit; must be called while holding the lock
+	 */
+	private void update(long rttNanos, int sent, boolean dropped) {
+		if(rttNanos <= 0) {
+			return;
+		}
+
+		if(shortestRtt == 0 || rttNanos < shortestRtt) {
+			shortestRtt = rttNanos;
+		} else if(++samplesSinceProbe > probeMultiplier * (long) limit) {
+			shortestRtt = rttNanos;
+			samplesSinceProbe = 0;
+			return;
+		}
+
+		double log = Math.max(1, Math.log10(estimatedLimit));
+		double queue = Math.ceil(estimatedLimit * (1 - (double) shortestRtt / rttNanos));
+		double next = estimatedLimit;
+
+		if(dropped) {
+			next = estimatedLimit - log;
+		} else if(sent * 2 < estimatedLimit) {
+			return;
+		} else if(queue <= log) {
+			next = estimatedLimit + 6 * log;
+		} else if(queue < 3 * log) {
+			next = estimatedLimit + log;
+		} else if(queue > 6 * log) {
+			next = estimatedLimit - log;
+		}
+
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+		limit = (int) estimatedLimit;
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+/**
+ * This class holds the share of the capacity and the queue length of one priority lane of a {@link PriorityScheduler}
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class Bulkhead {
+
+	/** Maximum number of calls of the lane in flight */
+	private final int maxConcurrentCalls;
+
+	/** Maximum number of calls of the lane waiting for capacity */
+	private final int maxQueuedCalls;
+
+	/**
+	 * Constructor to set values for concurrency share and queue length
+	 *
+	 * @param maxConcurrentCalls	maximum number of calls of the lane in flight
+	 * @param maxQueuedCalls		maximum number of calls of the lane waiting for capacity, further calls are rejected
+	 */
+	public Bulkhead(int maxConcurrentCalls, int maxQueuedCalls) {
+		if(maxConcurrentCalls <= 0 || maxQueuedCalls < 0) {
+			throw new IllegalArgumentException("Invalid bulkhead: " + maxConcurrentCalls + ", " + maxQueuedCalls);
+		}
+		this.maxConcurrentCalls = maxConcurrentCalls;
+		this.maxQueuedCalls = maxQueuedCalls;
+	}
+
+	/**
+	 * Returns the maximum number of calls of the lane in flight
+	 *
+	 * @return		the concurrency share of the lane
+	 */
+	public int getMaxConcurrentCalls() {
+		return maxConcurrentCalls;
+	}
+
+	/**
+	 * Returns the maximum number of calls of the lane waiting for capacity
+	 *
+	 * @return		the queue length of the lane
+	 */
+	public int getMaxQueuedCalls() {
+		return maxQueuedCalls;
+	}
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class stops sending requests to an endpoint which keeps failing or responding slowly
+ * <p>
+ * The breaker records the outcome of the last calls in a sliding window. While CLOSED, it opens as soon as either the
+ * failure rate or the slow call rate of the window reaches its threshold. While OPEN, calls are rejected without being
+ * sent. Once the open duration has elapsed, a few trial calls are let through in HALF_OPEN state, and their outcome
+ * decides whether the breaker closes again or goes back to OPEN.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CircuitBreaker {
+
+	/**
+	 * States of the circuit breaker
+	 */
+	public enum State {
+		/** Calls are sent and their outcomes are recorded */
+		CLOSED,
+		/** Calls are rejected without being sent */
+		OPEN,
+		/** A limited number of trial calls are sent */
+		HALF_OPEN
+	}
+
+	/** Name of the breaker, usually the endpoint and the api method */
+	private final String name;
+
+	/** Thresholds and durations of the breaker */
+	private final CircuitBreakerConfig config;
+
+	/** Listeners notified on state transitions */
+	private final List<CircuitBreakerListener> listeners;
+
+	/** Outcome of the recorded calls, as a ring buffer */
+	private final byte[] outcomes;
+
+	/** Current state */
+	private State state = State.CLOSED;
+
+	/** Number of calls recorded in the window */
+	private int recorded;
+
+	/** Index in the window where the next outcome is recorded */
+	private int next;
+
+	/** Number of failed calls in the window */
+	private int failures;
+
+	/** Number of slow calls in the window */
+	private int slowCalls;
+
+	/** Time in nanoseconds at which the breaker opened */
+	private long openedAt;
+
+	/** Number of trial calls permitted in HALF_OPEN state which have not been recorded yet */
+	private int trialCallsInFlight;
+
+	private static final byte SUCCESS = 0;
+	private static final byte FAILURE = 1;
+	private static final byte SLOW = 2;
+	private static final byte SLOW_FAILURE = FAILURE | SLOW;
+
+	/**
+	 * Constructor to set values for name, configuration and listeners
+	 *
+	 * @param name			name of the breaker
+	 * @param config		thresholds and durations of the breaker
+	 * @param listeners		listeners notified on state transitions
+	 */
+	CircuitBreaker(String name, CircuitBreakerConfig config, List<CircuitBreakerListener> listeners) {
+		this.name = name;
+		this.config = config;
+		this.listeners = listeners;
+		this.outcomes = new byte[config.getWindowSize()];
+	}
+
+	/**
+	 * Returns the name of the breaker
+	 *
+	 * @return				the name of the breaker
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the current state of the breaker
+	 *
+	 * @return				the current state of the breaker
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * Asks the breaker for permission to send a call
+	 * <p>
+	 * A permitted call must be reported with {@link #onSuccess(long)} or {@link #onFailure(long)} once it completes, or
+	 * with {@link #releasePermission()} if it ends without an outcome.
+	 *
+	 * @return				true if the call may be sent, false if it should fail fast
+	 */
+	public boolean tryAcquirePermission() {
+		State from;
+		synchronized(this) {
+			from = state;
+
+			if(state == State.CLOSED) {
+				return true;
+			}
+
+			if(state == State.OPEN) {
+				if(System.nanoTime() - openedAt < TimeUnit.MILLISECONDS.toNanos(config.getOpenDurationMillis())) {
+					return false;
+				}
+				transition(State.HALF_OPEN);
+			}
+
+			if(trialCallsInFlight + recorded >= config.getPermittedCallsInHalfOpenState()) {
+				return false;
+			}
+			trialCallsInFlight++;
+		}
+
+		if(from != State.HALF_OPEN) {
+			notifyListeners(from, State.HALF_OPEN);
+		}
+		return true;
+	}
+
+	/**
+	 * Records a call which completed successfully
+	 *
+	 * @param durationNanos		time taken by the call in nanoseconds
+	 */
+	public void onSuccess(long durationNanos) {
+		record(isSlow(durationNanos) ? SLOW : SUCCESS);
+	}
+
+	/**
+	 * Records a call which failed
+	 *
+	 * @param durationNanos		time taken by the call in nanoseconds
+	 */
+	public void onFailure(long durationNanos) {
+		record(isSlow(durationNanos) ? SLOW_FAILURE : FAILURE);
+	}
+
+	/**
+	 * Gives back the permission of a call which ended without an outcome, such as a cancelled call
+	 * <p>
+	 * Nothing is recorded in the window, so the call counts neither as a success nor as a failure; in HALF_OPEN state
+	 * its trial slot is freed for another call.
+	 */
+	public synchronized void releasePermission() {
+		if(state == State.HALF_OPEN && trialCallsInFlight > 0) {
+			trialCallsInFlight--;
+		}
+	}
+
+	private boolean isSlow(long durationNanos) {
+		return durationNanos >= TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationMillis());
+	}
+
+	private void record(byte outcome) {
+		State from, to;
+		synchronized(this) {
+			from = state;
+
+			if(state == State.OPEN) {
+				return;
+			}
+
+			if(state == State.HALF_OPEN && trialCallsInFlight > 0) {
+				trialCallsInFlight--;
+			}
+
+			if(recorded == outcomes.length) {
+				byte evicted = outcomes[next];
+				failures -= evicted & FAILURE;
+				slowCalls -= (evicted & SLOW) >> 1;
+			} else {
+				recorded++;
+			}
+
+			outcomes[next] = outcome;
+			next = (next + 1) % outcomes.length;
+			failures += outcome & FAILURE;
+			slowCalls += (outcome & SLOW) >> 1;
+
+			int minimumCalls = state == State.HALF_OPEN ? config.getPermittedCallsInHalfOpenState() : config.getMinimumCalls();
+			if(recorded < minimumCalls) {
+				return;
+			}
+
+			if(failures * 100 >= config.getFailureRateThreshold() * recorded
+					|| slowCalls * 100 >= config.getSlowCallRateThreshold() * recorded) {
+				openedAt = System.nanoTime();
+				transition(State.OPEN);
+			} else if(state == State.HALF_OPEN) {
+				transition(State.CLOSED);
+			}
+			to = state;
+		}
+
+		if(from != to) {
+			notifyListeners(from, to);
+		}
+	}
+
+	/**
+	 * Moves to the new state, starting with an empty window; must be called while holding the lock
+	 */
+	private void transition(State to) {
+		state = to;
+		recorded = 0;
+		next = 0;
+		failures = 0;
+		slowCalls = 0;
+		trialCallsInFlight = 0;
+	}
+
+	private void notifyListeners(State from, State to) {
+		for(CircuitBreakerListener listener : listeners) {
+			listener.onStateTransition(this, from, to);
+		}
+	}
+}
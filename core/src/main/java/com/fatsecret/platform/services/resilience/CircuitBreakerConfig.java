@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+/**
+ * This class holds the thresholds and durations of a {@link CircuitBreaker}
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CircuitBreakerConfig {
+
+	/** Percentage of failed calls in the window at which the breaker opens */
+	private final int failureRateThreshold;
+
+	/** Percentage of slow calls in the window at which the breaker opens */
+	private final int slowCallRateThreshold;
+
+	/** Time in milliseconds after which a call is considered slow */
+	private final long slowCallDurationMillis;
+
+	/** Number of most recent calls whose outcome is recorded */
+	private final int windowSize;
+
+	/** Number of calls which must be recorded before the rates are evaluated */
+	private final int minimumCalls;
+
+	/** Time in milliseconds the breaker stays open before trial calls are let through */
+	private final long openDurationMillis;
+
+	/** Number of trial calls let through in HALF_OPEN state */
+	private final int permittedCallsInHalfOpenState;
+
+	/**
+	 * Constructor to create a configuration which opens at 50% failures or 80% calls slower than 5 s over the last
+	 * 50 calls, stays open for 30 s and then lets 5 trial calls through
+	 */
+	public CircuitBreakerConfig() {
+		this(50, 80, 5000, 50, 10, 30000, 5);
+	}
+
+	/**
+	 * Constructor to set values for all the thresholds and durations
+	 *
+	 * @param failureRateThreshold			percentage of failed calls at which the breaker opens
+	 * @param slowCallRateThreshold			percentage of slow calls at which the breaker opens
+	 * @param slowCallDurationMillis		time in milliseconds after which a call is considered slow
+	 * @param windowSize					number of most recent calls whose outcome is recorded
+	 * @param minimumCalls					number of calls which must be recorded before the rates are evaluated
+	 * @param openDurationMillis			time in milliseconds the breaker stays open
+	 * @param permittedCallsInHalfOpenState	number of trial calls let through in HALF_OPEN state
+	 */
+	public CircuitBreakerConfig(int failureRateThreshold, int slowCallRateThreshold, long slowCallDurationMillis,
+			int windowSize, int minimumCalls, long openDurationMillis, int permittedCallsInHalfOpenState) {
+		if(failureRateThreshold <= 0 || failureRateThreshold > 100 || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+			throw new IllegalArgumentException("Rate thresholds must be between 1 and 100");
+		}
+		if(windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+			throw new IllegalArgumentException("Invalid window: " + windowSize + ", minimum calls: " + minimumCalls);
+		}
+		if(permittedCallsInHalfOpenState < 1 || permittedCallsInHalfOpenState > windowSize) {
+			throw new IllegalArgumentException("Invalid permitted calls in half open state: " + permittedCallsInHalfOpenState);
+		}
+		this.failureRateThreshold = failureRateThreshold;
+		this.slowCallRateThreshold = slowCallRateThreshold;
+		this.slowCallDurationMillis = slowCallDurationMillis;
+		this.windowSize = windowSize;
+		this.minimumCalls = minimumCalls;
+		this.openDurationMillis = openDurationMillis;
+		this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+	}
+
+	/**
+	 * Returns the percentage of failed calls in the window at which the breaker opens
+	 *
+	 * @return		the failure rate threshold
+	 */
+	public int getFailureRateThreshold() {
+		return failureRateThreshold;
+	}
+
+	/**
+	 * Returns the percentage of slow calls in the window at which the breaker opens
+	 *
+	 * @return		the slow call rate threshold
+	 */
+	public int getSlowCallRateThreshold() {
+		return slowCallRateThreshold;
+	}
+
+	/**
+	 * Returns the time in milliseconds after which a call is considered slow
+	 *
+	 * @return		the slow call duration in milliseconds
+	 */
+	public long getSlowCallDurationMillis() {
+		return slowCallDurationMillis;
+	}
+
+	/**
+	 * Returns the number of most recent calls whose outcome is recorded
+	 *
+	 * @return		the window size
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * Returns the number of calls which must be recorded before the rates are evaluated
+	 *
+	 * @return		the minimum number of calls
+	 */
+	public int getMinimumCalls() {
+		return minimumCalls;
+	}
+
+	/**
+	 * Returns the time in milliseconds the breaker stays open before trial calls are let through
+	 *
+	 * @return		the open duration in milliseconds
+	 */
+	public long getOpenDurationMillis() {
+		return openDurationMillis;
+	}
+
+	/**
+	 * Returns the number of trial calls let through in HALF_OPEN state
+	 *
+	 * @return		the number of permitted calls in HALF_OPEN state
+	 */
+	public int getPermittedCallsInHalfOpenState() {
+		return permittedCallsInHalfOpenState;
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+/**
+ * Callback listener interface for state transitions of circuit breakers, for example to record them as metrics
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public interface CircuitBreakerListener {
+
+	/**
+	 * Called when a circuit breaker moves from one state to another
+	 *
+	 * @param circuitBreaker	the circuit breaker
+	 * @param from				the previous state
+	 * @param to				the new state
+	 */
+	void onStateTransition(CircuitBreaker circuitBreaker, CircuitBreaker.State from, CircuitBreaker.State to);
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class keeps one {@link CircuitBreaker} per endpoint and api method, all sharing the same configuration and listeners
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class CircuitBreakerRegistry {
+
+	/** Configuration of the circuit breakers */
+	private final CircuitBreakerConfig config;
+
+	/** Circuit breakers by name */
+	private final ConcurrentHashMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<String, CircuitBreaker>();
+
+	/** Listeners notified on state transitions of any circuit breaker */
+	private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<CircuitBreakerListener>();
+
+	/**
+	 * Constructor to create a registry with the default configuration
+	 */
+	public CircuitBreakerRegistry() {
+		this(new CircuitBreakerConfig());
+	}
+
+	/**
+	 * Constructor to set value for configuration
+	 *
+	 * @param config		configuration of the circuit breakers
+	 */
+	public CircuitBreakerRegistry(CircuitBreakerConfig config) {
+		this.config = config;
+	}
+
+	/**
+	 * Returns the circuit breaker for the endpoint and api method, creating it if needed
+	 *
+	 * @param endpoint		the rest url of the endpoint
+	 * @param method		the api method, for example "food.get"
+	 * @return				the circuit breaker
+	 */
+	public CircuitBreaker circuitBreaker(String endpoint, String method) {
+		String name = endpoint + "#" + method;
+		CircuitBreaker circuitBreaker = circuitBreakers.get(name);
+
+		if(circuitBreaker == null) {
+			CircuitBreaker created = new CircuitBreaker(name, config, listeners);
+			circuitBreaker = circuitBreakers.putIfAbsent(name, created);
+			if(circuitBreaker == null) {
+				circuitBreaker = created;
+			}
+		}
+
+		return circuitBreaker;
+	}
+
+	/**
+	 * Adds a listener notified on state transitions of any circuit breaker
+	 *
+	 * @param listener		the listener
+	 */
+	public void addListener(CircuitBreakerListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener
+	 *
+	 * @param listener		the listener
+	 */
+	public void removeListener(CircuitBreakerListener listener) {
+		listeners.remove(listener);
+	}
+}
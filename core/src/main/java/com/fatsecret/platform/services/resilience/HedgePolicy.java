@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class decides when a second request is sent for a call whose first request has not answered yet
+ * <p>
+ * The hedge delay is the configured percentile of the recently observed latencies, bounded by a minimum and maximum
+ * delay. Until enough latencies have been observed, the maximum delay is used. Every hedged request is an extra call
+ * against the fatsecret quota, so it has to be paid for from the {@link RetryBudget} just like a retry.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class HedgePolicy {
+
+	/** Maximum number of threads of the executor shared by policies created with the default constructor */
+	private static final int SHARED_THREADS = 64;
+
+	/** Number of latencies kept for computing the percentile */
+	private static final int SAMPLE_SIZE = 1024;
+
+	/** Number of latencies recorded between two computations of the percentile */
+	private static final int RECOMPUTE_INTERVAL = 64;
+
+	/** Percentile of the observed latencies after which a hedged request is sent */
+	private final double percentile;
+
+	/** Minimum hedge delay in milliseconds */
+	private final long minDelayMillis;
+
+	/** Maximum hedge delay in milliseconds, also used until enough latencies have been observed */
+	private final long maxDelayMillis;
+
+	/** Executor running the hedged requests */
+	private final ExecutorService executor;
+
+	/** Recently observed latencies in milliseconds, as a ring buffer */
+	private final long[] samples = new long[SAMPLE_SIZE];
+
+	/** Number of latencies recorded so far */
+	private long recorded;
+
+	/** Current hedge delay in milliseconds */
+	private volatile long delayMillis;
+
+	/** Number of hedged requests sent */
+	private final AtomicLong hedgedRequests = new AtomicLong();
+
+	/**
+	 * Constructor to create a policy hedging at the 95th percentile, between 50 ms and 2 s
+	 * <p>
+	 * Hedged requests are run on an executor shared by all policies created this way, bounded to a fixed number of
+	 * threads which time out when idle. It does not queue: a hedged request finding every thread busy is not sent.
+	 */
+	public HedgePolicy() {
+		this(95, 50, 2000, Shared.EXECUTOR);
+	}
+
+	/**
+	 * Constructor to set values for percentile, delays and executor
+	 *
+	 * @param percentile		percentile of the observed latencies after which a hedged request is sent, for example 95
+	 * @param minDelayMillis	minimum hedge delay in milliseconds
+	 * @param maxDelayMillis	maximum hedge delay in milliseconds, also used until enough latencies have been observed
+	 * @param executor			executor running the hedged requests, the first request of a call runs on the calling thread;
+	 * 							a hedged request the executor rejects is not sent
+	 */
+	public HedgePolicy(double percentile, long minDelayMillis, long maxDelayMillis, ExecutorService executor) {
+		if(percentile <= 0 || percentile >= 100) {
+			throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+		}
+		if(minDelayMillis < 0 || maxDelayMillis < minDelayMillis) {
+			throw new IllegalArgumentException("Invalid delays: " + minDelayMillis + ", " + maxDelayMillis);
+		}
+		this.percentile = percentile;
+		this.minDelayMillis = minDelayMillis;
+		this.maxDelayMillis = maxDelayMillis;
+		this.executor = executor;
+		this.delayMillis = maxDelayMillis;
+	}
+
+	/**
+	 * Returns the time in milliseconds to wait for the first request before sending a hedged request
+	 *
+	 * @return				the hedge delay in milliseconds
+	 */
+	public long getDelayMillis() {
+		return delayMillis;
+	}
+
+	/**
+	 * Records the latency of a request which completed successfully
+	 *
+	 * @param latencyMillis	the latency of the request in milliseconds
+	 */
+	public void recordLatency(long latencyMillis) {
+		long[] sorted = null;
+
+		synchronized(samples) {
+			samples[(int) (recorded % SAMPLE_SIZE)] = latencyMillis;
+			recorded++;
+
+			if(recorded >= RECOMPUTE_INTERVAL && recorded % RECOMPUTE_INTERVAL == 0) {
+				sorted = Arrays.copyOf(samples, (int) Math.min(recorded, SAMPLE_SIZE));
+			}
+		}
+
+		if(sorted != null) {
+			Arrays.sort(sorted);
+			long value = sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1)];
+			delayMillis = Math.max(minDelayMillis, Math.min(maxDelayMillis, value));
+		}
+	}
+
+	/**
+	 * Asks the budget for permission to send a hedged request
+	 *
+	 * @param budget		the budget shared with retries
+	 * @return				true if a hedged request may be sent
+	 */
+	public boolean tryHedge(RetryBudget budget) {
+		if(!budget.tryWithdraw()) {
+			return false;
+		}
+		hedgedRequests.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Returns the number of hedged requests sent, which count against the fatsecret quota
+	 *
+	 * @return				the number of hedged requests sent
+	 */
+	public long getHedgedRequests() {
+		return hedgedRequests.get();
+	}
+
+	/**
+	 * Returns the executor running the hedged requests
+	 *
+	 * @return				the executor
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Holder of the executor shared by policies created with the default constructor, started on first use
+	 */
+	private static class Shared {
+
+		static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(0, SHARED_THREADS,
+				60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "fatsecret-hedge");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class shares a fixed number of concurrent calls between priority lanes
+ * <p>
+ * Each {@link Priority} has a lane with its own {@link Bulkhead}: a share of the capacity it may use at most and a
+ * queue where its calls wait. A call runs as soon as there is spare capacity, its lane is under its share, and no lane
+ * of higher priority is waiting. When a call completes, the freed slot goes to the highest priority lane which can use
+ * it. Batch calls thus fill whatever capacity interactive calls leave unused, and giving the batch lane a share below
+ * the capacity keeps slots free for interactive calls arriving while batch traffic saturates the service.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class PriorityScheduler {
+
+	/** Maximum number of calls in flight over all the lanes */
+	private final int capacity;
+
+	/** Lanes by priority ordinal, highest priority first */
+	private final Lane[] lanes;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Number of calls in flight over all the lanes */
+	private int inFlight;
+
+	/**
+	 * Constructor to create a scheduler for 32 concurrent calls, of which batch calls may use 24
+	 */
+	public PriorityScheduler() {
+		this(32, new Bulkhead(32, 256), new Bulkhead(24, 4096));
+	}
+
+	/**
+	 * Constructor to set values for capacity and bulkheads
+	 *
+	 * @param capacity		maximum number of calls in flight over all the lanes
+	 * @param interactive	bulkhead of the {@link Priority#INTERACTIVE} lane
+	 * @param batch			bulkhead of the {@link Priority#BATCH} lane
+	 */
+	public PriorityScheduler(int capacity, Bulkhead interactive, Bulkhead batch) {
+		if(capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive: " + capacity);
+		}
+		this.capacity = capacity;
+		this.lanes = new Lane[Priority.values().length];
+		this.lanes[Priority.INTERACTIVE.ordinal()] = new Lane(interactive, lock.newCondition());
+		this.lanes[Priority.BATCH.ordinal()] = new Lane(batch, lock.newCondition());
+	}
+
+	/**
+	 * Returns the maximum number of calls in flight over all the lanes
+	 *
+	 * @return				the capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of calls of the lane in flight
+	 *
+	 * @param priority		the priority of the lane
+	 * @return				the number of calls in flight
+	 */
+	public int getInFlight(Priority priority) {
+		lock.lock();
+		try {
+			return lanes[priority.ordinal()].inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of calls of the lane waiting for capacity
+	 *
+	 * @param priority		the priority of the lane
+	 * @return				the number of queued calls
+	 */
+	public int getQueued(Priority priority) {
+		lock.lock();
+		try {
+			return lanes[priority.ordinal()].queued;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until a call of the priority may run
+	 * <p>
+	 * Every acquired slot must be given back with {@link #release(Priority)}.
+	 *
+	 * @param priority		the priority of the call
+	 * @param timeout		maximum time to wait
+	 * @param unit			the time unit of the timeout
+	 * @return				true if the call may run, false if the queue of the lane is full or the timeout elapsed first
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public boolean acquire(Priority priority, long timeout, TimeUnit unit) throws InterruptedException {
+		Lane lane = lanes[priority.ordinal()];
+		long remaining = unit.toNanos(timeout);
+
+		lock.lockInterruptibly();
+		try {
+			if(canRun(priority.ordinal())) {
+				start(lane);
+				return true;
+			}
+
+			if(lane.queued >= lane.bulkhead.getMaxQueuedCalls()) {
+				return false;
+			}
+
+			boolean ready = false;
+			lane.queued++;
+			try {
+				while(!canRun(priority.ordinal())) {
+					if(remaining <= 0) {
+						return false;
+					}
+					remaining = lane.available.awaitNanos(remaining);
+				}
+				ready = true;
+			} finally {
+				lane.queued--;
+
+				// A call giving up may have been handed a slot, and a lane it held back may now run
+				if(!ready) {
+					dispatch();
+				}
+			}
+
+			start(lane);
+			dispatch();
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gives back the slot of a call and hands it to the highest priority lane which can use it
+	 *
+	 * @param priority		the priority of the call
+	 */
+	public void release(Priority priority) {
+		lock.lock();
+		try {
+			lanes[priority.ordinal()].inFlight--;
+			inFlight--;
+			dispatch();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns whether a call of the lane may start now; must be called while holding the lock
+	 */
+	private boolean canRun(int ordinal) {
+		if(inFlight >= capacity || lanes[ordinal].inFlight >= lanes[ordinal].bulkhead.getMaxConcurrentCalls()) {
+			return false;
+		}
+
+		for(int i = 0; i < ordinal; i++) {
+			if(lanes[i].queued > 0 && lanes[i].inFlight < lanes[i].bulkhead.getMaxConcurrentCalls()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void start(Lane lane) {
+		lane.inFlight++;
+		inFlight++;
+	}
+
+	/**
+	 * Wakes up a waiting call of the highest priority lane which can run; must be called while holding the lock
+	 */
+	private void dispatch() {
+		for(int i = 0; i < lanes.length; i++) {
+			if(lanes[i].queued > 0 && canRun(i)) {
+				lanes[i].available.signal();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * The state of one priority lane
+	 */
+	private static class Lane {
+
+		/** Concurrency share and queue length of the lane */
+		final Bulkhead bulkhead;
+
+		/** Signalled when a call of the lane may run */
+		final Condition available;
+
+		/** Number of calls of the lane in flight */
+		int inFlight;
+
+		/** Number of calls of the lane waiting */
+		int queued;
+
+		Lane(Bulkhead bulkhead, Condition available) {
+			this.bulkhead = bulkhead;
+			this.available = available;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class limits retries to a fraction of the calls made, so that retries cannot amplify load during an outage
+ * <p>
+ * Every call deposits a fraction of a token and every retry withdraws a whole token. The balance is capped, so a long
+ * healthy period only buys a bounded burst of retries once the upstream starts failing.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class RetryBudget {
+
+	/** Number of units that make up one token, so that fractional deposits can be kept in a long */
+	private static final long UNITS_PER_TOKEN = 1000;
+
+	/** Units deposited for every call */
+	private final long depositUnits;
+
+	/** Maximum balance in units */
+	private final long maximumUnits;
+
+	/** Current balance in units */
+	private final AtomicLong balance;
+
+	/**
+	 * Constructor to create a budget allowing retries for a tenth of the calls with a reserve of ten retries
+	 */
+	public RetryBudget() {
+		this(0.1, 10);
+	}
+
+	/**
+	 * Constructor to set values for retry ratio and maximum reserve
+	 *
+	 * @param retryRatio		retries allowed per call, for example 0.1 to allow one retry every ten calls
+	 * @param maximumReserve	maximum number of retries that can be saved up, which is also the initial reserve
+	 */
+	public RetryBudget(double retryRatio, int maximumReserve) {
+		if(retryRatio < 0) {
+			throw new IllegalArgumentException("retryRatio must not be negative: " + retryRatio);
+		}
+		if(maximumReserve < 0) {
+			throw new IllegalArgumentException("maximumReserve must not be negative: " + maximumReserve);
+		}
+		this.depositUnits = (long) (retryRatio * UNITS_PER_TOKEN);
+		this.maximumUnits = maximumReserve * UNITS_PER_TOKEN;
+		this.balance = new AtomicLong(maximumUnits);
+	}
+
+	/**
+	 * Records a call, which earns a fraction of a retry
+	 */
+	public void deposit() {
+		long current;
+		do {
+			current = balance.get();
+			if(current >= maximumUnits) {
+				return;
+			}
+		} while(!balance.compareAndSet(current, Math.min(maximumUnits, current + depositUnits)));
+	}
+
+	/**
+	 * Withdraws one retry from the budget
+	 *
+	 * @return			true if a retry is allowed, false if the budget is exhausted
+	 */
+	public boolean tryWithdraw() {
+		long current;
+		do {
+			current = balance.get();
+			if(current < UNITS_PER_TOKEN) {
+				return false;
+			}
+		} while(!balance.compareAndSet(current, current - UNITS_PER_TOKEN));
+		return true;
+	}
+
+	/**
+	 * Returns the number of retries currently available
+	 *
+	 * @return			the number of retries currently available
+	 */
+	public int getAvailableRetries() {
+		return (int) (balance.get() / UNITS_PER_TOKEN);
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.resilience;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class decides whether and when a failed request to the fatsecret rest api is retried
+ * <p>
+ * Delays grow exponentially with decorrelated jitter: each delay is picked at random between the base delay and three
+ * times the previous delay, or the base delay before the first retry, capped at the maximum delay. Only idempotent HTTP methods are retried, every call must
+ * finish within the per-call deadline, and every retry has to be paid for from the {@link RetryBudget}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class RetryPolicy {
+
+	/** Maximum number of attempts, including the first one */
+	private final int maxAttempts;
+
+	/** Minimum delay between attempts in milliseconds */
+	private final long baseDelayMillis;
+
+	/** Maximum delay between attempts in milliseconds */
+	private final long maxDelayMillis;
+
+	/** Time in milliseconds after which a call is not retried any more */
+	private final long deadlineMillis;
+
+	/** Budget shared by all the calls using this policy */
+	private final RetryBudget budget;
+
+	/**
+	 * Constructor to create a policy with three attempts, delays between 100 ms and 2 s, a 10 s deadline and a default budget
+	 */
+	public RetryPolicy() {
+		this(3, 100, 2000, 10000, new RetryBudget());
+	}
+
+	/**
+	 * Constructor to set values for attempts, delays, deadline and budget
+	 *
+	 * @param maxAttempts		maximum number of attempts, including the first one
+	 * @param baseDelayMillis	minimum delay between attempts in milliseconds
+	 * @param maxDelayMillis	maximum delay between attempts in milliseconds
+	 * @param deadlineMillis	time in milliseconds after which a call is not retried any more
+	 * @param budget			budget shared by all the calls using this policy
+	 */
+	public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, long deadlineMillis, RetryBudget budget) {
+		if(maxAttempts < 1) {
+			throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+		}
+		if(baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+			throw new IllegalArgumentException("Invalid delays: " + baseDelayMillis + ", " + maxDelayMillis);
+		}
+		this.maxAttempts = maxAttempts;
+		this.baseDelayMillis = baseDelayMillis;
+		this.maxDelayMillis = maxDelayMillis;
+		this.deadlineMillis = deadlineMillis;
+		this.budget = budget;
+	}
+
+	/**
+	 * Returns a policy which never retries
+	 *
+	 * @return				a policy with a single attempt
+	 */
+	public static RetryPolicy noRetries() {
+		return new RetryPolicy(1, 0, 0, 0, new RetryBudget(0, 0));
+	}
+
+	/**
+	 * Returns whether requests using the HTTP method can be sent again without side effects
+	 *
+	 * @param httpMethod	the HTTP method of the request
+	 * @return				true if the method is idempotent
+	 */
+	public boolean isIdempotent(String httpMethod) {
+		return "GET".equals(httpMethod) || "HEAD".equals(httpMethod) || "PUT".equals(httpMethod)
+				|| "DELETE".equals(httpMethod) || "OPTIONS".equals(httpMethod);
+	}
+
+	/**
+	 * Returns whether a response with the HTTP status code is worth retrying
+	 *
+	 * @param statusCode	the HTTP status code of the response
+	 * @return				true for server errors
+	 */
+	public boolean isRetryableStatus(int statusCode) {
+		return statusCode >= 500;
+	}
+
+	/**
+	 * Records the start of a call, which adds to the retry budget
+	 */
+	public void onCall() {
+		budget.deposit();
+	}
+
+	/**
+	 * Returns the delay before the next attempt, or -1 if the call should not be retried
+	 *
+	 * @param attempt			number of attempts made so far
+	 * @param previousDelay		delay in milliseconds before the previous attempt, zero after the first attempt
+	 * @param remainingMillis	time in milliseconds left before the deadline of the call
+	 * @return					delay in milliseconds before the next attempt, or -1 to give up
+	 */
+	public long nextDelay(int attempt, long previousDelay, long remainingMillis) {
+		if(attempt >= maxAttempts) {
+			return -1;
+		}
+
+		long previous = previousDelay > 0 ? previousDelay : baseDelayMillis;
+		long upper = Math.min(maxDelayMillis, Math.max(baseDelayMillis, previous * 3));
+		long delay = upper > baseDelayMillis ? ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1) : baseDelayMillis;
+
+		if(delay >= remainingMillis || !budget.tryWithdraw()) {
+			return -1;
+		}
+
+		return delay;
+	}
+
+	/**
+	 * Returns the maximum number of attempts, including the first one
+	 *
+	 * @return				the maximum number of attempts
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * Returns the time in milliseconds after which a call is not retried any more
+	 *
+	 * @return				the per-call deadline in milliseconds
+	 */
+	public long getDeadlineMillis() {
+		return deadlineMillis;
+	}
+
+	/**
+	 * Returns the budget shared by all the calls using this policy
+	 *
+	 * @return				the retry budget
+	 */
+	public RetryBudget getBudget() {
+		return budget;
+	}
+}
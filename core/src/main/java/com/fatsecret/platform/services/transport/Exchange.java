@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.metrics.Metrics;
+
+/**
+ * This class tracks one call while its attempts are sent, so that another thread can cancel it or expire it once its
+ * deadline has passed
+ * <p>
+ * The exchange also times the phases of the current attempt: {@link #begin()} starts the CONNECT phase, each call of
+ * {@link #enter(Metrics.Phase)} records the phase which ended, and {@link #complete()} records the last one.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public final class Exchange {
+
+	/** The api method of the call */
+	private final String method;
+
+	/** The identifier of the item or the hash of the search query */
+	private final String key;
+
+	/** Time in nanoseconds, as given by {@link System#nanoTime()}, after which the call gives up */
+	private final long deadline;
+
+	/** Records the latency of the phases */
+	private final Metrics metrics;
+
+	/** Aborts the current attempt, null if none is in progress */
+	private volatile Runnable abort;
+
+	/** Whether the call has been cancelled */
+	private volatile boolean cancelled;
+
+	/** Whether the call has received its response */
+	private volatile boolean completed;
+
+	/** Whether the current attempt was aborted because the deadline passed */
+	private volatile boolean expired;
+
+	/** Phase of the current attempt, moved on by the thread driving the transport and read by the calling thread */
+	private volatile Metrics.Phase phase = Metrics.Phase.CONNECT;
+
+	/** Time in nanoseconds at which the phase started */
+	private volatile long phaseStart;
+
+	/** Counts the bytes of the body of the current attempt as received, null until the body is read */
+	private CountingInputStream wire;
+
+	/**
+	 * Constructor to set values for the call
+	 *
+	 * @param method		the api method of the call, for example "food.get"
+	 * @param key			the identifier of the item or the hash of the search query
+	 * @param deadline		time in nanoseconds, as given by {@link System#nanoTime()}, after which the call gives up
+	 * @param metrics		records the latency of the phases
+	 */
+	public Exchange(String method, String key, long deadline, Metrics metrics) {
+		this.method = method;
+		this.key = key;
+		this.deadline = deadline;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Returns the api method of the call
+	 *
+	 * @return				the api method
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Returns the identifier of the item or the hash of the search query
+	 *
+	 * @return				the key of the call
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the time in nanoseconds, as given by {@link System#nanoTime()}, after which the call gives up
+	 *
+	 * @return				the deadline
+	 */
+	public long getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Returns the time left before the deadline in nanoseconds
+	 *
+	 * @return				the remaining time, zero or negative once the deadline has passed
+	 */
+	public long getRemainingNanos() {
+		return deadline - System.nanoTime();
+	}
+
+	/**
+	 * Returns the time left before the deadline in milliseconds, as a positive timeout for blocking socket operations
+	 *
+	 * @return				the remaining time, at least one millisecond
+	 */
+	public int getTimeoutMillis() {
+		return (int) Math.min(Integer.MAX_VALUE, Math.max(1, TimeUnit.NANOSECONDS.toMillis(getRemainingNanos())));
+	}
+
+	/**
+	 * Returns the phase of the current attempt
+	 *
+	 * @return				the phase
+	 */
+	public Metrics.Phase getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Returns the number of bytes of the body received so far for the current attempt
+	 *
+	 * @return				the number of bytes as sent on the wire
+	 */
+	public long getWireBytes() {
+		CountingInputStream current = wire;
+		return current == null ? 0 : current.count;
+	}
+
+	/**
+	 * Returns whether the call has been cancelled
+	 *
+	 * @return				true if the call has been cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * Returns whether the current attempt was aborted because the deadline passed
+	 *
+	 * @return				true if the deadline passed while the attempt was in progress
+	 */
+	public boolean isExpired() {
+		return expired;
+	}
+
+	/**
+	 * Starts a new attempt in the CONNECT phase
+	 */
+	public void begin() {
+		abort = null;
+		wire = null;
+		phase = Metrics.Phase.CONNECT;
+		phaseStart = System.nanoTime();
+	}
+
+	/**
+	 * Records the latency of the current phase and moves to the next one
+	 *
+	 * @param next			the phase which starts now
+	 */
+	public void enter(Metrics.Phase next) {
+		long now = System.nanoTime();
+		metrics.recordPhase(method, phase, now - phaseStart);
+		phase = next;
+		phaseStart = now;
+	}
+
+	/**
+	 * Records the latency of the last phase and marks the call as having received its response, so that it is no
+	 * longer cancelled or expired
+	 */
+	public void complete() {
+		metrics.recordPhase(method, phase, System.nanoTime() - phaseStart);
+		completed = true;
+		abort = null;
+	}
+
+	/**
+	 * Registers how to abort the current attempt, running it at once if the call is already cancelled
+	 *
+	 * @param abort			closes the connection or stream of the attempt
+	 * @throws IOException	if the call has already been cancelled
+	 */
+	public void onAbort(Runnable abort) throws IOException {
+		this.abort = abort;
+
+		if(cancelled) {
+			abort.run();
+			throw new IOException("Request cancelled");
+		}
+	}
+
+	/**
+	 * Cancels the call unless it has already received its response, aborting the current attempt
+	 */
+	public void cancel() {
+		if(completed) {
+			return;
+		}
+
+		cancelled = true;
+		abort();
+	}
+
+	/**
+	 * Aborts the current attempt because the deadline passed, unless the call has already received its response
+	 */
+	public void expire() {
+		if(completed) {
+			return;
+		}
+
+		expired = true;
+		abort();
+	}
+
+	/**
+	 * Reads the body of the response to its end, inflating it as it is read if it is compressed
+	 * <p>
+	 * The latency of the decompression and the size of the body, both as received and once decompressed, are recorded.
+	 *
+	 * @param in				the body as received from the server
+	 * @param contentEncoding	the Content-Encoding of the response, or null if the body is not encoded
+	 * @param contentLength		the Content-Length of the response, or -1 if it is unknown
+	 * @param contentType		the Content-Type of the response, or null if it is unknown
+	 * @return					the body, to be released once parsed
+	 * @throws IOException		if the body cannot be read or decompressed
+	 */
+	public ResponseBody receive(InputStream in, String contentEncoding, long contentLength, String contentType) throws IOException {
+		CountingInputStream counting = new CountingInputStream(in);
+		wire = counting;
+
+		long start = System.nanoTime();
+		InputStream body = counting;
+		ResponseBody content = null;
+
+		try {
+			body = ResponseBody.decode(counting, contentEncoding);
+			content = new ResponseBody(ResponseBody.capacity(contentLength, body != counting), ResponseBody.charset(contentType));
+			content.readFrom(body);
+		} catch(IOException | RuntimeException e) {
+			if(content != null) {
+				content.release();
+			}
+			throw e;
+		} finally {
+			body.close();
+		}
+
+		if(body != counting) {
+			metrics.recordPhase(method, Metrics.Phase.DECODE, Math.max(0, System.nanoTime() - start - counting.nanos));
+		}
+		metrics.recordPayload(method, content.size());
+		metrics.recordWireBytes(method, counting.count);
+
+		return content;
+	}
+
+	/**
+	 * Records the size of a body which the transport read by itself, as received since it is not encoded
+	 *
+	 * @param content		the body
+	 * @return				the body, to be released once parsed
+	 */
+	public ResponseBody receive(ResponseBody content) {
+		metrics.recordPayload(method, content.size());
+		metrics.recordWireBytes(method, content.size());
+
+		return content;
+	}
+
+	private void abort() {
+		Runnable current = abort;
+		if(current != null) {
+			current.run();
+		}
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.metrics.Metrics;
+
+/**
+ * This class sends requests with the {@link HttpClient} of Java 11
+ * <p>
+ * The client negotiates HTTP/2 when the server supports it, in which case every request in flight to the same host is
+ * multiplexed over a single connection instead of holding a connection each. The body is handed over as a stream which
+ * the exchange reads straight into a pooled buffer for the parser, without the client collecting it first.
+ * <p>
+ * Since the client opens and reuses connections on its own, the time to connect is counted in the TIME_TO_FIRST_BYTE
+ * phase. This transport is not available on Android.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class HttpClientTransport implements Transport {
+
+	/** The client sending the requests */
+	private final HttpClient client;
+
+	/**
+	 * Constructor to create a transport preferring HTTP/2 and following redirects
+	 */
+	public HttpClientTransport() {
+		this(HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.build());
+	}
+
+	/**
+	 * Constructor to send requests with the given client
+	 *
+	 * @param client		the client sending the requests
+	 */
+	public HttpClientTransport(HttpClient client) {
+		this.client = client;
+	}
+
+	/**
+	 * Returns the client sending the requests
+	 *
+	 * @return				the http client
+	 */
+	public HttpClient getClient() {
+		return client;
+	}
+
+	@Override
+	public ResponseBody send(String url, Exchange exchange) throws IOException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+				.timeout(Duration.ofMillis(exchange.getTimeoutMillis()))
+				.header("Accept-Encoding", ResponseBody.ACCEPT_ENCODING)
+				.GET()
+				.build();
+
+		CompletableFuture<HttpResponse<InputStream>> future = client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+		exchange.onAbort(() -> future.cancel(true));
+		exchange.enter(Metrics.Phase.TIME_TO_FIRST_BYTE);
+
+		HttpResponse<InputStream> response = await(future, exchange);
+		InputStream in = response.body();
+		exchange.onAbort(() -> closeQuietly(in));
+
+		int statusCode = response.statusCode();
+		if(statusCode >= 400) {
+			closeQuietly(in);
+			throw FatsecretException.of(exchange.getMethod(), statusCode, 0, "Server returned HTTP response code: " + statusCode);
+		}
+
+		exchange.enter(Metrics.Phase.DOWNLOAD);
+		HttpHeaders headers = response.headers();
+
+		return exchange.receive(in, headers.firstValue("Content-Encoding").orElse(null),
+				headers.firstValueAsLong("Content-Length").orElse(-1), headers.firstValue("Content-Type").orElse(null));
+	}
+
+	/**
+	 * Waits for the status line and headers of the response, unwrapping the failure of the request
+	 */
+	private static HttpResponse<InputStream> await(CompletableFuture<HttpResponse<InputStream>> future, Exchange exchange) throws IOException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof HttpTimeoutException) {
+				SocketTimeoutException timeout = new SocketTimeoutException(cause.getMessage());
+				timeout.initCause(cause);
+				throw timeout;
+			}
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			throw new IOException(cause);
+		} catch (CancellationException e) {
+			throw new IOException(exchange.isExpired() ? "Request expired" : "Request cancelled", e);
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the response");
+		}
+	}
+
+	private static void closeQuietly(InputStream in) {
+		try {
+			in.close();
+		} catch (IOException e) {
+			// the stream is being abandoned
+		}
+	}
+}
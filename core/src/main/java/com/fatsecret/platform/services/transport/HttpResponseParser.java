@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import com.fatsecret.platform.services.io.ResponseBody;
+
+/**
+ * This class parses an HTTP/1.1 response incrementally, as its bytes arrive from a non-blocking channel
+ * <p>
+ * The status line and the headers are collected line by line. The body, delimited by its Content-Length, by chunked
+ * transfer encoding or by the end of the connection, is copied from the read buffer straight into a pooled
+ * {@link ResponseBody}, which is left as received: a compressed body is inflated by the caller once complete.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+final class HttpResponseParser {
+
+	/** Maximum length of the status line or of a header line */
+	private static final int MAX_LINE_LENGTH = 16 * 1024;
+
+	/**
+	 * States of the parser
+	 */
+	private enum State {
+		STATUS_LINE, HEADERS, BODY, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, DONE
+	}
+
+	/** Current state */
+	private State state = State.STATUS_LINE;
+
+	/** The line being collected */
+	private byte[] line = new byte[256];
+
+	/** Number of bytes of the line collected so far */
+	private int lineLength;
+
+	/** Number of bytes of the response consumed so far */
+	private long consumed;
+
+	/** Status code of the response */
+	private int statusCode;
+
+	/** Content-Length of the response, -1 if it is unknown */
+	private long contentLength = -1;
+
+	/** Content-Encoding of the response, null if the body is not encoded */
+	private String contentEncoding;
+
+	/** Content-Type of the response, null if it is unknown */
+	private String contentType;
+
+	/** Whether the body uses chunked transfer encoding */
+	private boolean chunked;
+
+	/** Whether the connection may be reused once the response is complete */
+	private boolean keepAlive = true;
+
+	/** Number of bytes left in the body or in the current chunk */
+	private long remaining;
+
+	/** The body as received, null until the headers are complete or once taken */
+	private ResponseBody body;
+
+	/**
+	 * Consumes the bytes of the buffer, up to the end of the response
+	 *
+	 * @param buffer		the bytes received; bytes following the end of the response are left in it
+	 * @return				true if the response is complete
+	 * @throws IOException	if the response is malformed
+	 */
+	boolean feed(ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining() && state != State.DONE) {
+			switch(state) {
+			case BODY:
+			case CHUNK_DATA:
+				remaining -= write(buffer, remaining);
+				if(remaining == 0) {
+					state = state == State.BODY ? State.DONE : State.CHUNK_END;
+				}
+				break;
+			default:
+				if(readLine(buffer)) {
+					onLine(new String(line, 0, lineLength, StandardCharsets.ISO_8859_1));
+					lineLength = 0;
+				}
+			}
+		}
+		return state == State.DONE;
+	}
+
+	/**
+	 * Ends the response when the server closes the connection
+	 *
+	 * @return				true if the body was delimited by the end of the connection and is therefore complete
+	 */
+	boolean finish() {
+		if(state == State.BODY && contentLength < 0) {
+			state = State.DONE;
+		}
+		return state == State.DONE;
+	}
+
+	/**
+	 * Returns whether no byte of the response has been received yet
+	 *
+	 * @return				true if nothing has been received
+	 */
+	boolean isEmpty() {
+		return consumed == 0;
+	}
+
+	/**
+	 * Returns whether the status line and the headers have been received
+	 *
+	 * @return				true once the body is being received
+	 */
+	boolean isHeaderComplete() {
+		return state != State.STATUS_LINE && state != State.HEADERS;
+	}
+
+	/**
+	 * Returns whether the connection may carry another request once the response is complete
+	 *
+	 * @return				true if the connection may be reused
+	 */
+	boolean isKeepAlive() {
+		return keepAlive;
+	}
+
+	/**
+	 * Returns the status code of the response
+	 *
+	 * @return				the status code
+	 */
+	int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Returns the Content-Length of the response
+	 *
+	 * @return				the length of the body as received, -1 if it is unknown
+	 */
+	long getContentLength() {
+		return contentLength;
+	}
+
+	/**
+	 * Returns the Content-Encoding of the response
+	 *
+	 * @return				the encoding, null if the body is not encoded
+	 */
+	String getContentEncoding() {
+		return contentEncoding;
+	}
+
+	/**
+	 * Returns the Content-Type of the response
+	 *
+	 * @return				the content type, null if it is unknown
+	 */
+	String getContentType() {
+		return contentType;
+	}
+
+	/**
+	 * Hands the body over to the caller, who must release it
+	 *
+	 * @return				the body as received
+	 */
+	ResponseBody takeBody() {
+		ResponseBody taken = body;
+		body = null;
+		return taken;
+	}
+
+	/**
+	 * Gives the body back to its pool unless it has been taken
+	 */
+	void release() {
+		if(body != null) {
+			body.release();
+			body = null;
+		}
+	}
+
+	private int write(ByteBuffer buffer, long max) {
+		int n = (int) Math.min(max, buffer.remaining());
+		int limit = buffer.limit();
+
+		buffer.limit(buffer.position() + n);
+		body.write(buffer);
+		buffer.limit(limit);
+
+		consumed += n;
+		return n;
+	}
+
+	/**
+	 * Collects the bytes of the current line, without its line terminator
+	 *
+	 * @return				true if the line is complete
+	 */
+	private boolean readLine(ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			byte b = buffer.get();
+			consumed++;
+
+			if(b == '\n') {
+				if(lineLength > 0 && line[lineLength - 1] == '\r') {
+					lineLength--;
+				}
+				return true;
+			}
+
+			if(lineLength == line.length) {
+				if(lineLength >= MAX_LINE_LENGTH) {
+					throw new IOException("Response header line longer than " + MAX_LINE_LENGTH + " bytes");
+				}
+				byte[] larger = new byte[lineLength * 2];
+				System.arraycopy(line, 0, larger, 0, lineLength);
+				line = larger;
+			}
+			line[lineLength++] = b;
+		}
+		return false;
+	}
+
+	private void onLine(String text) throws IOException {
+		switch(state) {
+		case STATUS_LINE:
+			onStatusLine(text);
+			break;
+		case HEADERS:
+			if(text.isEmpty()) {
+				onHeadersComplete();
+			} else {
+				onHeader(text);
+			}
+			break;
+		case CHUNK_SIZE:
+			onChunkSize(text);
+			break;
+		case CHUNK_END:
+			if(!text.isEmpty()) {
+				throw new IOException("Malformed chunk terminator");
+			}
+			state = State.CHUNK_SIZE;
+			break;
+		case TRAILERS:
+			if(text.isEmpty()) {
+				state = State.DONE;
+			}
+			break;
+		default:
+			throw new IllegalStateException(state.name());
+		}
+	}
+
+	private void onStatusLine(String text) throws IOException {
+		int start = text.indexOf(' ');
+		if(!text.startsWith("HTTP/") || start < 0 || text.length() < start + 4) {
+			throw new IOException("Malformed status line: " + text);
+		}
+
+		try {
+			statusCode = Integer.parseInt(text.substring(start + 1, start + 4));
+		} catch(NumberFormatException e) {
+			throw new IOException("Malformed status line: " + text);
+		}
+
+		keepAlive = !text.startsWith("HTTP/1.0");
+		state = State.HEADERS;
+	}
+
+	private void onHeader(String text) throws IOException {
+		int colon = text.indexOf(':');
+		if(colon <= 0) {
+			throw new IOException("Malformed header: " + text);
+		}
+
+		String name = text.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+		String value = text.substring(colon + 1).trim();
+
+		switch(name) {
+		case "content-length":
+			try {
+				contentLength = Long.parseLong(value);
+			} catch(NumberFormatException e) {
+				throw new IOException("Malformed Content-Length: " + value);
+			}
+			break;
+		case "content-encoding":
+			contentEncoding = value.isEmpty() || value.equalsIgnoreCase("identity") ? null : value;
+			break;
+		case "content-type":
+			contentType = value;
+			break;
+		case "transfer-encoding":
+			chunked = value.toLowerCase(Locale.ROOT).endsWith("chunked");
+			break;
+		case "connection":
+			keepAlive = value.equalsIgnoreCase("keep-alive") || (keepAlive && !value.equalsIgnoreCase("close"));
+			break;
+		default:
+		}
+	}
+
+	private void onHeadersComplete() {
+		if(statusCode >= 100 && statusCode < 200) {
+			contentLength = -1;
+			contentEncoding = null;
+			contentType = null;
+			chunked = false;
+			state = State.STATUS_LINE;
+			return;
+		}
+
+		body = new ResponseBody(ResponseBody.capacity(contentLength, false), ResponseBody.charset(contentType));
+
+		if(statusCode == 204 || statusCode == 304) {
+			state = State.DONE;
+		} else if(chunked) {
+			state = State.CHUNK_SIZE;
+		} else if(contentLength >= 0) {
+			remaining = contentLength;
+			state = remaining == 0 ? State.DONE : State.BODY;
+		} else {
+			keepAlive = false;
+			remaining = Long.MAX_VALUE;
+			state = State.BODY;
+		}
+	}
+
+	private void onChunkSize(String text) throws IOException {
+		int end = text.indexOf(';');
+
+		try {
+			remaining = Long.parseLong((end < 0 ? text : text.substring(0, end)).trim(), 16);
+		} catch(NumberFormatException e) {
+			throw new IOException("Malformed chunk size: " + text);
+		}
+
+		state = remaining == 0 ? State.TRAILERS : State.CHUNK_DATA;
+	}
+}
@@ -0,0 +1,545 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.transport;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.StandardSocketOptions;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.io.BufferPool;
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.metrics.Metrics;
+import com.fatsecret.platform.utils.LogUtility;
+
+/**
+ * This class sends requests over non-blocking socket channels driven by a few event loop threads
+ * <p>
+ * Each event loop owns a {@link Selector} and performs every connect, write and read of the calls given to it, so
+ * thousands of calls can be in flight on a handful of threads instead of a blocked thread per socket. Responses are read
+ * into a pooled direct buffer and fed to an incremental parser, which copies the body straight into the pooled buffer
+ * handed to the json parser. A compressed body is inflated by the calling thread once complete, keeping the event loops
+ * free of cpu bound work. Connections are kept alive and reused per host, and a request sent on a connection which the
+ * server closed while idle is sent again on a new one.
+ * <p>
+ * The thread making the call only waits for its response; combined with the virtual threads of
+ * {@link com.fatsecret.platform.services.concurrent.AsyncFatsecretService} on Java 21, nothing blocks a platform thread
+ * per call. Deadlines and cancellation abort the call on its event loop. Only http urls are supported.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class NioTransport implements Transport {
+
+	/** Default number of event loop threads */
+	public static final int DEFAULT_EVENT_LOOPS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+	/** Size of the direct buffer each event loop reads into */
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	/** Maximum number of idle connections kept for each host by each event loop */
+	private static final int MAX_IDLE_CONNECTIONS = 64;
+
+	/** Pool of the direct buffers holding the requests being written and the responses being read */
+	public static final BufferPool<ByteBuffer> DIRECT = BufferPool.direct(BufferPool.DEFAULT_MAX_BUFFERS, BufferPool.DEFAULT_MAX_BUFFER_SIZE);
+
+	/** The event loops, given calls in turn */
+	private final EventLoop[] loops;
+
+	/** Index of the event loop given the next call */
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * Constructor to create a transport with the default number of event loops
+	 */
+	public NioTransport() {
+		this(DEFAULT_EVENT_LOOPS);
+	}
+
+	/**
+	 * Constructor to set the number of event loop threads
+	 *
+	 * @param eventLoops	number of event loop threads
+	 */
+	public NioTransport(int eventLoops) {
+		if(eventLoops <= 0) {
+			throw new IllegalArgumentException("eventLoops must be positive: " + eventLoops);
+		}
+
+		loops = new EventLoop[eventLoops];
+		for(int i = 0; i < eventLoops; i++) {
+			loops[i] = new EventLoop("fatsecret-nio-" + i);
+		}
+	}
+
+	/**
+	 * Returns the number of event loop threads
+	 *
+	 * @return				the number of event loops
+	 */
+	public int getEventLoops() {
+		return loops.length;
+	}
+
+	@Override
+	public ResponseBody send(String url, Exchange exchange) throws IOException {
+		URL target = new URL(url);
+		if(!"http".equalsIgnoreCase(target.getProtocol())) {
+			throw new MalformedURLException("NioTransport supports http urls only: " + url);
+		}
+
+		int port = target.getPort() < 0 ? target.getDefaultPort() : target.getPort();
+		InetSocketAddress address = new InetSocketAddress(target.getHost(), port);
+		if(address.isUnresolved()) {
+			throw new UnknownHostException(target.getHost());
+		}
+
+		EventLoop loop = loops[Math.floorMod(next.getAndIncrement(), loops.length)];
+		Call call = new Call(loop, address, request(target, port), exchange);
+
+		exchange.onAbort(call::abort);
+		loop.execute(call::start);
+
+		return call.await();
+	}
+
+	/**
+	 * Stops the event loops, failing the calls in flight and closing their connections
+	 */
+	@Override
+	public void close() {
+		for(EventLoop loop : loops) {
+			loop.shutdown();
+		}
+	}
+
+	/**
+	 * Writes the GET request for the url into a pooled direct buffer
+	 */
+	private static ByteBuffer request(URL target, int port) {
+		String file = target.getFile().isEmpty() ? "/" : target.getFile();
+		String host = port == target.getDefaultPort() ? target.getHost() : target.getHost() + ":" + port;
+
+		byte[] bytes = ("GET " + file + " HTTP/1.1\r\n"
+				+ "Host: " + host + "\r\n"
+				+ "Accept-Encoding: " + ResponseBody.ACCEPT_ENCODING + "\r\n"
+				+ "Connection: keep-alive\r\n"
+				+ "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+
+		ByteBuffer buffer = DIRECT.acquire(bytes.length);
+		buffer.clear();
+		buffer.put(bytes).flip();
+
+		return buffer;
+	}
+
+	/**
+	 * A thread running a selector over the connections of its calls
+	 * <p>
+	 * Connections and idle connections are only touched by the event loop thread, other threads hand it tasks.
+	 */
+	private static final class EventLoop implements Runnable {
+
+		/** The selector of the connections */
+		private final Selector selector;
+
+		/** Tasks given by other threads, run by the event loop */
+		private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<Runnable>();
+
+		/** Idle connections by host, the most recently used last */
+		private final Map<InetSocketAddress, ArrayDeque<SocketChannel>> idle = new HashMap<InetSocketAddress, ArrayDeque<SocketChannel>>();
+
+		/** The direct buffer the connections are read into */
+		private final ByteBuffer readBuffer = DIRECT.acquire(READ_BUFFER_SIZE);
+
+		/** The event loop thread */
+		private final Thread thread;
+
+		/** Whether the event loop has been asked to stop */
+		private volatile boolean closed;
+
+		EventLoop(String name) {
+			try {
+				selector = Selector.open();
+			} catch(IOException e) {
+				throw new UncheckedIOException("Unable to open a selector", e);
+			}
+
+			thread = new Thread(this, name);
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		/**
+		 * Gives a task to the event loop, or runs it at once if the event loop has stopped so that it still completes
+		 */
+		void execute(Runnable task) {
+			tasks.add(task);
+
+			if(closed) {
+				runTasks();
+			} else {
+				selector.wakeup();
+			}
+		}
+
+		void shutdown() {
+			closed = true;
+			selector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			try {
+				while(!closed) {
+					selector.select();
+					runTasks();
+
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+					while(keys.hasNext()) {
+						SelectionKey key = keys.next();
+						keys.remove();
+
+						if(!key.isValid()) {
+							continue;
+						}
+
+						Object attachment = key.attachment();
+						if(attachment instanceof Call) {
+							((Call) attachment).ready(key);
+						} else {
+							evict((InetSocketAddress) attachment, key);
+						}
+					}
+				}
+			} catch(IOException | RuntimeException e) {
+				LogUtility.warn("Event loop {} stopped", thread.getName(), e);
+			} finally {
+				closed = true;
+
+				for(SelectionKey key : selector.keys()) {
+					if(key.attachment() instanceof Call) {
+						((Call) key.attachment()).fail(new IOException("Transport closed"));
+					}
+					close(key.channel());
+				}
+				close(selector);
+				runTasks();
+				DIRECT.release(readBuffer);
+			}
+		}
+
+		private void runTasks() {
+			Runnable task;
+			while((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+
+		/**
+		 * Returns an idle connection to the host, or null if there is none
+		 */
+		SocketChannel takeIdle(InetSocketAddress address) {
+			ArrayDeque<SocketChannel> connections = idle.get(address);
+			return connections == null ? null : connections.pollLast();
+		}
+
+		/**
+		 * Keeps the connection for the next call to the host, watching it so that it is closed if the server closes it
+		 */
+		void offerIdle(InetSocketAddress address, SocketChannel channel, SelectionKey key) {
+			ArrayDeque<SocketChannel> connections = idle.computeIfAbsent(address, a -> new ArrayDeque<SocketChannel>());
+
+			if(closed || connections.size() >= MAX_IDLE_CONNECTIONS) {
+				close(channel);
+				return;
+			}
+
+			key.attach(address);
+			key.interestOps(SelectionKey.OP_READ);
+			connections.addLast(channel);
+		}
+
+		/**
+		 * Closes an idle connection which the server closed or sent unexpected bytes on
+		 */
+		private void evict(InetSocketAddress address, SelectionKey key) {
+			ArrayDeque<SocketChannel> connections = idle.get(address);
+			if(connections != null) {
+				connections.remove(key.channel());
+			}
+			close(key.channel());
+		}
+	}
+
+	/**
+	 * A request in flight on an event loop
+	 * <p>
+	 * Apart from {@link #abort()} and {@link #await()}, every method runs on the event loop thread.
+	 */
+	private static final class Call {
+
+		/** The event loop performing the call */
+		private final EventLoop loop;
+
+		/** The address of the host */
+		private final InetSocketAddress address;
+
+		/** The request, in a pooled direct buffer */
+		private final ByteBuffer request;
+
+		/** The state of the call */
+		private final Exchange exchange;
+
+		/** Completed with the parsed response */
+		private final CompletableFuture<HttpResponseParser> response = new CompletableFuture<HttpResponseParser>();
+
+		/** Parses the response as it is read */
+		private HttpResponseParser parser = new HttpResponseParser();
+
+		/** The connection of the call */
+		private SocketChannel channel;
+
+		/** The key of the connection in the selector of the event loop */
+		private SelectionKey key;
+
+		/** Whether the connection was idle in the pool before this call */
+		private boolean reused;
+
+		/** Whether the request is sent again after the idle connection it was first sent on turned out to be closed */
+		private boolean resent;
+
+		/** Whether the call has completed or failed */
+		private boolean done;
+
+		Call(EventLoop loop, InetSocketAddress address, ByteBuffer request, Exchange exchange) {
+			this.loop = loop;
+			this.address = address;
+			this.request = request;
+			this.exchange = exchange;
+		}
+
+		void start() {
+			if(done) {
+				return;
+			}
+
+			try {
+				if(loop.closed) {
+					throw new IOException("Transport closed");
+				}
+
+				channel = loop.takeIdle(address);
+				reused = channel != null;
+
+				if(reused) {
+					key = channel.keyFor(loop.selector);
+					key.attach(this);
+					connected();
+					return;
+				}
+
+				channel = SocketChannel.open();
+				channel.configureBlocking(false);
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				key = channel.register(loop.selector, 0, this);
+
+				if(channel.connect(address)) {
+					connected();
+				} else {
+					key.interestOps(SelectionKey.OP_CONNECT);
+				}
+			} catch(IOException | RuntimeException e) {
+				fail(e);
+			}
+		}
+
+		void ready(SelectionKey key) {
+			try {
+				if(key.isConnectable()) {
+					if(channel.finishConnect()) {
+						connected();
+					}
+				} else if(key.isWritable()) {
+					write();
+				} else if(key.isReadable()) {
+					read();
+				}
+			} catch(IOException | RuntimeException e) {
+				fail(e);
+			}
+		}
+
+		private void connected() throws IOException {
+			// a request sent again has been waiting for its first byte since it was first sent
+			if(!resent) {
+				exchange.enter(Metrics.Phase.TIME_TO_FIRST_BYTE);
+			}
+			write();
+		}
+
+		private void write() throws IOException {
+			channel.write(request);
+			key.interestOps(request.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+		}
+
+		private void read() throws IOException {
+			ByteBuffer buffer = loop.readBuffer;
+			buffer.clear();
+
+			if(channel.read(buffer) < 0) {
+				if(reused && parser.isEmpty()) {
+					retry();
+				} else if(parser.finish()) {
+					complete(false);
+				} else {
+					throw new EOFException("Connection closed before the response was complete");
+				}
+				return;
+			}
+
+			boolean headerComplete = parser.isHeaderComplete();
+			buffer.flip();
+			boolean complete = parser.feed(buffer);
+
+			if(!headerComplete && parser.isHeaderComplete()) {
+				int statusCode = parser.getStatusCode();
+				if(statusCode >= 400) {
+					throw FatsecretException.of(exchange.getMethod(), statusCode, 0, "Server returned HTTP response code: " + statusCode);
+				}
+				exchange.enter(Metrics.Phase.DOWNLOAD);
+			}
+
+			if(complete) {
+				complete(parser.isKeepAlive() && !buffer.hasRemaining());
+			}
+		}
+
+		/**
+		 * Sends the request again on a new connection, the idle one it was sent on having been closed by the server
+		 */
+		private void retry() {
+			resent = true;
+			close(channel);
+			parser.release();
+			parser = new HttpResponseParser();
+			request.rewind();
+			start();
+		}
+
+		private void complete(boolean reusable) {
+			done = true;
+			DIRECT.release(request);
+
+			if(reusable) {
+				loop.offerIdle(address, channel, key);
+			} else {
+				close(channel);
+			}
+
+			response.complete(parser);
+		}
+
+		/**
+		 * Fails the call unless it has completed, closing its connection; may run on any thread once the loop stopped
+		 */
+		void fail(Throwable failure) {
+			if(done) {
+				return;
+			}
+
+			done = true;
+			close(channel);
+			DIRECT.release(request);
+			parser.release();
+			response.completeExceptionally(failure);
+		}
+
+		/**
+		 * Aborts the call from another thread
+		 */
+		void abort() {
+			loop.execute(() -> fail(new IOException("Request aborted")));
+		}
+
+		/**
+		 * Waits for the response, inflating its body if it is compressed
+		 */
+		ResponseBody await() throws IOException {
+			HttpResponseParser parsed;
+			try {
+				parsed = response.get();
+			} catch(InterruptedException e) {
+				abort();
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the response");
+			} catch(ExecutionException e) {
+				Throwable cause = e.getCause();
+				if(cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if(cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IOException(cause);
+			}
+
+			ResponseBody body = parsed.takeBody();
+			if(parsed.getContentEncoding() == null) {
+				return exchange.receive(body);
+			}
+
+			try {
+				return exchange.receive(body.inputStream(), parsed.getContentEncoding(), parsed.getContentLength(), parsed.getContentType());
+			} finally {
+				body.release();
+			}
+		}
+	}
+
+	private static void close(Closeable closeable) {
+		if(closeable == null) {
+			return;
+		}
+
+		try {
+			closeable.close();
+		} catch(IOException e) {
+			LogUtility.debug("Unable to close {}: {}", closeable, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.io.ResponseBody;
+
+/**
+ * This interface sends the requests of {@link com.fatsecret.platform.services.Request} to fatsecret rest api
+ * <p>
+ * A transport only moves bytes: signing, retries, deadlines and parsing stay with the request, so every transport gets
+ * them alike. While sending, an implementation moves the exchange through its phases with
+ * {@link Exchange#enter(com.fatsecret.platform.services.metrics.Metrics.Phase)}, registers how to abort the request with
+ * {@link Exchange#onAbort(Runnable)} and reads the body with {@link Exchange#receive}.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public interface Transport extends Closeable {
+
+	/**
+	 * Sends a GET request for the url and reads the body of a successful response
+	 *
+	 * @param url			the signed rest url
+	 * @param exchange		the state of the call, which may abort the request from another thread
+	 * @return				the body of the response, to be released by the caller once parsed
+	 * @throws IOException	if the server cannot be reached or the request was aborted
+	 * @throws FatsecretException if the server responds with an error status
+	 */
+	ResponseBody send(String url, Exchange exchange) throws IOException;
+
+	/**
+	 * Releases the connections and threads held by the transport
+	 */
+	@Override
+	default void close() {
+	}
+}
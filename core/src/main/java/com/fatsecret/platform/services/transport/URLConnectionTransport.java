@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.services.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.metrics.Metrics;
+
+/**
+ * This class sends requests with {@link URLConnection}, one blocking connection per request in flight
+ * <p>
+ * It is the default transport and works on every platform, Android included. The connect and read timeouts are set to
+ * the time left before the deadline, and disconnecting aborts the request.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class URLConnectionTransport implements Transport {
+
+	@Override
+	public ResponseBody send(String url, Exchange exchange) throws IOException {
+		URLConnection api = new URL(url).openConnection();
+		int timeoutMillis = exchange.getTimeoutMillis();
+		api.setConnectTimeout(timeoutMillis);
+		api.setReadTimeout(timeoutMillis);
+		api.setRequestProperty("Accept-Encoding", ResponseBody.ACCEPT_ENCODING);
+
+		if(api instanceof HttpURLConnection) {
+			exchange.onAbort(((HttpURLConnection) api)::disconnect);
+		}
+
+		api.connect();
+		exchange.enter(Metrics.Phase.TIME_TO_FIRST_BYTE);
+
+		if(api instanceof HttpURLConnection) {
+			int statusCode = ((HttpURLConnection) api).getResponseCode();
+			if(statusCode >= 400) {
+				throw FatsecretException.of(exchange.getMethod(), statusCode, 0, "Server returned HTTP response code: " + statusCode);
+			}
+		}
+
+		InputStream in = api.getInputStream();
+		exchange.enter(Metrics.Phase.DOWNLOAD);
+
+		return exchange.receive(in, api.getContentEncoding(), api.getContentLengthLong(), api.getContentType());
+	}
+}
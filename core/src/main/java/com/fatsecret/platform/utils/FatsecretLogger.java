@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.utils;
+
+/**
+ * This interface receives the diagnostic messages of the library
+ * <p>
+ * It is shaped after SLF4J so that an implementation can forward to any logging framework. Messages are only built
+ * after the matching level check returns true, so a disabled logger costs a single call.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public interface FatsecretLogger {
+
+	/** Logger which discards every message, used by default */
+	FatsecretLogger NONE = new FatsecretLogger() {};
+
+	/**
+	 * Returns whether debug messages are logged
+	 *
+	 * @return				true if debug messages are logged
+	 */
+	default boolean isDebugEnabled() {
+		return false;
+	}
+
+	/**
+	 * Returns whether warning messages are logged
+	 *
+	 * @return				true if warning messages are logged
+	 */
+	default boolean isWarnEnabled() {
+		return false;
+	}
+
+	/**
+	 * Logs a debug message
+	 *
+	 * @param message		the message
+	 */
+	default void debug(String message) {
+	}
+
+	/**
+	 * Logs a warning message along with the failure which caused it
+	 *
+	 * @param message		the message
+	 * @param t				the failure, may be null
+	 */
+	default void warn(String message, Throwable t) {
+	}
+}
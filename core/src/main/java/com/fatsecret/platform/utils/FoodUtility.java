@@ -16,12 +16,15 @@
 package com.fatsecret.platform.utils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.FoodField;
 import com.fatsecret.platform.model.Serving;
 import com.fatsecret.platform.model.CompactFood;
 
@@ -40,50 +43,58 @@ public class FoodUtility {
 	 * @return				detailed information about the food
 	 */
 	public static Food parseFoodFromJSONObject(JSONObject json) {
-		String name = json.getString("food_name");
-		String url = json.getString("food_url");
-		String type = json.getString("food_type");
+		return parseFoodFromJSONObject(json, FoodField.ALL);
+	}
+
+	/**
+	 * Returns the requested information about the food
+	 * <p>
+	 * Fields which are not requested are neither parsed nor allocated and are left null, and the servings are left null
+	 * unless a serving field is requested. The identifier is always parsed.
+	 * 
+	 * @param json			json object representing of the food
+	 * @param fields		the fields to be parsed
+	 * @return				the requested information about the food
+	 */
+	public static Food parseFoodFromJSONObject(JSONObject json, Set<FoodField> fields) {
 		Long id = Long.parseLong(json.getString("food_id"));
-		String brandName = "";
-		
-		try {
-			brandName = json.getString("brand_name");
-		} catch(Exception ignore) {
+		Food.Builder food = Food.builder().id(id);
+
+		if(fields.contains(FoodField.NAME)) {
+			food.name(json.getString("food_name"));
+		}
+		if(fields.contains(FoodField.URL)) {
+			food.url(json.getString("food_url"));
+		}
+		if(fields.contains(FoodField.TYPE)) {
+			food.type(StringInterner.DEFAULT.intern(json.getString("food_type")));
+		}
+		if(fields.contains(FoodField.BRAND_NAME)) {
+			food.brandName(json.optString("brand_name", ""));
+		}
+
+		if(Collections.disjoint(fields, FoodField.SERVING)) {
+			return food.build();
 		}
 
 		JSONObject servingsObj = json.getJSONObject("servings");
 		
-		JSONArray array = null;
+		JSONArray array = servingsObj.optJSONArray("serving");
 		List<Serving> servings = new ArrayList<Serving>();
 		
-		try {
-			array = servingsObj.getJSONArray("serving");
-			servings = ServingUtility.parseServingsFromJSONArray(array);
-		} catch(Exception ignore) {
-			System.out.println("Servings not found");
-			array = null;
-		}
-		
-		if(array == null) {
-			try {
-				JSONObject servingObj = servingsObj.getJSONObject("serving");
-				Serving serving = ServingUtility.parseServingFromJSONObject(servingObj);
-				servings.add(serving);
-			} catch(Exception ignore) {
-				System.out.println("Serving not found");
+		if(array != null) {
+			servings = ServingUtility.parseServingsFromJSONArray(array, fields);
+		} else {
+			JSONObject servingObj = servingsObj.optJSONObject("serving");
+			
+			if(servingObj != null) {
+				servings.add(ServingUtility.parseServingFromJSONObject(servingObj, fields));
+			} else {
+				LogUtility.debug("Servings not found for food {}", id);
 			}
 		}
 
-		Food food = new Food();
-		
-		food.setName(name);
-		food.setUrl(url);
-		food.setType(type);
-		food.setId(id);
-		food.setBrandName(brandName);
-		food.setServings(servings);
-		
-		return food;
+		return food.servings(servings).build();
 	}
 	
 	/**
@@ -96,19 +107,17 @@ public class FoodUtility {
 		
 		String name = json.getString("food_name");
 		String url = json.getString("food_url");
-		String type = json.getString("food_type");
+		String type = StringInterner.DEFAULT.intern(json.getString("food_type"));
 		String description = json.getString("food_description");
 		Long id = Long.parseLong(json.getString("food_id"));
 
-		CompactFood food = new CompactFood();
-		
-		food.setName(name);
-		food.setUrl(url);
-		food.setType(type);
-		food.setDescription(description);
-		food.setId(id);
-		
-		return food;
+		return CompactFood.builder()
+				.name(name)
+				.url(url)
+				.type(type)
+				.description(description)
+				.id(id)
+				.build();
 	}
 
 	/**
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.utils;
+
+/**
+ * This utility class routes the diagnostic messages of the library to the configured {@link FatsecretLogger}
+ * <p>
+ * Messages use "{}" placeholders as in SLF4J and are only formatted when the level is enabled.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class LogUtility {
+
+	/** The logger receiving the messages */
+	private static volatile FatsecretLogger logger = FatsecretLogger.NONE;
+
+	/**
+	 * Returns the logger receiving the messages
+	 *
+	 * @return				the logger, {@link FatsecretLogger#NONE} by default
+	 */
+	public static FatsecretLogger getLogger() {
+		return logger;
+	}
+
+	/**
+	 * Sets the logger receiving the messages
+	 *
+	 * @param logger		the logger, or null to discard every message
+	 */
+	public static void setLogger(FatsecretLogger logger) {
+		LogUtility.logger = logger == null ? FatsecretLogger.NONE : logger;
+	}
+
+	/**
+	 * Logs a debug message with one argument
+	 *
+	 * @param format		the message with a "{}" placeholder
+	 * @param arg			the argument replacing the placeholder
+	 */
+	public static void debug(String format, Object arg) {
+		FatsecretLogger logger = LogUtility.logger;
+		if(logger.isDebugEnabled()) {
+			logger.debug(format(format, arg, null));
+		}
+	}
+
+	/**
+	 * Logs a debug message with two arguments
+	 *
+	 * @param format		the message with "{}" placeholders
+	 * @param arg1			the argument replacing the first placeholder
+	 * @param arg2			the argument replacing the second placeholder
+	 */
+	public static void debug(String format, Object arg1, Object arg2) {
+		FatsecretLogger logger = LogUtility.logger;
+		if(logger.isDebugEnabled()) {
+			logger.debug(format(format, arg1, arg2));
+		}
+	}
+
+	/**
+	 * Logs a warning message with one argument along with the failure which caused it
+	 *
+	 * @param format		the message with a "{}" placeholder
+	 * @param arg			the argument replacing the placeholder
+	 * @param t				the failure, may be null
+	 */
+	public static void warn(String format, Object arg, Throwable t) {
+		FatsecretLogger logger = LogUtility.logger;
+		if(logger.isWarnEnabled()) {
+			logger.warn(format(format, arg, null), t);
+		}
+	}
+
+	/**
+	 * Replaces the first two "{}" placeholders of the message with the arguments
+	 */
+	static String format(String format, Object arg1, Object arg2) {
+		StringBuilder builder = new StringBuilder(format.length() + 32);
+		Object[] args = { arg1, arg2 };
+		int from = 0;
+
+		for(int i = 0; i < args.length; i++) {
+			int at = format.indexOf("{}", from);
+			if(at < 0) {
+				break;
+			}
+			builder.append(format, from, at).append(args[i]);
+			from = at + 2;
+		}
+
+		return builder.append(format, from, format.length()).toString();
+	}
+}
@@ -82,11 +82,11 @@ public class RecipeUtility {
 
 		if(recipeType != null) {
 			for(int i = 0; i < recipeType.length(); i++) {
-				String type = recipeType.getString(i);
+				String type = StringInterner.DEFAULT.intern(recipeType.getString(i));
 				types.add(type);
 			}
 		} else {
-			String type = recipeTypes.getString("recipe_type");
+			String type = StringInterner.DEFAULT.intern(recipeTypes.getString("recipe_type"));
 			types.add(type);
 		}
 		
@@ -175,24 +175,22 @@ public class RecipeUtility {
 			ingredients.add(ingredient);
 		}
 
-		Recipe recipe = new Recipe();
-
-		recipe.setName(name);
-		recipe.setUrl(url);
-		recipe.setDescription(description);
-		recipe.setId(id);
-		recipe.setImages(images);
-		recipe.setRating(rating);
-		recipe.setTypes(types);
-		recipe.setNumberOfServings(numberOfServings);
-		recipe.setPreparationTime(preparationTime);
-		recipe.setCookingTime(cookingTime);
-		recipe.setCategories(categories);
-		recipe.setServing(serving);
-		recipe.setDirections(directions);
-		recipe.setIngredients(ingredients);
-
-		return recipe;
+		return Recipe.builder()
+				.name(name)
+				.url(url)
+				.description(description)
+				.id(id)
+				.images(images)
+				.rating(rating)
+				.types(types)
+				.numberOfServings(numberOfServings)
+				.preparationTime(preparationTime)
+				.cookingTime(cookingTime)
+				.categories(categories)
+				.serving(serving)
+				.directions(directions)
+				.ingredients(ingredients)
+				.build();
 	}
 	
 	/**
@@ -215,15 +213,13 @@ public class RecipeUtility {
 			images.add(image);
 		} catch(Exception ignore) {}
 		
-		CompactRecipe recipe = new CompactRecipe();
-		
-		recipe.setName(name);
-		recipe.setUrl(url);
-		recipe.setDescription(description);
-		recipe.setId(id);
-		recipe.setImages(images);
-		
-		return recipe;
+		return CompactRecipe.builder()
+				.name(name)
+				.url(url)
+				.description(description)
+				.id(id)
+				.images(images)
+				.build();
 		
 	}
 	
@@ -250,14 +246,13 @@ public class RecipeUtility {
 	 * @return				the category that the recipe is classified under
 	 */
 	public static Category parseJsonToCategory(JSONObject json) {
-		String url = json.getString("recipe_category_url");
-		String name = json.getString("recipe_category_name");
+		String url = StringInterner.DEFAULT.intern(json.getString("recipe_category_url"));
+		String name = StringInterner.DEFAULT.intern(json.getString("recipe_category_name"));
 		
-		Category category = new Category();
-		category.setUrl(url);
-		category.setName(name);
-
-		return category;
+		return Category.builder()
+				.url(url)
+				.name(name)
+				.build();
 	}
 	
 	/**
@@ -270,12 +265,10 @@ public class RecipeUtility {
 		Integer number = Integer.parseInt(json.getString("direction_number"));
 		String description = json.getString("direction_description");
 
-		Direction direction = new Direction();
-		
-		direction.setNumber(number);
-		direction.setDescription(description);
-
-		return direction;
+		return Direction.builder()
+				.number(number)
+				.description(description)
+				.build();
 	}
 	
 	/**
@@ -294,16 +287,14 @@ public class RecipeUtility {
 		BigDecimal numberOfUnits = new BigDecimal(json.getString("number_of_units"));
 		String measurementDescription = json.getString("measurement_description");
 
-		Ingredient ingredient = new Ingredient();
-		
-		ingredient.setFoodId(foodId);
-		ingredient.setServingId(servingId);
-		ingredient.setDescription(description);
-		ingredient.setName(name);
-		ingredient.setUrl(url);
-		ingredient.setNumberOfUnits(numberOfUnits);
-		ingredient.setMeasurementDescription(measurementDescription);
-		
-		return ingredient;
+		return Ingredient.builder()
+				.foodId(foodId)
+				.servingId(servingId)
+				.description(description)
+				.name(name)
+				.url(url)
+				.numberOfUnits(numberOfUnits)
+				.measurementDescription(measurementDescription)
+				.build();
 	}
 }
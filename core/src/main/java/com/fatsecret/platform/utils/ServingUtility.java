@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.fatsecret.platform.model.FoodField;
+import com.fatsecret.platform.model.Serving;
+
+/**
+ * This utility class helps to get detailed information about serving(s) for food or recipe item(s) from fatsecret rest api
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class ServingUtility {
+	
+	/**
+	 * Returns food nutrient values according to serving sizes
+	 * 
+	 * @param json			json object representing nutritional information of the food
+	 * @return				food nutrient values according to serving sizes
+	 */
+	public static Serving parseServingFromJSONObject(JSONObject json) {
+		return parseServingFromJSONObject(json, FoodField.ALL);
+	}
+
+	/**
+	 * Returns the requested food nutrient values according to serving sizes
+	 * 
+	 * @param json			json object representing nutritional information of the food
+	 * @param fields		the serving fields to be parsed, others are left null
+	 * @return				food nutrient values according to serving sizes
+	 */
+	public static Serving parseServingFromJSONObject(JSONObject json, Set<FoodField> fields) {
+		Serving.Builder serving = Serving.builder();
+
+		if(fields.contains(FoodField.SERVING_ID)) {
+			try {
+				Long servingId = Long.parseLong(json.getString("serving_id"));
+				serving.servingId(servingId);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.SERVING_DESCRIPTION)) {
+			try {
+				String servingDescription = json.getString("serving_description");
+				serving.servingDescription(servingDescription);			
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.SERVING_URL)) {
+			try {
+				String servingUrl = json.getString("serving_url");
+				serving.servingUrl(servingUrl);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.METRIC_SERVING_AMOUNT)) {
+			try {
+				String metricServingAmountString = json.getString("metric_serving_amount");
+				BigDecimal metricServingAmount = new BigDecimal(metricServingAmountString);
+
+				serving.metricServingAmount(metricServingAmount);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.METRIC_SERVING_UNIT)) {
+			try {
+				String metricServingUnit = json.getString("metric_serving_unit");			
+				serving.metricServingUnit(StringInterner.DEFAULT.intern(metricServingUnit));
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.NUMBER_OF_UNITS)) {
+			try {
+				String numberOfUnitsString = json.getString("number_of_units");
+				BigDecimal numberOfUnits = new BigDecimal(numberOfUnitsString);
+
+				serving.numberOfUnits(numberOfUnits);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.MEASUREMENT_DESCRIPTION)) {
+			try {
+				String measurementDescription = json.getString("measurement_description");			
+				serving.measurementDescription(measurementDescription);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.CALORIES)) {
+			try {
+				String caloriesString = json.getString("calories");
+				BigDecimal calories = new BigDecimal(caloriesString);
+
+				serving.calories(calories);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.CARBOHYDRATE)) {
+			try {
+				String carbohydrateString = json.getString("carbohydrate");
+				BigDecimal carbohydrate = new BigDecimal(carbohydrateString);
+
+				serving.carbohydrate(carbohydrate);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.PROTEIN)) {
+			try {
+				String proteinString = json.getString("protein");
+				BigDecimal protein = new BigDecimal(proteinString);
+
+				serving.protein(protein);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.FAT)) {
+			try {
+				String fatString = json.getString("fat");
+				BigDecimal fat = new BigDecimal(fatString);
+
+				serving.fat(fat);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.SATURATED_FAT)) {
+			try {
+				String saturatedFatString = json.getString("saturated_fat");
+				BigDecimal saturatedFat = new BigDecimal(saturatedFatString);
+
+				serving.saturatedFat(saturatedFat);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.POLYUNSATURATED_FAT)) {
+			try {
+				String polyunsaturatedFatString = json.getString("polyunsaturated_fat");
+				BigDecimal polyunsaturatedFat = new BigDecimal(polyunsaturatedFatString);
+
+				serving.polyunsaturatedFat(polyunsaturatedFat);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.MONOUNSATURATED_FAT)) {
+			try {
+				String monounsaturatedFatString = json.getString("monounsaturated_fat");
+				BigDecimal monounsaturatedFat = new BigDecimal(monounsaturatedFatString);
+
+				serving.monounsaturatedFat(monounsaturatedFat);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.TRANS_FAT)) {
+			try {
+				String transFatString = json.getString("trans_fat");
+				BigDecimal transFat = new BigDecimal(transFatString);
+
+				serving.transFat(transFat);
+			} catch(Exception ignore) {}
+		}
+		
+		if(fields.contains(FoodField.CHOLESTEROL)) {
+			try {
+				String cholesterolString = json.getString("cholesterol");
+				BigDecimal cholesterol = new BigDecimal(cholesterolString);
+
+				serving.cholesterol(cholesterol);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.SODIUM)) {
+			try {
+				String sodiumString = json.getString("sodium");
+				BigDecimal sodium = new BigDecimal(sodiumString);
+
+				serving.sodium(sodium);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.POTASSIUM)) {
+			try {
+				String potassiumString = json.getString("potassium");
+				BigDecimal potassium = new BigDecimal(potassiumString);
+
+				serving.potassium(potassium);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.FIBER)) {
+			try {
+				String fiberString = json.getString("fiber");
+				BigDecimal fiber = new BigDecimal(fiberString);
+
+				serving.fiber(fiber);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.SUGAR)) {
+			try {
+				String sugarString = json.getString("sugar");
+				BigDecimal sugar = new BigDecimal(sugarString);
+
+				serving.sugar(sugar);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.VITAMIN_A)) {
+			try {
+				String vitaminAString = json.getString("vitamin_a");
+				BigDecimal vitaminA = new BigDecimal(vitaminAString);
+
+				serving.vitaminA(vitaminA);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.VITAMIN_C)) {
+			try {
+				String vitaminCString = json.getString("vitamin_c");
+				BigDecimal vitaminC = new BigDecimal(vitaminCString);
+
+				serving.vitaminC(vitaminC);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.CALCIUM)) {
+			try {
+				String calciumString = json.getString("calcium");
+				BigDecimal calcium = new BigDecimal(calciumString);
+
+				serving.calcium(calcium);
+			} catch(Exception ignore) {}
+		}
+
+		if(fields.contains(FoodField.IRON)) {
+			try {
+				String ironString = json.getString("iron");
+				BigDecimal iron = new BigDecimal(ironString);
+
+				serving.iron(iron);
+			} catch(Exception ignore) {}
+		}
+		
+		return serving.build();
+	}
+	
+	/**
+	 * Returns a list of food nutrient values according to different serving sizes
+	 * 
+	 * @param array			json array representing a list of nutrient values according to different serving sizes for a food
+	 * @return				list of food nutrient values according to different serving sizes
+	 */
+	public static List<Serving> parseServingsFromJSONArray(JSONArray array) {
+		return parseServingsFromJSONArray(array, FoodField.ALL);
+	}
+
+	/**
+	 * Returns a list of the requested food nutrient values according to different serving sizes
+	 * 
+	 * @param array			json array representing a list of nutrient values according to different serving sizes for a food
+	 * @param fields		the serving fields to be parsed, others are left null
+	 * @return				list of food nutrient values according to different serving sizes
+	 */
+	public static List<Serving> parseServingsFromJSONArray(JSONArray array, Set<FoodField> fields) {
+		List<Serving> servings = new ArrayList<Serving>(array.length());
+		
+		for(int i = 0; i < array.length(); i++) {
+			JSONObject obj = array.getJSONObject(i);
+			Serving serving = parseServingFromJSONObject(obj, fields);
+			servings.add(serving);
+		}			
+		
+		return servings;
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2016 Saurabh Rane
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fatsecret.platform.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class canonicalizes repetitive string values so that equal values share one instance
+ * <p>
+ * The parsers pass only fields drawn from a small fixed set of values through {@link #DEFAULT}: food types, metric
+ * serving units, recipe types and recipe categories, so that the objects held in a cache share their strings instead
+ * of keeping one copy per object. Free text fields such as serving and measurement descriptions are not interned,
+ * since most of their values are unique to a food and would only fill the interner. The interner is bounded: once it
+ * holds its maximum number of values, further values are returned as they are, so that a field with more distinct
+ * values than expected cannot grow it without limit. Unlike {@link String#intern()}, its values are only those of this
+ * library and are never shared with the rest of the application.
+ *
+ * @author Saurabh Rane
+ * @version 2.0
+ */
+public class StringInterner {
+
+	/** The interner used by the parsers and the cache snapshot */
+	public static final StringInterner DEFAULT = new StringInterner(4096);
+
+	/** The canonical instance of each value, by value */
+	private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<String, String>();
+
+	/** The largest number of values held */
+	private final int maxSize;
+
+	/**
+	 * Constructor to set the largest number of values held
+	 *
+	 * @param maxSize		the largest number of values held
+	 */
+	public StringInterner(int maxSize) {
+		if(maxSize < 0) {
+			throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the canonical instance of the value
+	 *
+	 * @param value			the value, may be null
+	 * @return				the instance equal to the value which was interned first, or the value itself if it is
+	 * 						null or the interner is full
+	 */
+	public String intern(String value) {
+		if(value == null) {
+			return null;
+		}
+
+		String canonical = values.get(value);
+		if(canonical != null) {
+			return canonical;
+		}
+
+		if(values.size() >= maxSize) {
+			return value;
+		}
+
+		canonical = values.putIfAbsent(value, value);
+		return canonical == null ? value : canonical;
+	}
+
+	/**
+	 * Returns the number of values held
+	 *
+	 * @return				the number of distinct values interned so far, at most the maximum size
+	 */
+	public int size() {
+		return values.size();
+	}
+}
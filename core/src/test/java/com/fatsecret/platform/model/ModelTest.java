@@ -0,0 +1,60 @@
+package com.fatsecret.platform.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.services.Response;
+
+public class ModelTest {
+
+	@Test
+	public void testListsAreCopied() {
+		List<Serving> servings = new ArrayList<Serving>();
+		servings.add(Serving.builder().calories(new BigDecimal("95")).build());
+
+		Food food = Food.builder().id(33691L).name("Apple").servings(servings).build();
+		servings.clear();
+
+		assertEquals(1, food.getServings().size());
+
+		try {
+			food.getServings().clear();
+			fail();
+		} catch (UnsupportedOperationException expected) {
+		}
+	}
+
+	@Test
+	public void testResponseIsCopied() {
+		List<CompactFood> foods = new ArrayList<CompactFood>();
+		foods.add(CompactFood.builder().id(33691L).name("Apple").build());
+
+		Response<CompactFood> response = Response.<CompactFood>builder().pageNumber(0).maxResults(20).totalResults(1).results(foods).build();
+		foods.clear();
+
+		assertEquals(1, response.getResults().size());
+
+		try {
+			response.getResults().clear();
+			fail();
+		} catch (UnsupportedOperationException expected) {
+		}
+	}
+
+	@Test
+	public void testEquality() {
+		Food food = Food.builder().id(33691L).name("Apple").build();
+
+		assertEquals(Food.builder().name("Apple").id(33691L).build(), food);
+		assertEquals(Food.builder().name("Apple").id(33691L).build().hashCode(), food.hashCode());
+		assertNotEquals(Food.builder().id(33691L).name("Pear").build(), food);
+		assertNotEquals(CompactFood.builder().id(33691L).name("Apple").build(), food);
+	}
+}
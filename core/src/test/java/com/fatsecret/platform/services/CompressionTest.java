@@ -0,0 +1,66 @@
+package com.fatsecret.platform.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.metrics.InMemoryMetrics;
+import com.fatsecret.platform.services.metrics.Metrics;
+
+public class CompressionTest {
+
+	@Test
+	public void testGzip() throws Exception {
+		assertDecompressed("gzip");
+	}
+
+	@Test
+	public void testDeflate() throws Exception {
+		assertDecompressed("deflate");
+	}
+
+	@Test
+	public void testRawDeflate() throws Exception {
+		byte[] food = StubServer.FOOD.getBytes(StandardCharsets.UTF_8);
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+		try (DeflaterOutputStream out = new DeflaterOutputStream(encoded, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+			out.write(food);
+		}
+
+		try (InputStream in = ResponseBody.decode(new ByteArrayInputStream(encoded.toByteArray()), "deflate")) {
+			ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+			byte[] buffer = new byte[256];
+			for(int n; (n = in.read(buffer)) > 0; ) {
+				decoded.write(buffer, 0, n);
+			}
+			assertEquals(StubServer.FOOD, new String(decoded.toByteArray(), StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void assertDecompressed(String encoding) throws Exception {
+		try (StubServer stub = new StubServer(0)) {
+			stub.setEncoding(encoding);
+			Request request = new Request("key", "secret", stub.getApiUrl());
+
+			JSONObject json = request.getFood(33691L);
+			assertEquals("Apple", json.getJSONObject("food").getString("food_name"));
+
+			InMemoryMetrics.MethodMetrics metrics = ((InMemoryMetrics) request.getMetrics()).getMethod("food.get");
+			assertEquals(StubServer.FOOD.length(), metrics.getPayload().getMax());
+			assertTrue(metrics.getWireBytes().getMax() < metrics.getPayload().getMax());
+			assertTrue(metrics.getCompressionRatio() < 1);
+			assertEquals(1, metrics.getLatency(Metrics.Phase.DECODE).getCount());
+		}
+	}
+}
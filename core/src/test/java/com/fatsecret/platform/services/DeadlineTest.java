@@ -0,0 +1,100 @@
+package com.fatsecret.platform.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.services.metrics.InMemoryMetrics;
+import com.fatsecret.platform.services.metrics.Metrics;
+import com.fatsecret.platform.services.resilience.AdaptiveLimiter;
+import com.fatsecret.platform.services.resilience.Bulkhead;
+import com.fatsecret.platform.services.resilience.CircuitBreaker;
+import com.fatsecret.platform.services.resilience.CircuitBreakerConfig;
+import com.fatsecret.platform.services.resilience.CircuitBreakerRegistry;
+import com.fatsecret.platform.services.resilience.Priority;
+import com.fatsecret.platform.services.resilience.PriorityScheduler;
+import com.fatsecret.platform.services.resilience.RetryPolicy;
+
+public class DeadlineTest {
+
+	@Test
+	public void testDeadlineWhileWaitingForResponse() throws Exception {
+		try (StubServer stub = new StubServer(2000)) {
+			Request request = new Request("key", "secret", stub.getApiUrl());
+			long start = System.nanoTime();
+
+			try {
+				request.getFood(33691L, CallOptions.DEFAULT.withTimeout(200, TimeUnit.MILLISECONDS));
+				fail("Expected the deadline to pass");
+			} catch (DeadlineExceededException e) {
+				assertEquals(Metrics.Phase.TIME_TO_FIRST_BYTE, e.getPhase());
+			}
+
+			assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1500));
+			assertEquals(1, stub.getRequests());
+
+			InMemoryMetrics metrics = (InMemoryMetrics) request.getMetrics();
+			assertEquals(Long.valueOf(1), metrics.getMethod("food.get").getErrors().get("DeadlineExceeded TIME_TO_FIRST_BYTE"));
+		}
+	}
+
+	@Test
+	public void testDeadlineWhileQueued() throws Exception {
+		PriorityScheduler scheduler = new PriorityScheduler(1, new Bulkhead(1, 8), new Bulkhead(1, 8));
+		Request request = new Request("key", "secret", "http://127.0.0.1:1/rest/server.api");
+		request.setScheduler(scheduler);
+
+		assertTrue(scheduler.acquire(Priority.INTERACTIVE, 0, TimeUnit.MILLISECONDS));
+
+		try {
+			request.getFood(33691L, CallOptions.DEFAULT.withTimeout(50, TimeUnit.MILLISECONDS));
+			fail("Expected the deadline to pass");
+		} catch (DeadlineExceededException e) {
+			assertEquals(Metrics.Phase.QUEUE, e.getPhase());
+		} finally {
+			scheduler.release(Priority.INTERACTIVE);
+		}
+
+		assertEquals(0, scheduler.getQueued(Priority.INTERACTIVE));
+	}
+
+	@Test
+	public void testNoDeadlineWithoutRetries() throws Exception {
+		try (StubServer stub = new StubServer(20)) {
+			Request request = new Request("key", "secret", stub.getApiUrl());
+			request.setRetryPolicy(RetryPolicy.noRetries());
+
+			assertNotNull(request.getFood(33691L));
+		}
+	}
+
+	@Test
+	public void testDeadlineIsNotAFailureOfTheServer() throws Exception {
+		try (StubServer stub = new StubServer(500)) {
+			CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(new CircuitBreakerConfig(50, 100, 60000, 2, 1, 30000, 1));
+			AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+			Request request = new Request("key", "secret", stub.getApiUrl());
+			request.setRetryPolicy(RetryPolicy.noRetries());
+			request.setCircuitBreakers(circuitBreakers);
+			request.setLimiter(limiter);
+
+			for(int i = 0; i < 2; i++) {
+				try {
+					request.getFood(33691L, CallOptions.DEFAULT.withTimeout(100, TimeUnit.MILLISECONDS));
+					fail("Expected the deadline to pass");
+				} catch (DeadlineExceededException e) {
+					assertEquals(Metrics.Phase.TIME_TO_FIRST_BYTE, e.getPhase());
+				}
+			}
+
+			assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker(stub.getApiUrl(), "food.get").getState());
+			assertEquals(10, limiter.getLimit());
+			assertEquals(0, limiter.getInFlight());
+		}
+	}
+}
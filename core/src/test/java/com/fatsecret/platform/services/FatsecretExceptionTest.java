@@ -0,0 +1,35 @@
+package com.fatsecret.platform.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FatsecretExceptionTest {
+
+	@Test
+	public void testErrorCodes() {
+		assertTrue(FatsecretException.of("food.get", 0, 5, "Invalid consumer key") instanceof AuthenticationException);
+		assertTrue(FatsecretException.of("food.get", 0, 8, "Invalid signature") instanceof AuthenticationException);
+		assertTrue(FatsecretException.of("food.get", 0, 106, "Invalid ID") instanceof NotFoundException);
+		assertTrue(FatsecretException.of("food.get", 0, 12, "User is performing too many actions") instanceof RateLimitedException);
+		assertEquals(FatsecretException.class, FatsecretException.of("food.get", 0, 101, "Missing required parameter").getClass());
+	}
+
+	@Test
+	public void testStatusCodes() {
+		assertTrue(FatsecretException.of("foods.search", 429, 0, null) instanceof RateLimitedException);
+		assertTrue(FatsecretException.of("foods.search", 401, 0, null) instanceof AuthenticationException);
+		assertTrue(FatsecretException.of("foods.search", 404, 0, null) instanceof NotFoundException);
+
+		FatsecretException failure = FatsecretException.of("foods.search", 503, 0, null);
+		assertTrue(failure instanceof TransportException);
+		assertTrue(failure.isTransient());
+		assertEquals("HTTP 5xx", Request.errorType(failure));
+		assertEquals(503, failure.getStatusCode());
+		assertEquals("foods.search", failure.getMethod());
+
+		assertFalse(FatsecretException.of("foods.search", 429, 0, null).isTransient());
+	}
+}
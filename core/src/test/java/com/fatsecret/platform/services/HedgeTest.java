@@ -0,0 +1,156 @@
+package com.fatsecret.platform.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fatsecret.platform.services.resilience.HedgePolicy;
+import com.fatsecret.platform.services.resilience.RetryBudget;
+import com.fatsecret.platform.services.resilience.RetryPolicy;
+
+public class HedgeTest {
+
+	private StubServer stub;
+
+	private ThreadPoolExecutor executor;
+
+	private HedgePolicy hedgePolicy;
+
+	private Request request;
+
+	@Before
+	public void setUp() throws Exception {
+		stub = new StubServer(0);
+		executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(2);
+		hedgePolicy = new HedgePolicy(95, 50, 50, executor);
+		request = new Request("key", "secret", stub.getApiUrl());
+		request.setRetryPolicy(new RetryPolicy(1, 0, 0, 10000, new RetryBudget()));
+		request.setHedgePolicy(hedgePolicy);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+		stub.close();
+	}
+
+	@Test
+	public void testHedgeAfterDelay() {
+		stub.script(1000, 200);
+		stub.script(0, 200);
+		long start = System.nanoTime();
+
+		assertNotNull(request.getFood(33691L));
+
+		long elapsed = System.nanoTime() - start;
+		assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(800));
+		assertEquals(2, stub.getRequests());
+		assertEquals(1, hedgePolicy.getHedgedRequests());
+	}
+
+	@Test
+	public void testNoHedgeBeforeDelay() {
+		assertNotNull(request.getFood(33691L));
+
+		assertEquals(1, stub.getRequests());
+		assertEquals(0, hedgePolicy.getHedgedRequests());
+	}
+
+	@Test
+	public void testLoserCancelled() throws Exception {
+		stub.script(2000, 200);
+		stub.script(0, 200);
+		long start = System.nanoTime();
+
+		assertNotNull(request.getFood(33691L));
+
+		// the slow first request returns the calling thread once its connection is closed, long before the server answers it
+		assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+		long giveUp = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1000);
+		while(executor.getActiveCount() > 0 && System.nanoTime() < giveUp) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, executor.getActiveCount());
+	}
+
+	@Test
+	public void testFailureFallsThrough() {
+		stub.script(300, 200);
+		stub.script(0, 503);
+
+		assertNotNull(request.getFood(33691L));
+
+		assertEquals(2, stub.getRequests());
+		assertEquals(1, hedgePolicy.getHedgedRequests());
+	}
+
+	@Test
+	public void testSaturatedExecutorSkipsHedge() throws Exception {
+		ThreadPoolExecutor saturated = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+		final CountDownLatch release = new CountDownLatch(1);
+		saturated.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		try {
+			hedgePolicy = new HedgePolicy(95, 50, 50, saturated);
+			request.setHedgePolicy(hedgePolicy);
+			stub.script(200, 200);
+
+			// the first request runs on the calling thread, so it is not held back by the busy executor
+			assertNotNull(request.getFood(33691L));
+
+			assertEquals(1, stub.getRequests());
+			assertEquals(0, hedgePolicy.getHedgedRequests());
+		} finally {
+			release.countDown();
+			saturated.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testBudgetRefusesHedge() {
+		request.setRetryPolicy(RetryPolicy.noRetries());
+		stub.script(200, 200);
+
+		assertNotNull(request.getFood(33691L));
+
+		assertEquals(1, stub.getRequests());
+		assertEquals(0, hedgePolicy.getHedgedRequests());
+	}
+
+	@Test
+	public void testWinningLatencyRecorded() {
+		hedgePolicy = new HedgePolicy(95, 10, 60, executor);
+		request.setHedgePolicy(hedgePolicy);
+		request.setRetryPolicy(new RetryPolicy(1, 0, 0, 10000, new RetryBudget(1, 100)));
+
+		for(int i = 0; i < 64; i++) {
+			stub.script(300, 200);
+			stub.script(0, 200);
+			assertNotNull(request.getFood(33691L));
+		}
+
+		// every call took at least the hedge delay, but the hedged requests which won answered at once
+		assertEquals(64, hedgePolicy.getHedgedRequests());
+		assertTrue(hedgePolicy.getDelayMillis() < 60);
+	}
+}
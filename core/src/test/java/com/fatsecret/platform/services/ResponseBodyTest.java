@@ -0,0 +1,38 @@
+package com.fatsecret.platform.services;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.services.io.ResponseBody;
+
+public class ResponseBodyTest {
+
+	@Test
+	public void testNonAsciiFoodName() throws Exception {
+		try (StubServer stub = new StubServer(0)) {
+			stub.setFood(StubServer.FOOD.replace("\"Apple\"", "\"Crème brûlée à l'érable\""));
+			Request request = new Request("key", "secret", stub.getApiUrl());
+
+			assertEquals("Crème brûlée à l'érable", request.getFood(33691L).getJSONObject("food").getString("food_name"));
+		}
+	}
+
+	@Test
+	public void testCharset() {
+		assertEquals(StandardCharsets.UTF_8, ResponseBody.charset(null));
+		assertEquals(StandardCharsets.UTF_8, ResponseBody.charset("application/json"));
+		assertEquals(StandardCharsets.UTF_8, ResponseBody.charset("application/json; charset=no-such-charset"));
+		assertEquals(StandardCharsets.ISO_8859_1, ResponseBody.charset("text/javascript; charset=\"ISO-8859-1\""));
+	}
+
+	@Test
+	public void testCapacity() {
+		assertEquals(8192, ResponseBody.capacity(-1, false));
+		assertEquals(1234, ResponseBody.capacity(1234, false));
+		assertEquals(4936, ResponseBody.capacity(1234, true));
+		assertEquals(1 << 20, ResponseBody.capacity(Long.MAX_VALUE / 8, true));
+	}
+}
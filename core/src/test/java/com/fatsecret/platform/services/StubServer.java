@@ -0,0 +1,158 @@
+package com.fatsecret.platform.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fatsecret.platform.services.concurrent.VirtualThreads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for fatsecret rest api answering food.get and foods.search after a fixed latency
+ */
+public class StubServer implements AutoCloseable {
+
+	public static final String FOOD = "{\"food\":{\"food_id\":\"33691\",\"food_name\":\"Apple\",\"food_type\":\"Generic\","
+			+ "\"food_url\":\"http://www.fatsecret.com/calories-nutrition/usda/apple\",\"servings\":{\"serving\":{"
+			+ "\"serving_id\":\"29573\",\"serving_description\":\"1 medium\",\"metric_serving_amount\":\"182.000\","
+			+ "\"metric_serving_unit\":\"g\",\"number_of_units\":\"1.000\",\"measurement_description\":\"medium\","
+			+ "\"calories\":\"95\",\"carbohydrate\":\"25.13\",\"protein\":\"0.47\",\"fat\":\"0.31\"}}}}";
+
+	public static final String FOODS = "{\"foods\":{\"max_results\":\"1\",\"page_number\":\"0\",\"total_results\":\"1\","
+			+ "\"food\":{\"food_id\":\"33691\",\"food_name\":\"Apple\",\"food_type\":\"Generic\","
+			+ "\"food_url\":\"http://www.fatsecret.com/calories-nutrition/usda/apple\","
+			+ "\"food_description\":\"Per 100g - Calories: 52kcal\"}}}";
+
+	static {
+		// the response headers and body are written separately, which would otherwise stall on delayed acks
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final HttpServer server;
+
+	private final ExecutorService executor;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private final AtomicLong requests = new AtomicLong();
+
+	private final Queue<long[]> script = new ConcurrentLinkedQueue<long[]>();
+
+	private volatile long latencyMillis;
+
+	private volatile String encoding;
+
+	private volatile String food = FOOD;
+
+	public StubServer(long latencyMillis) throws IOException {
+		this.latencyMillis = latencyMillis;
+		this.executor = VirtualThreads.newExecutor("stub-server");
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 8192);
+		this.server.createContext("/rest/server.api", this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+	}
+
+	public String getApiUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/rest/server.api";
+	}
+
+	public int getMaxInFlight() {
+		return maxInFlight.get();
+	}
+
+	public long getRequests() {
+		return requests.get();
+	}
+
+	public void setLatencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	public void setFood(String food) {
+		this.food = food;
+	}
+
+	public void setEncoding(String encoding) {
+		this.encoding = encoding;
+	}
+
+	/**
+	 * Answers the next request not yet scripted after the given latency and with the given status, instead of the
+	 * configured latency and 200
+	 */
+	public void script(long latencyMillis, int status) {
+		script.add(new long[] { latencyMillis, status });
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int current = inFlight.incrementAndGet();
+		maxInFlight.accumulateAndGet(current, Math::max);
+		requests.incrementAndGet();
+
+		long[] scripted = script.poll();
+		long latencyMillis = scripted != null ? scripted[0] : this.latencyMillis;
+		int status = scripted != null ? (int) scripted[1] : 200;
+
+		try {
+			if(latencyMillis > 0) {
+				Thread.sleep(latencyMillis);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			// counted as done before answering, since the client may send its next request as soon as it has the answer
+			inFlight.decrementAndGet();
+		}
+
+		try {
+
+			String query = exchange.getRequestURI().getRawQuery();
+			byte[] body = (query != null && query.contains("method=foods.search") ? FOODS : food).getBytes(StandardCharsets.UTF_8);
+
+			String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+			String encoding = this.encoding;
+			if(encoding != null && accepted != null && accepted.contains(encoding)) {
+				body = encode(body, encoding);
+				exchange.getResponseHeaders().set("Content-Encoding", encoding);
+			}
+
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, body.length);
+
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static byte[] encode(byte[] body, String encoding) throws IOException {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+		try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(encoded) : new DeflaterOutputStream(encoded)) {
+			out.write(body);
+		}
+
+		return encoded.toByteArray();
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
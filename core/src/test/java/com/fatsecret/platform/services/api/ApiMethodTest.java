@@ -0,0 +1,79 @@
+package com.fatsecret.platform.services.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URL;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import com.fatsecret.platform.model.CompactFood;
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.services.NotFoundException;
+import com.fatsecret.platform.services.RequestBuilder;
+import com.fatsecret.platform.services.Response;
+import com.fatsecret.platform.services.ResponseParseException;
+import com.fatsecret.platform.services.StubServer;
+
+public class ApiMethodTest {
+
+	@Test
+	public void testDecode() {
+		Food food = ApiMethod.FOOD_GET.decode(new JSONObject(StubServer.FOOD));
+		assertEquals(Long.valueOf(33691), food.getId());
+
+		Response<CompactFood> foods = ApiMethod.FOODS_SEARCH.decode(new JSONObject("{\"foods\":{\"max_results\":\"1\","
+				+ "\"page_number\":\"0\",\"total_results\":\"2\",\"food\":[{\"food_id\":\"33691\",\"food_name\":\"Apple\","
+				+ "\"food_type\":\"Generic\",\"food_url\":\"http://www.fatsecret.com\",\"food_description\":\"Per 100g\"}]}}"));
+		assertEquals(2, foods.getTotalResults());
+		assertEquals(1, foods.getResults().size());
+
+		Response<CompactFood> pastLastPage = ApiMethod.FOODS_SEARCH.decode(new JSONObject("{\"foods\":{\"max_results\":\"1\","
+				+ "\"page_number\":\"2\",\"total_results\":\"2\"}}"));
+		assertTrue(pastLastPage.getResults().isEmpty());
+	}
+
+	@Test
+	public void testDecodeFailures() {
+		try {
+			ApiMethod.FOOD_GET.decode(new JSONObject("{\"error\":{\"code\":106,\"message\":\"Invalid ID\"}}"));
+			fail();
+		} catch (NotFoundException e) {
+			assertEquals("food.get", e.getMethod());
+		}
+
+		try {
+			ApiMethod.RECIPE_GET.decode(new JSONObject("{\"food\":{}}"));
+			fail();
+		} catch (ResponseParseException e) {
+			assertEquals("recipe.get", e.getMethod());
+		}
+	}
+
+	@Test
+	public void testWithDecoder() {
+		ApiMethod<Food> idOnly = ApiMethod.FOOD_GET.withDecoder(response -> Food.builder()
+				.id(response.getJSONObject("food").getLong("food_id"))
+				.build());
+
+		assertEquals(ApiMethod.FOOD_GET, idOnly);
+		assertNotSame(ApiMethod.FOOD_GET.getDecoder(), idOnly.getDecoder());
+		assertEquals(Long.valueOf(33691), idOnly.decode(new JSONObject(StubServer.FOOD)).getId());
+	}
+
+	@Test
+	public void testBuildUrl() throws Exception {
+		RequestBuilder builder = new RequestBuilder("key", "secret");
+
+		String query = new URL(builder.buildUrl(ApiRequest.searchFoods("green apple", 1, 20))).getQuery();
+
+		assertTrue(query.contains("method=foods.search"));
+		assertTrue(query.contains("search_expression=green%20apple"));
+		assertTrue(query.contains("page_number=1"));
+		assertTrue(query.contains("max_results=20"));
+		assertTrue(query.contains("oauth_signature="));
+	}
+}
@@ -0,0 +1,168 @@
+package com.fatsecret.platform.services.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.Recipe;
+import com.fatsecret.platform.model.Serving;
+
+public class CacheSnapshotTest {
+	private File file;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("fatsecret", ".snapshot");
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testWriteAndLoad() throws Exception {
+		ResponseCache cache = new ResponseCache();
+		cache.putFood(285243L, food(285243L, "Penne"));
+		cache.putFood(1844450L, food(1844450L, "Kale Chips"));
+
+		Recipe recipe = Recipe.builder()
+				.id(315L)
+				.name("Baked Lemon Snapper")
+				.types(Arrays.asList("Main Dish"))
+				.build();
+		cache.putRecipe(315L, recipe);
+
+		cache.getFood(285243L);
+		cache.getFood(285243L);
+		cache.getRecipe(315L);
+
+		assertEquals(2, new CacheSnapshot(cache, file, 2).write());
+
+		ResponseCache restored = new ResponseCache();
+		CacheSnapshot.LoadResult result = new CacheSnapshot(restored, file, 2).load(2);
+
+		assertEquals(2, result.getRestoredEntries());
+		assertNull(restored.getFood(1844450L));
+
+		Food food = restored.getFood(285243L);
+		assertNotNull(food);
+		assertEquals("Penne", food.getName());
+		assertEquals(new BigDecimal("1.50"), food.getServings().get(0).getCalories());
+		assertEquals("Main Dish", restored.getRecipe(315L).getTypes().get(0));
+		assertEquals(food(285243L, "Penne"), food);
+		assertEquals(food(285243L, "Penne").hashCode(), food.hashCode());
+		assertEquals(recipe, restored.getRecipe(315L));
+	}
+
+	@Test
+	public void testLoadMissingFile() throws Exception {
+		file.delete();
+		assertEquals(0, new CacheSnapshot(new ResponseCache(), file, 10).load().getRestoredEntries());
+	}
+
+	@Test
+	public void testStaleEntryKeepsItsAge() throws Exception {
+		ResponseCache cache = new ResponseCache(10, 50);
+		cache.putFood(285243L, food(285243L, "Penne"));
+		Thread.sleep(80);
+
+		assertEquals(1, new CacheSnapshot(cache, file, 10).write());
+
+		ResponseCache restored = new ResponseCache(10, 50);
+		assertEquals(1, new CacheSnapshot(restored, file, 10).load().getRestoredEntries());
+
+		assertNull(restored.getFood(285243L));
+		assertEquals("Penne", restored.getStaleFood(285243L).getName());
+	}
+
+	@Test
+	public void testFailedWriteLeavesNoTemporaryFile() throws Exception {
+		File directory = Files.createTempDirectory("fatsecret").toFile();
+		File target = new File(directory, "snapshot");
+		File child = new File(target, "child");
+		assertTrue(child.getParentFile().mkdir() && child.createNewFile());
+
+		ResponseCache cache = new ResponseCache();
+		cache.putFood(285243L, food(285243L, "Penne"));
+
+		try {
+			// a non-empty directory cannot be replaced by the snapshot
+			new CacheSnapshot(cache, target, 10).write();
+			fail("Expected the write to fail");
+		} catch (IOException expected) {
+		} finally {
+			assertFalse(new File(target.getPath() + ".tmp").exists());
+			child.delete();
+			target.delete();
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void testWriteWhileLookupsCountHits() throws Exception {
+		final ResponseCache cache = new ResponseCache(200, 0);
+		for(long id = 0; id < 200; id++) {
+			cache.putFood(id, food(id, "Food " + id));
+		}
+
+		final AtomicBoolean done = new AtomicBoolean();
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				Random random = new Random(42);
+				while(!done.get()) {
+					cache.getFood((long) random.nextInt(400));
+				}
+			}
+		});
+		reader.start();
+
+		try {
+			CacheSnapshot snapshot = new CacheSnapshot(cache, file, 200);
+			for(int i = 0; i < 200; i++) {
+				snapshot.write();
+				cache.putFood(200L + i, food(200L + i, "Food"));
+			}
+		} finally {
+			done.set(true);
+			reader.join();
+		}
+	}
+
+	private static Food food(Long id, String name) {
+		Serving serving = Serving.builder()
+				.servingId(1L)
+				.metricServingUnit("g")
+				.calories(new BigDecimal("1.50"))
+				.build();
+
+		List<Serving> servings = new ArrayList<Serving>();
+		servings.add(serving);
+
+		return Food.builder()
+				.id(id)
+				.name(name)
+				.type("Generic")
+				.servings(servings)
+				.build();
+	}
+}
@@ -0,0 +1,67 @@
+package com.fatsecret.platform.services.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.services.FatsecretService;
+import com.fatsecret.platform.services.StubServer;
+
+public class AsyncFatsecretServiceTest {
+
+	@Test
+	public void testConcurrencyLimit() throws Exception {
+		try (StubServer stub = new StubServer(20);
+				AsyncFatsecretService service = new AsyncFatsecretService(new FatsecretService("key", "secret", stub.getApiUrl()), 8)) {
+			List<CompletableFuture<Food>> futures = new ArrayList<CompletableFuture<Food>>();
+
+			for(int i = 0; i < 64; i++) {
+				futures.add(service.getFood(33691L));
+			}
+
+			for(CompletableFuture<Food> future : futures) {
+				assertEquals("Apple", future.get().getName());
+				assertEquals(1, future.get().getServings().size());
+			}
+
+			assertEquals(64, stub.getRequests());
+			assertTrue(stub.getMaxInFlight() <= 8);
+			assertEquals(0, service.getCallsInFlight());
+		}
+	}
+
+	@Test
+	public void testQueuedCallsHoldNoThread() throws Exception {
+		ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+
+		try (StubServer stub = new StubServer(500);
+				AsyncFatsecretService service = new AsyncFatsecretService(new FatsecretService("key", "secret", stub.getApiUrl()), 4, executor)) {
+			List<CompletableFuture<Food>> futures = new ArrayList<CompletableFuture<Food>>();
+
+			for(int i = 0; i < 32; i++) {
+				futures.add(service.getFood(33691L));
+			}
+
+			assertEquals(28, service.getQueuedCalls());
+			assertEquals(4, executor.getPoolSize());
+
+			stub.setLatencyMillis(0);
+			for(CompletableFuture<Food> future : futures) {
+				assertEquals("Apple", future.get().getName());
+			}
+
+			assertEquals(0, service.getQueuedCalls());
+			assertEquals(0, service.getCallsInFlight());
+		}
+
+		assertTrue(executor.isShutdown());
+	}
+}
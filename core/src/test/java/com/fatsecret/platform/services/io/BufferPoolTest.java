@@ -0,0 +1,70 @@
+package com.fatsecret.platform.services.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class BufferPoolTest {
+
+	@Test
+	public void testReuse() {
+		BufferPool<byte[]> pool = BufferPool.bytes(2, 65536);
+
+		byte[] first = pool.acquire(100);
+		assertEquals(8192, first.length);
+		pool.release(first);
+
+		assertSame(first, pool.acquire(8000));
+		assertEquals(1, pool.getHits());
+		assertEquals(1, pool.getMisses());
+
+		byte[] larger = pool.acquire(10000);
+		assertEquals(16384, larger.length);
+	}
+
+	@Test
+	public void testBounds() {
+		BufferPool<char[]> pool = BufferPool.chars(1, 16384);
+
+		char[] huge = pool.acquire(100000);
+		assertEquals(100000, huge.length);
+		pool.release(huge);
+		assertNotSame(huge, pool.acquire(100000));
+
+		char[] first = pool.acquire(1);
+		char[] second = pool.acquire(1);
+		pool.release(first);
+		pool.release(second);
+
+		assertSame(first, pool.acquire(1));
+		assertNotSame(second, pool.acquire(1));
+	}
+
+	@Test
+	public void testResponseBody() throws Exception {
+		String json = "{\"food_name\":\"Crème brûlée\"}";
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+		ResponseBody body = new ResponseBody(4, StandardCharsets.UTF_8);
+		body.readFrom(new ByteArrayInputStream(bytes));
+		assertEquals(bytes.length, body.size());
+
+		Reader reader = body.reader();
+		assertTrue(reader.markSupported());
+
+		StringBuilder decoded = new StringBuilder();
+		for(int c; (c = reader.read()) >= 0; ) {
+			decoded.append((char) c);
+		}
+		assertEquals(json, decoded.toString());
+
+		body.release();
+	}
+}
@@ -0,0 +1,51 @@
+package com.fatsecret.platform.services.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsTest {
+
+	@Test
+	public void testDisabledEventsAreNotCreated() {
+		assertNull(FlightRecorderEvents.begin(FlightRecorderEvents.HTTP_EXCHANGE));
+	}
+
+	@Test
+	public void testEventsAreRecorded() throws Exception {
+		File file = File.createTempFile("fatsecret", ".jfr");
+
+		try {
+			Recording recording = new Recording();
+			recording.enable("fatsecret.HttpExchange");
+			recording.disable("fatsecret.JsonParse");
+			recording.start();
+
+			assertNull(FlightRecorderEvents.begin(FlightRecorderEvents.JSON_PARSE));
+
+			Object event = FlightRecorderEvents.begin(FlightRecorderEvents.HTTP_EXCHANGE);
+			FlightRecorderEvents.commit(event, "food.get", "285243", 1024, FlightRecorderEvents.SUCCESS);
+
+			recording.stop();
+			recording.dump(file.toPath());
+			recording.close();
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath());
+			assertEquals(1, events.size());
+			assertEquals("food.get", events.get(0).getString("method"));
+			assertEquals("285243", events.get(0).getString("key"));
+			assertEquals(1024, events.get(0).getLong("bytes"));
+			assertEquals("success", events.get(0).getString("outcome"));
+		} finally {
+			file.delete();
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.fatsecret.platform.services.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+	@Test
+	public void testPercentiles() {
+		Histogram histogram = new Histogram();
+
+		for(long i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000);
+		}
+
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(500500.0, histogram.getMean(), 0.001);
+
+		long median = histogram.getPercentile(50);
+		assertTrue(median >= 500000 && median <= 500000 * 1.125);
+
+		long p99 = histogram.getPercentile(99);
+		assertTrue(p99 >= 990000 && p99 <= 1000000);
+	}
+
+	@Test
+	public void testBucketBounds() {
+		for(long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 1000, 123456789L, Long.MAX_VALUE }) {
+			assertTrue(Histogram.upperBound(Histogram.bucket(value)) >= value);
+		}
+	}
+
+	@Test
+	public void testCacheHitRatio() {
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		metrics.recordCacheLookup("food.get", true);
+		metrics.recordCacheLookup("food.get", true);
+		metrics.recordCacheLookup("food.get", false);
+		metrics.recordError("food.get", "HTTP 5xx");
+
+		assertEquals(2.0 / 3, metrics.getMethod("food.get").getCacheHitRatio(), 0.0001);
+		assertEquals(Long.valueOf(1), metrics.getMethod("food.get").getErrors().get("HTTP 5xx"));
+	}
+}
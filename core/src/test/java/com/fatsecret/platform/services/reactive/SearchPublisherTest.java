@@ -0,0 +1,140 @@
+package com.fatsecret.platform.services.reactive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.services.Response;
+
+public class SearchPublisherTest {
+
+	private static final int TOTAL = 23;
+
+	private final List<String> fetches = new ArrayList<String>();
+
+	private final SearchPublisher.PageSource<Integer> pages = (pageNumber, pageSize) -> {
+		fetches.add(pageNumber + "x" + pageSize);
+
+		List<Integer> results = new ArrayList<Integer>();
+		for(int i = pageNumber * pageSize; i < Math.min(TOTAL, (pageNumber + 1) * pageSize); i++) {
+			results.add(i);
+		}
+
+		return Response.<Integer>builder()
+				.pageNumber(pageNumber)
+				.maxResults(pageSize)
+				.totalResults(TOTAL)
+				.results(results)
+				.build();
+	};
+
+	@Test
+	public void testFetchesOnlyWhatIsRequested() {
+		Collector collector = new Collector();
+		new SearchPublisher<Integer>(pages, 10, Runnable::run).subscribe(collector);
+
+		assertTrue(fetches.isEmpty());
+
+		collector.subscription.request(4);
+		assertEquals("[0, 1, 2, 3]", collector.items.toString());
+		assertEquals("[0x10]", fetches.toString());
+
+		collector.subscription.request(6);
+		assertEquals(10, collector.items.size());
+		assertEquals("[0x10]", fetches.toString());
+
+		collector.subscription.request(1);
+		assertEquals(11, collector.items.size());
+		assertEquals("[0x10, 1x10]", fetches.toString());
+		assertFalse(collector.completed);
+
+		collector.subscription.request(Long.MAX_VALUE);
+		assertEquals(TOTAL, collector.items.size());
+		assertTrue(collector.completed);
+		assertEquals(Integer.valueOf(22), collector.items.get(TOTAL - 1));
+		assertEquals("[0x10, 1x10, 2x10]", fetches.toString());
+	}
+
+	@Test
+	public void testSingleRequestsShareFullPages() {
+		Collector collector = new Collector();
+		new SearchPublisher<Integer>(pages, Runnable::run).subscribe(collector);
+
+		for(int i = 0; i < 5; i++) {
+			collector.subscription.request(1);
+		}
+
+		assertEquals("[0, 1, 2, 3, 4]", collector.items.toString());
+		assertEquals("[0x50]", fetches.toString());
+		assertFalse(collector.completed);
+	}
+
+	@Test
+	public void testCancel() {
+		Collector collector = new Collector() {
+			@Override
+			public void onNext(Integer item) {
+				super.onNext(item);
+				if(items.size() == 3) {
+					subscription.cancel();
+				}
+			}
+		};
+		new SearchPublisher<Integer>(pages, Runnable::run).subscribe(collector);
+
+		collector.subscription.request(10);
+		collector.subscription.request(10);
+
+		assertEquals(3, collector.items.size());
+		assertEquals(1, fetches.size());
+		assertFalse(collector.completed);
+	}
+
+	@Test
+	public void testInvalidRequest() {
+		Collector collector = new Collector();
+		new SearchPublisher<Integer>(pages, Runnable::run).subscribe(collector);
+
+		collector.subscription.request(0);
+
+		assertTrue(collector.error instanceof IllegalArgumentException);
+		assertTrue(fetches.isEmpty());
+	}
+
+	private static class Collector implements Flow.Subscriber<Integer> {
+
+		Flow.Subscription subscription;
+
+		final List<Integer> items = new ArrayList<Integer>();
+
+		boolean completed;
+
+		Throwable error;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(Integer item) {
+			items.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.fatsecret.platform.services.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class AdaptiveLimiterTest {
+
+	private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	public void testGrowsWhileHealthyAndShrinksWhenSlow() throws Exception {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+
+		round(limiter, 10 * MILLIS);
+		round(limiter, 10 * MILLIS);
+		int grown = limiter.getLimit();
+		assertTrue(grown > 10);
+
+		for(int i = 0; i < 3; i++) {
+			round(limiter, 50 * MILLIS);
+		}
+		assertTrue(limiter.getLimit() < grown);
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	public void testDoesNotGrowWhenIdle() throws Exception {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 1, 100);
+
+		for(int i = 0; i < 20; i++) {
+			assertTrue(limiter.acquire(0, TimeUnit.MILLISECONDS));
+			limiter.release(10 * MILLIS, false);
+		}
+
+		assertEquals(10, limiter.getLimit());
+	}
+
+	@Test
+	public void testWaitsForPermit() throws Exception {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, 1);
+
+		assertTrue(limiter.acquire(0, TimeUnit.MILLISECONDS));
+		assertFalse(limiter.acquire(10, TimeUnit.MILLISECONDS));
+
+		limiter.release(MILLIS, false);
+		assertTrue(limiter.acquire(0, TimeUnit.MILLISECONDS));
+	}
+
+	/**
+	 * Fills the limit and completes every request with the same round trip time
+	 */
+	private static void round(AdaptiveLimiter limiter, long rttNanos) throws InterruptedException {
+		int permits = limiter.getLimit();
+		for(int i = 0; i < permits; i++) {
+			assertTrue(limiter.acquire(0, TimeUnit.MILLISECONDS));
+		}
+		for(int i = 0; i < permits; i++) {
+			limiter.release(rttNanos, false);
+		}
+	}
+}
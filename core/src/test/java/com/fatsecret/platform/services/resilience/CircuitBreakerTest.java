@@ -0,0 +1,115 @@
+package com.fatsecret.platform.services.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.services.FatsecretException;
+import com.fatsecret.platform.services.Request;
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.transport.Exchange;
+import com.fatsecret.platform.services.transport.Transport;
+
+public class CircuitBreakerTest {
+
+	@Test
+	public void testOpensOnFailureRateAndRecovers() throws Exception {
+		CircuitBreakerRegistry registry = new CircuitBreakerRegistry(new CircuitBreakerConfig(50, 100, 1000, 4, 4, 50, 2));
+		final List<String> transitions = new ArrayList<String>();
+		registry.addListener(new CircuitBreakerListener() {
+			@Override
+			public void onStateTransition(CircuitBreaker circuitBreaker, CircuitBreaker.State from, CircuitBreaker.State to) {
+				transitions.add(from + "->" + to);
+			}
+		});
+
+		CircuitBreaker breaker = registry.circuitBreaker("http://localhost/rest/server.api", "food.get");
+
+		for(int i = 0; i < 2; i++) {
+			assertTrue(breaker.tryAcquirePermission());
+			breaker.onSuccess(0);
+		}
+		for(int i = 0; i < 2; i++) {
+			assertTrue(breaker.tryAcquirePermission());
+			breaker.onFailure(0);
+		}
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+		assertFalse(breaker.tryAcquirePermission());
+
+		Thread.sleep(60);
+
+		assertTrue(breaker.tryAcquirePermission());
+		assertTrue(breaker.tryAcquirePermission());
+		assertFalse(breaker.tryAcquirePermission());
+		breaker.onSuccess(0);
+		breaker.onSuccess(0);
+
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+		assertEquals("[CLOSED->OPEN, OPEN->HALF_OPEN, HALF_OPEN->CLOSED]", transitions.toString());
+	}
+
+	@Test
+	public void testOpensOnSlowCallRate() {
+		CircuitBreaker breaker = new CircuitBreakerRegistry(new CircuitBreakerConfig(50, 50, 10, 2, 2, 1000, 1))
+				.circuitBreaker("http://localhost/rest/server.api", "foods.search");
+
+		breaker.onSuccess(TimeUnit.MILLISECONDS.toNanos(20));
+		breaker.onSuccess(0);
+
+		assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+	}
+
+	@Test
+	public void testReleasedPermissionFreesTrialCall() throws Exception {
+		CircuitBreaker breaker = new CircuitBreakerRegistry(new CircuitBreakerConfig(50, 100, 1000, 2, 2, 50, 1))
+				.circuitBreaker("http://localhost/rest/server.api", "food.get");
+
+		breaker.onFailure(0);
+		breaker.onFailure(0);
+		Thread.sleep(60);
+
+		assertTrue(breaker.tryAcquirePermission());
+		assertFalse(breaker.tryAcquirePermission());
+		breaker.releasePermission();
+
+		assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+		assertTrue(breaker.tryAcquirePermission());
+		breaker.onSuccess(0);
+
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	public void testUnexpectedExceptionIsAFailure() {
+		String apiUrl = "http://localhost/rest/server.api";
+		CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(new CircuitBreakerConfig(50, 100, 1000, 2, 2, 30000, 1));
+		Request request = new Request("key", "secret", apiUrl);
+		request.setRetryPolicy(RetryPolicy.noRetries());
+		request.setCircuitBreakers(circuitBreakers);
+		request.setTransport(new Transport() {
+			@Override
+			public ResponseBody send(String url, Exchange exchange) {
+				throw new IllegalStateException("Broken transport");
+			}
+		});
+
+		for(int i = 0; i < 2; i++) {
+			try {
+				request.getFood(33691L);
+				fail("Expected the call to fail");
+			} catch (FatsecretException e) {
+				assertTrue(e.getCause() instanceof IllegalStateException);
+			}
+		}
+
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker(apiUrl, "food.get").getState());
+	}
+}
@@ -0,0 +1,74 @@
+package com.fatsecret.platform.services.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class PrioritySchedulerTest {
+
+	@Test
+	public void testBatchShareLeavesRoomForInteractive() throws Exception {
+		PriorityScheduler scheduler = new PriorityScheduler(2, new Bulkhead(2, 10), new Bulkhead(1, 10));
+
+		assertTrue(scheduler.acquire(Priority.BATCH, 0, TimeUnit.MILLISECONDS));
+		assertFalse(scheduler.acquire(Priority.BATCH, 10, TimeUnit.MILLISECONDS));
+		assertTrue(scheduler.acquire(Priority.INTERACTIVE, 0, TimeUnit.MILLISECONDS));
+		assertFalse(scheduler.acquire(Priority.INTERACTIVE, 10, TimeUnit.MILLISECONDS));
+
+		scheduler.release(Priority.BATCH);
+		scheduler.release(Priority.INTERACTIVE);
+		assertEquals(0, scheduler.getInFlight(Priority.BATCH));
+	}
+
+	@Test
+	public void testInteractiveGoesFirst() throws Exception {
+		final PriorityScheduler scheduler = new PriorityScheduler(1, new Bulkhead(1, 10), new Bulkhead(1, 10));
+		final List<Priority> order = new CopyOnWriteArrayList<Priority>();
+		final CountDownLatch done = new CountDownLatch(2);
+
+		assertTrue(scheduler.acquire(Priority.BATCH, 0, TimeUnit.MILLISECONDS));
+
+		start(scheduler, Priority.BATCH, order, done);
+		while(scheduler.getQueued(Priority.BATCH) == 0) {
+			Thread.sleep(1);
+		}
+		start(scheduler, Priority.INTERACTIVE, order, done);
+		while(scheduler.getQueued(Priority.INTERACTIVE) == 0) {
+			Thread.sleep(1);
+		}
+
+		scheduler.release(Priority.BATCH);
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertEquals("[INTERACTIVE, BATCH]", order.toString());
+	}
+
+	@Test
+	public void testQueueLimit() throws Exception {
+		PriorityScheduler scheduler = new PriorityScheduler(1, new Bulkhead(1, 0), new Bulkhead(1, 0));
+
+		assertTrue(scheduler.acquire(Priority.INTERACTIVE, 0, TimeUnit.MILLISECONDS));
+		assertFalse(scheduler.acquire(Priority.INTERACTIVE, 1, TimeUnit.SECONDS));
+	}
+
+	private static void start(final PriorityScheduler scheduler, final Priority priority, final List<Priority> order, final CountDownLatch done) {
+		new Thread(() -> {
+			try {
+				if(scheduler.acquire(priority, 5, TimeUnit.SECONDS)) {
+					order.add(priority);
+					scheduler.release(priority);
+				}
+			} catch (InterruptedException ignore) {
+			} finally {
+				done.countDown();
+			}
+		}).start();
+	}
+}
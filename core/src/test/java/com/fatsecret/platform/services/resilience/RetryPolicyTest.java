@@ -0,0 +1,67 @@
+package com.fatsecret.platform.services.resilience;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class RetryPolicyTest {
+
+	@Test
+	public void testDelaysStayWithinBounds() {
+		RetryPolicy policy = new RetryPolicy(10, 100, 1000, 60000, new RetryBudget(1, 100));
+		long delay = 0;
+
+		for(int attempt = 1; attempt < 10; attempt++) {
+			long next = policy.nextDelay(attempt, delay, 60000);
+			assertTrue(next >= 100);
+			assertTrue(next <= Math.min(1000, Math.max(100, delay) * 3));
+			delay = next;
+		}
+
+		assertEquals(-1, policy.nextDelay(10, delay, 60000));
+	}
+
+	@Test
+	public void testFirstRetryIsJittered() {
+		RetryPolicy policy = new RetryPolicy(2, 100, 1000, 60000, new RetryBudget(1, 1000));
+		boolean jittered = false;
+
+		for(int i = 0; i < 100; i++) {
+			long delay = policy.nextDelay(1, 0, 60000);
+			assertTrue(delay >= 100 && delay <= 300);
+			jittered |= delay != 100;
+		}
+
+		assertTrue(jittered);
+	}
+
+	@Test
+	public void testDeadline() {
+		RetryPolicy policy = new RetryPolicy(3, 100, 100, 1000, new RetryBudget());
+		assertEquals(-1, policy.nextDelay(1, 0, 50));
+	}
+
+	@Test
+	public void testBudget() {
+		RetryBudget budget = new RetryBudget(0.5, 1);
+		assertTrue(budget.tryWithdraw());
+		assertFalse(budget.tryWithdraw());
+
+		budget.deposit();
+		assertFalse(budget.tryWithdraw());
+
+		budget.deposit();
+		assertTrue(budget.tryWithdraw());
+	}
+
+	@Test
+	public void testIdempotency() {
+		RetryPolicy policy = new RetryPolicy();
+		assertTrue(policy.isIdempotent("GET"));
+		assertFalse(policy.isIdempotent("POST"));
+		assertTrue(policy.isRetryableStatus(503));
+		assertFalse(policy.isRetryableStatus(404));
+	}
+}
@@ -0,0 +1,52 @@
+package com.fatsecret.platform.services.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.services.CallOptions;
+import com.fatsecret.platform.services.DeadlineExceededException;
+import com.fatsecret.platform.services.FatsecretService;
+import com.fatsecret.platform.services.StubServer;
+import com.fatsecret.platform.services.metrics.InMemoryMetrics;
+import com.fatsecret.platform.services.metrics.Metrics;
+
+public class HttpClientTransportTest {
+
+	@Test
+	public void testGetFood() throws Exception {
+		try (StubServer stub = new StubServer(0)) {
+			stub.setEncoding("gzip");
+			FatsecretService service = new FatsecretService("key", "secret", stub.getApiUrl());
+			service.setTransport(new HttpClientTransport());
+
+			Food food = service.getFood(33691L);
+			assertEquals("Apple", food.getName());
+
+			InMemoryMetrics.MethodMetrics metrics = ((InMemoryMetrics) service.getMetrics()).getMethod("food.get");
+			assertEquals(1, metrics.getLatency(Metrics.Phase.DOWNLOAD).getCount());
+			assertEquals(1, metrics.getLatency(Metrics.Phase.DECODE).getCount());
+			assertTrue(metrics.getWireBytes().getMax() < metrics.getPayload().getMax());
+		}
+	}
+
+	@Test
+	public void testDeadline() throws Exception {
+		try (StubServer stub = new StubServer(2000)) {
+			FatsecretService service = new FatsecretService("key", "secret", stub.getApiUrl());
+			service.setTransport(new HttpClientTransport());
+
+			try {
+				service.getFood(33691L, CallOptions.DEFAULT.withTimeout(200, TimeUnit.MILLISECONDS));
+				fail("Expected the deadline to pass");
+			} catch (DeadlineExceededException e) {
+				assertEquals(Metrics.Phase.TIME_TO_FIRST_BYTE, e.getPhase());
+			}
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.fatsecret.platform.services.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.services.CallOptions;
+import com.fatsecret.platform.services.DeadlineExceededException;
+import com.fatsecret.platform.services.FatsecretService;
+import com.fatsecret.platform.services.StubServer;
+import com.fatsecret.platform.services.io.ResponseBody;
+import com.fatsecret.platform.services.metrics.InMemoryMetrics;
+import com.fatsecret.platform.services.metrics.Metrics;
+
+public class NioTransportTest {
+
+	@Test
+	public void testGetFood() throws Exception {
+		try (StubServer stub = new StubServer(0); NioTransport transport = new NioTransport(1)) {
+			FatsecretService service = new FatsecretService("key", "secret", stub.getApiUrl(), transport);
+
+			for(String encoding : new String[] { null, "gzip", "deflate" }) {
+				stub.setEncoding(encoding);
+
+				for(int i = 0; i < 3; i++) {
+					Food food = service.getFood(33691L);
+					assertEquals("Apple", food.getName());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDeadline() throws Exception {
+		try (StubServer stub = new StubServer(2000); NioTransport transport = new NioTransport(1)) {
+			FatsecretService service = new FatsecretService("key", "secret", stub.getApiUrl(), transport);
+
+			try {
+				service.getFood(33691L, CallOptions.DEFAULT.withTimeout(200, TimeUnit.MILLISECONDS));
+				fail("Expected the deadline to pass");
+			} catch (DeadlineExceededException e) {
+				assertEquals(Metrics.Phase.TIME_TO_FIRST_BYTE, e.getPhase());
+			}
+		}
+	}
+
+	@Test
+	public void testStaleConnectionResent() throws Exception {
+		AtomicInteger connections = new AtomicInteger();
+		AtomicInteger requests = new AtomicInteger();
+
+		// answers the first request of each connection, then closes it on the next one as a server ending an idle connection
+		try (ServerSocket server = new ServerSocket(0, 8, InetAddress.getLoopbackAddress()); NioTransport transport = new NioTransport(1)) {
+			Thread thread = new Thread(() -> {
+				while(!server.isClosed()) {
+					try (Socket socket = server.accept()) {
+						connections.incrementAndGet();
+						InputStream in = socket.getInputStream();
+						OutputStream out = socket.getOutputStream();
+
+						readRequest(in);
+						requests.incrementAndGet();
+						byte[] body = StubServer.FOOD.getBytes(StandardCharsets.UTF_8);
+						out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + body.length + "\r\n\r\n")
+								.getBytes(StandardCharsets.ISO_8859_1));
+						out.write(body);
+						out.flush();
+
+						if(readRequest(in)) {
+							requests.incrementAndGet();
+						}
+					} catch(IOException e) {
+						// closed
+					}
+				}
+			});
+			thread.setDaemon(true);
+			thread.start();
+
+			String apiUrl = "http://127.0.0.1:" + server.getLocalPort() + "/rest/server.api";
+			FatsecretService service = new FatsecretService("key", "secret", apiUrl, transport);
+
+			assertEquals("Apple", service.getFood(33691L).getName());
+			assertEquals("Apple", service.getFood(33692L).getName());
+
+			assertEquals(2, connections.get());
+			assertEquals(3, requests.get());
+
+			InMemoryMetrics metrics = (InMemoryMetrics) service.getMetrics();
+			assertEquals(2, metrics.getMethod("food.get").getLatency(Metrics.Phase.TIME_TO_FIRST_BYTE).getCount());
+			assertEquals(2, metrics.getMethod("food.get").getLatency(Metrics.Phase.DOWNLOAD).getCount());
+		}
+	}
+
+	/**
+	 * Reads the head of a request, returning false if the connection was closed first
+	 */
+	private static boolean readRequest(InputStream in) throws IOException {
+		int matched = 0;
+		for(int b; (b = in.read()) >= 0; ) {
+			matched = b == "\r\n\r\n".charAt(matched) ? matched + 1 : (b == '\r' ? 1 : 0);
+			if(matched == 4) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	public void testChunkedResponse() throws Exception {
+		String response = "HTTP/1.1 200 OK\r\n"
+				+ "Content-Type: application/json; charset=utf-8\r\n"
+				+ "Transfer-Encoding: chunked\r\n"
+				+ "\r\n"
+				+ "5\r\n{\"a\":\r\n"
+				+ "3;ext=1\r\n\"b\"\r\n"
+				+ "1\r\n}\r\n"
+				+ "0\r\n"
+				+ "\r\n"
+				+ "HTTP/1.1";
+		byte[] bytes = response.getBytes(StandardCharsets.ISO_8859_1);
+
+		HttpResponseParser parser = new HttpResponseParser();
+		boolean complete = false;
+
+		for(int i = 0; i < bytes.length && !complete; i += 4) {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, i, Math.min(4, bytes.length - i));
+			complete = parser.feed(buffer);
+			if(complete) {
+				assertEquals(bytes.length - "HTTP/1.1".length(), i + 4 - buffer.remaining());
+			}
+		}
+
+		assertTrue(complete);
+		assertTrue(parser.isKeepAlive());
+		assertEquals(200, parser.getStatusCode());
+
+		ResponseBody body = parser.takeBody();
+		char[] chars = new char[16];
+		Reader reader = body.reader();
+		assertEquals("{\"a\":\"b\"}", new String(chars, 0, reader.read(chars)));
+		body.release();
+	}
+
+	@Test
+	public void testResponseDelimitedByClose() throws Exception {
+		HttpResponseParser parser = new HttpResponseParser();
+
+		assertFalse(parser.feed(ByteBuffer.wrap("HTTP/1.0 200 OK\r\n\r\n{}".getBytes(StandardCharsets.ISO_8859_1))));
+		assertTrue(parser.finish());
+		assertFalse(parser.isKeepAlive());
+		assertEquals(2, parser.takeBody().size());
+	}
+}
@@ -0,0 +1,51 @@
+package com.fatsecret.platform.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import com.fatsecret.platform.model.Food;
+import com.fatsecret.platform.model.FoodField;
+import com.fatsecret.platform.model.Serving;
+import com.fatsecret.platform.services.StubServer;
+import com.fatsecret.platform.services.api.ApiMethod;
+
+public class FoodProjectionTest {
+
+	@Test
+	public void testProjection() {
+		JSONObject json = new JSONObject(StubServer.FOOD).getJSONObject("food");
+
+		Food food = FoodUtility.parseFoodFromJSONObject(json, EnumSet.of(FoodField.NAME, FoodField.CALORIES));
+		assertEquals(Long.valueOf(33691), food.getId());
+		assertEquals("Apple", food.getName());
+		assertNull(food.getType());
+
+		Serving serving = food.getServings().get(0);
+		assertEquals(new BigDecimal("95"), serving.getCalories());
+		assertNull(serving.getServingId());
+		assertNull(serving.getProtein());
+
+		assertNull(FoodUtility.parseFoodFromJSONObject(json, EnumSet.of(FoodField.NAME)).getServings());
+		assertEquals(FoodUtility.parseFoodFromJSONObject(json), FoodUtility.parseFoodFromJSONObject(json, FoodField.ALL));
+	}
+
+	@Test
+	public void testProjectedMethod() {
+		ApiMethod<Food> method = ApiMethod.foodGet(EnumSet.of(FoodField.NAME));
+
+		assertEquals("food.get", method.getName());
+		assertNotEquals(ApiMethod.FOOD_GET, method);
+		assertNotEquals(ApiMethod.foodGet(EnumSet.of(FoodField.NAME, FoodField.URL)), method);
+		assertSame(method, ApiMethod.foodGet(EnumSet.of(FoodField.NAME)));
+		assertSame(ApiMethod.FOOD_GET, ApiMethod.foodGet(FoodField.ALL));
+		assertNull(method.decode(new JSONObject(StubServer.FOOD)).getUrl());
+	}
+}
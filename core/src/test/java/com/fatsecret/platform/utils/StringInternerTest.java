@@ -0,0 +1,39 @@
+package com.fatsecret.platform.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import com.fatsecret.platform.model.Serving;
+
+public class StringInternerTest {
+
+	@Test
+	public void testIntern() {
+		StringInterner interner = new StringInterner(1);
+		String grams = interner.intern(new String("g"));
+
+		assertSame(grams, interner.intern(new String("g")));
+		assertNull(interner.intern(null));
+
+		String millilitres = new String("ml");
+		assertSame(millilitres, interner.intern(millilitres));
+		assertEquals(1, interner.size());
+	}
+
+	@Test
+	public void testParsedServingsShareUnits() {
+		String json = "{\"serving_id\":\"29573\",\"serving_description\":\"1 medium\",\"metric_serving_unit\":\"g\","
+				+ "\"measurement_description\":\"medium\"}";
+
+		Serving first = ServingUtility.parseServingFromJSONObject(new JSONObject(json));
+		Serving second = ServingUtility.parseServingFromJSONObject(new JSONObject(json));
+
+		assertSame(first.getMetricServingUnit(), second.getMetricServingUnit());
+		assertNotSame(first.getServingDescription(), second.getServingDescription());
+	}
+}